@@ -0,0 +1,68 @@
+package bench;
+
+import logic.Chatbot;
+import logic.GameSession;
+import logic.LifelineState;
+import logic.Question;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput of the per-answer game rules: {@link GameSession#submitAnswer} on the correct,
+ * saved and game-over paths, and the bot roll in {@link Chatbot#calculateSuccess}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GameLogicBenchmark {
+
+    /** Lifeline flags without any UI behind them */
+    static final class Flags implements LifelineState {
+        boolean saveUsed;
+        @Override public boolean isSaveUsed() { return saveUsed; }
+        @Override public void markSaveUsed() { saveUsed = true; }
+    }
+
+    private Chatbot bot;
+    private List<Question> round;
+    private final Flags flags = new Flags();
+
+    @Setup
+    public void setup() {
+        bot = new Chatbot("CHATGPT", "INTRO", "MAPPINGS");
+        List<String> options = Arrays.asList("A", "B", "C", "D");
+        round = Arrays.asList(
+                new Question("Q1", null, options, 1, "OOP", Question.QuestionType.THEORETICAL),
+                new Question("Q2", "int x;", options, 2, "OOP", Question.QuestionType.PROGRAMMING));
+    }
+
+    @Benchmark
+    public GameSession.GameResult correctRound() {
+        GameSession session = new GameSession(bot, round, flags);
+        session.submitAnswer(1);
+        return session.submitAnswer(2);
+    }
+
+    @Benchmark
+    public GameSession.GameResult wrongAnswerWithSave() {
+        flags.saveUsed = false;
+        return new GameSession(bot, round, flags).submitAnswer(0);
+    }
+
+    @Benchmark
+    public GameSession.GameResult wrongAnswerGameOver() {
+        flags.saveUsed = true;
+        return new GameSession(bot, round, flags).submitAnswer(0);
+    }
+
+    @Benchmark
+    public boolean calculateSuccess() {
+        return bot.calculateSuccess("OOP");
+    }
+}
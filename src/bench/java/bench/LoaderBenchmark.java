@@ -0,0 +1,42 @@
+package bench;
+
+import data.JsonDataLoader;
+import data.QuestionBank;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cold load of a whole synthetic bank through {@link JsonDataLoader#loadQuestionsFromPath}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class LoaderBenchmark {
+
+    @Param({"1000", "100000", "1000000"})
+    public int questions;
+
+    @Param({"false", "true"})
+    public boolean compact;
+
+    private Path bankDir;
+
+    @Setup(Level.Trial)
+    public void generate() throws IOException {
+        bankDir = SyntheticBank.cached(questions);
+    }
+
+    @Benchmark
+    public QuestionBank loadFromJson() throws IOException {
+        JsonDataLoader loader = new JsonDataLoader();
+        loader.setCompactStorage(compact);
+        loader.loadQuestionsFromPath(bankDir);
+        return loader.snapshot();
+    }
+}
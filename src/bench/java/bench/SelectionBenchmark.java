@@ -0,0 +1,47 @@
+package bench;
+
+import data.JsonDataLoader;
+import logic.Question;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Round selection: the full {@link JsonDataLoader#generateGameSet} versus the per-subject
+ * sampler that WindowManager.getQuestionsForSubject uses.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class SelectionBenchmark {
+
+    @Param({"1000", "100000", "1000000"})
+    public int questions;
+
+    private JsonDataLoader loader;
+    private final Random random = new Random(42);
+    private int round;
+
+    @Setup(Level.Trial)
+    public void load() throws IOException {
+        loader = new JsonDataLoader();
+        loader.loadQuestionsFromPath(SyntheticBank.cached(questions));
+    }
+
+    @Benchmark
+    public List<Question> generateGameSet() {
+        return loader.generateGameSet();
+    }
+
+    @Benchmark
+    public List<Question> sampleSubjectRound() {
+        String subject = SyntheticBank.SUBJECTS[round++ % SyntheticBank.SUBJECTS.length];
+        return loader.snapshot().sample(subject, 2, random);
+    }
+}
@@ -0,0 +1,90 @@
+package bench;
+
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.SplittableRandom;
+
+/**
+ * Writes a synthetic MCQ bank in the same JSON shape as src/main/resources/MCQ, for benchmarks.
+ * Content is deterministic for a given size, so runs are comparable across machines.
+ * <pre>
+ *   SyntheticBank &lt;output dir&gt; &lt;question count&gt; [questions per file]
+ * </pre>
+ */
+public class SyntheticBank {
+
+    static final String[] SUBJECTS = {"INTRO", "PROCEDURAL", "FUNCTIONAL", "OOP", "IMP_DEC", "EVENT_DRIVEN", "MAPPINGS"};
+
+    private static final String[][] COMMON_OPTIONS = {
+            {"TRUE", "FALSE", "(Compilation Error)", "(No output)"},
+            {"0", "1", "null", "(Runtime Error)"},
+    };
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.err.println("Usage: SyntheticBank <output dir> <question count> [questions per file]");
+            System.exit(2);
+        }
+        int perFile = args.length > 2 ? Integer.parseInt(args[2]) : 1000;
+        Path out = generate(Paths.get(args[0]), Integer.parseInt(args[1]), perFile);
+        System.out.println("Wrote synthetic bank to " + out);
+    }
+
+    /**
+     * Returns the directory for a bank of the given size under target/bench-banks,
+     * generating it on first use.
+     */
+    public static Path cached(int questions) throws IOException {
+        Path dir = Paths.get("target", "bench-banks", "q" + questions);
+        if (!Files.exists(dir.resolve(".complete"))) {
+            generate(dir, questions, 1000);
+            Files.createFile(dir.resolve(".complete"));
+        }
+        return dir;
+    }
+
+    public static Path generate(Path dir, int questions, int perFile) throws IOException {
+        Files.createDirectories(dir);
+        SplittableRandom random = new SplittableRandom(questions);
+        int written = 0;
+        for (int file = 0; written < questions; file++) {
+            Path target = dir.resolve(String.format("synthetic_%05d.json", file));
+            try (Writer w = Files.newBufferedWriter(target, StandardCharsets.UTF_8);
+                 JsonWriter json = new JsonWriter(w)) {
+                json.setIndent("  ");
+                json.beginArray();
+                for (int i = 0; i < perFile && written < questions; i++, written++) {
+                    writeQuestion(json, written, random);
+                }
+                json.endArray();
+            }
+        }
+        return dir;
+    }
+
+    private static void writeQuestion(JsonWriter json, int n, SplittableRandom random) throws IOException {
+        boolean programming = random.nextBoolean();
+        json.beginObject();
+        json.name("text").value("Synthetic question #" + n + ": which statement about topic " + random.nextInt(500) + " is true?");
+        if (programming) {
+            json.name("codeSnippet").value("int x = " + random.nextInt(100) + ";\nSystem.out.println(x * " + random.nextInt(10) + ");");
+        }
+        json.name("options").beginArray();
+        if (random.nextInt(3) == 0) {
+            for (String option : COMMON_OPTIONS[random.nextInt(COMMON_OPTIONS.length)]) json.value(option);
+        } else {
+            for (int o = 0; o < 4; o++) json.value("Option " + o + " for #" + n);
+        }
+        json.endArray();
+        json.name("correctAnswerIndex").value(random.nextInt(4));
+        json.name("subject").value(SUBJECTS[n % SUBJECTS.length]);
+        json.name("type").value(programming ? "PROGRAMMING" : "THEORETICAL");
+        json.endObject();
+    }
+}
@@ -0,0 +1,120 @@
+package com.ui;
+
+import javafx.animation.AnimationTimer;
+import javafx.scene.Node;
+import javafx.util.Duration;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.LongConsumer;
+
+/**
+ * Runs all decorative animation from one {@link AnimationTimer}. Each task belongs to a node
+ * and only runs while that node is in a scene and the task is not paused, so a screen that
+ * has been swapped out stops costing CPU even if it forgets to pause. The timer itself is
+ * stopped whenever no task is active. Must be used from the JavaFX thread.
+ */
+public class AnimationScheduler {
+
+    /** A periodic action registered with the scheduler. */
+    public final class Task {
+        private final Node owner;
+        private final long periodNanos;
+        private final LongConsumer action;
+        private long lastRun;
+        private boolean paused;
+        private boolean cancelled;
+
+        private Task(Node owner, long periodNanos, LongConsumer action) {
+            this.owner = owner;
+            this.periodNanos = periodNanos;
+            this.action = action;
+        }
+
+        public void pause() {
+            paused = true;
+        }
+
+        public void resume() {
+            paused = false;
+            updateTimer();
+        }
+
+        /** Removes the task for good, dropping the scheduler's reference to the owner. */
+        public void cancel() {
+            cancelled = true;
+            owner.sceneProperty().removeListener(sceneListener);
+            tasks.remove(this);
+            updateTimer();
+        }
+
+        public boolean isActive() {
+            return !paused && !cancelled && owner.getScene() != null;
+        }
+    }
+
+    private final List<Task> tasks = new ArrayList<>();
+    private final javafx.beans.value.ChangeListener<Object> sceneListener = (obs, o, n) -> updateTimer();
+    private final AnimationTimer timer = new AnimationTimer() {
+        @Override
+        public void handle(long now) {
+            tick(now);
+        }
+    };
+    private boolean timerRunning;
+
+    /**
+     * Calls the action at most once per period while the owner is showing. The action gets
+     * the pulse timestamp in nanoseconds.
+     */
+    public Task schedule(Node owner, Duration period, LongConsumer action) {
+        Task task = new Task(owner, (long) (period.toMillis() * 1_000_000), action);
+        tasks.add(task);
+        owner.sceneProperty().addListener(sceneListener);
+        updateTimer();
+        return task;
+    }
+
+    /** Tasks that would run on the next pulse. */
+    public int activeCount() {
+        int active = 0;
+        for (Task task : tasks) {
+            if (task.isActive()) active++;
+        }
+        return active;
+    }
+
+    /** All registered tasks, paused or not. */
+    public int size() {
+        return tasks.size();
+    }
+
+    private void tick(long now) {
+        boolean anyActive = false;
+        // Indexed so actions may schedule or cancel tasks while we iterate
+        for (int i = 0; i < tasks.size(); i++) {
+            Task task = tasks.get(i);
+            if (!task.isActive()) continue;
+            anyActive = true;
+            if (now - task.lastRun >= task.periodNanos) {
+                task.lastRun = now;
+                task.action.accept(now);
+            }
+        }
+        if (!anyActive) {
+            timer.stop();
+            timerRunning = false;
+        }
+    }
+
+    private void updateTimer() {
+        boolean needed = activeCount() > 0;
+        if (needed && !timerRunning) {
+            timer.start();
+            timerRunning = true;
+        } else if (!needed && timerRunning) {
+            timer.stop();
+            timerRunning = false;
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package com.ui;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * JFR event for one submitted answer, covering scoring, the sound and the result dialog.
+ */
+@Name("astac.Answer")
+@Label("Answer")
+@Category({"ASTAC", "Gameplay"})
+@Description("An answer handled by the game controller")
+@StackTrace(false)
+final class AnswerEvent extends jdk.jfr.Event {
+    @Label("Subject")
+    String subject;
+
+    @Label("Chatbot")
+    String chatbot;
+
+    @Label("Option")
+    int option;
+
+    @Label("Result")
+    String result;
+}
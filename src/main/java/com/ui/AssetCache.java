@@ -0,0 +1,207 @@
+package com.ui;
+
+import data.WarmStartCache;
+import javafx.scene.image.Image;
+import javafx.scene.image.PixelFormat;
+import javafx.scene.image.PixelReader;
+import javafx.scene.image.WritableImage;
+import logic.GameCatalog;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Decodes every image resource once and hands out the shared {@link Image}. Atlas sprites
+ * (bot avatars, command icons, cursor frames) are sliced once into their own images, so views
+ * need no viewport. Images are immutable, so sharing one instance between screens is safe;
+ * an animated GIF simply keeps animating in every view showing it.
+ *
+ * With a {@link WarmStartCache}, decoded PNGs and slices are stored as raw ARGB pixels keyed
+ * by the resource's content hash, so later launches skip the decoder, and for slices the whole
+ * atlas. GIFs are always decoded, to keep their animation.
+ */
+public final class AssetCache {
+
+    public static final String CHATBOTS = "/res/chatbots.png";
+    public static final String COMMANDS = "/res/commands.png";
+    public static final int BOT_SPRITE_SIZE = 32;
+    public static final int COMMAND_SPRITE_SIZE = 128;
+
+    /** Command atlas order */
+    public static final int ICON_ASK = 0;
+    public static final int ICON_COPY = 1;
+    public static final int ICON_SAVE = 2;
+
+    private static final Map<String, Image> images = new ConcurrentHashMap<>();
+    private static final Map<String, Image> regions = new ConcurrentHashMap<>();
+    /** Content hash of each resource read so far; the key of its warm-start cache entries */
+    private static final Map<String, Long> contentHashes = new ConcurrentHashMap<>();
+    private static volatile WarmStartCache warmCache;
+
+    private AssetCache() {}
+
+    /**
+     * The decoded image for a classpath resource such as "/res/card.png".
+     * A missing resource is logged once and replaced by a transparent 1x1 image.
+     */
+    public static Image image(String path) {
+        return images.computeIfAbsent(path, AssetCache::decode);
+    }
+
+    /**
+     * A rectangle cut out of an image, copied once into its own image.
+     */
+    public static Image region(String path, int x, int y, int width, int height) {
+        String key = path + '#' + x + ',' + y + ',' + width + 'x' + height;
+        return regions.computeIfAbsent(key, k -> {
+            WarmStartCache cache = warmCache;
+            long hash = cache == null ? 0 : contentHash(path);
+            if (hash != 0) {
+                ByteBuffer cached = cache.read("slice" + key, hash);
+                if (cached != null) return fromPixels(cached, 0);
+            }
+            Image atlas = image(path);
+            PixelReader reader = atlas.getPixelReader();
+            if (reader == null || x + width > atlas.getWidth() || y + height > atlas.getHeight()) {
+                System.err.println("Cannot slice " + key + " from " + (int) atlas.getWidth() + "x" + (int) atlas.getHeight() + " image");
+                return atlas;
+            }
+            WritableImage slice = new WritableImage(reader, x, y, width, height);
+            if (hash != 0) cache.write("slice" + key, hash, () -> pixels(slice));
+            return slice;
+        });
+    }
+
+    /** The index-th square sprite of a one-row atlas. */
+    public static Image sprite(String path, int index, int size) {
+        return region(path, index * size, 0, size, size);
+    }
+
+    public static Image botAvatar(String botName) {
+        return sprite(CHATBOTS, Math.max(0, GameCatalog.botIndex(botName)), BOT_SPRITE_SIZE);
+    }
+
+    public static Image commandIcon(int index) {
+        return sprite(COMMANDS, index, COMMAND_SPRITE_SIZE);
+    }
+
+    /** Keeps decoded images in the given cache across launches; null turns that off. */
+    public static void setWarmCache(WarmStartCache cache) {
+        warmCache = cache;
+    }
+
+    static WarmStartCache warmCache() {
+        return warmCache;
+    }
+
+    /** Content hash of a classpath resource, or 0 if it is missing. */
+    static long contentHash(String path) {
+        Long hash = contentHashes.get(path);
+        if (hash != null) return hash;
+        byte[] bytes = read(path);
+        return bytes == null ? 0 : contentHash(path, bytes);
+    }
+
+    static long contentHash(String path, byte[] bytes) {
+        return contentHashes.computeIfAbsent(path, p -> WarmStartCache.hash(bytes));
+    }
+
+    /** The bytes of a classpath resource, or null if it is missing or unreadable. */
+    static byte[] read(String path) {
+        try (InputStream in = AssetCache.class.getResourceAsStream(path)) {
+            return in == null ? null : in.readAllBytes();
+        } catch (IOException e) {
+            System.err.println("Error reading " + path + ": " + e.getMessage());
+            return null;
+        }
+    }
+
+    /** An image as a cache payload: width, height, then ARGB pixels. Null if it cannot be read. */
+    static ByteBuffer pixels(Image image) {
+        PixelReader reader = image.getPixelReader();
+        if (reader == null) return null;
+        int w = (int) image.getWidth();
+        int h = (int) image.getHeight();
+        ByteBuffer buf = ByteBuffer.allocate(8 + w * h * 4);
+        buf.putInt(w).putInt(h);
+        reader.getPixels(0, 0, w, h, PixelFormat.getIntArgbInstance(), buf.slice().asIntBuffer(), w);
+        return buf.clear();
+    }
+
+    /** Rebuilds an image stored by {@link #pixels} at the given offset of a cache payload. */
+    static WritableImage fromPixels(ByteBuffer payload, int offset) {
+        int w = payload.getInt(offset);
+        int h = payload.getInt(offset + 4);
+        WritableImage image = new WritableImage(w, h);
+        image.getPixelWriter().setPixels(0, 0, w, h, PixelFormat.getIntArgbInstance(),
+                payload.slice(offset + 8, w * h * 4).asIntBuffer(), w);
+        return image;
+    }
+
+    /** Decodes the given resources now, e.g. while a splash screen is showing. */
+    public static void preload(String... paths) {
+        for (String path : paths) image(path);
+    }
+
+    public static int size() {
+        return images.size() + regions.size();
+    }
+
+    /**
+     * Approximate decoded size: 4 bytes per pixel for every cached image and slice.
+     * Animated GIFs count one frame.
+     */
+    public static long estimatedBytes() {
+        long bytes = 0;
+        for (Image img : images.values()) bytes += (long) img.getWidth() * (long) img.getHeight() * 4;
+        for (Image img : regions.values()) bytes += (long) img.getWidth() * (long) img.getHeight() * 4;
+        return bytes;
+    }
+
+    public static void logUsage() {
+        System.out.printf("Asset cache: %d images, %d slices, ~%d KB decoded%n",
+                images.size(), regions.size(), estimatedBytes() / 1024);
+    }
+
+    private static Image decode(String path) {
+        AssetDecodeEvent event = new AssetDecodeEvent();
+        event.begin();
+        try {
+            byte[] bytes = read(path);
+            if (bytes == null) {
+                System.err.println("Missing image resource: " + path);
+                return new WritableImage(1, 1);
+            }
+            WarmStartCache cache = path.endsWith(".gif") ? null : warmCache;
+            long hash = cache == null ? 0 : contentHash(path, bytes);
+            ByteBuffer cached = cache == null ? null : cache.read("image" + path, hash);
+            Image image;
+            if (cached != null) {
+                image = fromPixels(cached, 0);
+            } else {
+                image = new Image(new ByteArrayInputStream(bytes));
+                if (cache != null && !image.isError()) {
+                    Image decoded = image;
+                    cache.write("image" + path, hash, () -> pixels(decoded));
+                }
+            }
+            if (event.shouldCommit()) {
+                event.cached = cached != null;
+                event.path = path;
+                event.width = (int) image.getWidth();
+                event.height = (int) image.getHeight();
+                event.frames = 1;
+                event.bytes = (long) event.width * event.height * 4;
+                event.commit();
+            }
+            return image;
+        } catch (Exception e) {
+            System.err.println("Error loading image " + path + ": " + e.getMessage());
+            return new WritableImage(1, 1);
+        }
+    }
+}
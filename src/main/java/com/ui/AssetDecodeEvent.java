@@ -0,0 +1,35 @@
+package com.ui;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * JFR event for decoding an image or a background GIF.
+ */
+@Name("astac.AssetDecode")
+@Label("Asset Decode")
+@Category({"ASTAC", "Assets"})
+@Description("An image resource decoded (and for backgrounds, scaled), or read back from the warm-start cache")
+final class AssetDecodeEvent extends jdk.jfr.Event {
+    @Label("Path")
+    String path;
+
+    @Label("Width")
+    int width;
+
+    @Label("Height")
+    int height;
+
+    @Label("Frames")
+    int frames;
+
+    @Label("Decoded Size")
+    @DataAmount
+    long bytes;
+
+    @Label("From Warm Cache")
+    boolean cached;
+}
@@ -0,0 +1,469 @@
+package com.ui;
+
+import data.WarmStartCache;
+import javafx.application.Platform;
+import javafx.beans.value.ObservableDoubleValue;
+import javafx.scene.image.Image;
+import javafx.scene.image.ImageView;
+import javafx.scene.image.PixelFormat;
+import javafx.scene.image.WritableImage;
+import javafx.util.Duration;
+import org.w3c.dom.NamedNodeMap;
+import org.w3c.dom.Node;
+
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReader;
+import javax.imageio.stream.ImageInputStream;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * An animated GIF background that is decoded once and pre-scaled to the size it is shown at.
+ *
+ * JavaFX keeps every frame of an animated GIF at full resolution and rescales the current one
+ * on every pulse; our backgrounds are 1800x1200 and 1500x1500 with 30+ frames each. Instead,
+ * the frames are composited and nearest-neighbour scaled (to keep the pixel-art look) to the
+ * view's size on a background thread, then flipped through at a capped frame rate by the
+ * shared {@link AnimationScheduler}. Scaled frames are cached per GIF and shared by every view
+ * showing it at the same size. The decoded (still indexed) frames are kept too, so a resize,
+ * once the size has settled, only composites and scales them again.
+ *
+ * With a warm-start cache (see {@link AssetCache#setWarmCache}), the scaled frames are stored
+ * palette-indexed and compressed, one entry per GIF and box size, so the next launch at the
+ * same window size inflates them instead of decoding and scaling the GIF again.
+ *
+ * The cap defaults to 15 fps and can be set with -Dastac.backgroundFps.
+ */
+public class BackgroundAnimation {
+
+    private static final int FPS = Integer.getInteger("astac.backgroundFps", 15);
+    private static final long RESIZE_SETTLE_NANOS = 200_000_000L;
+    /** Colours a GIF's scaled frames may use to be written to the warm-start cache */
+    private static final int PALETTE_SIZE = 256;
+
+    /** Latest scaled frames per GIF resource */
+    private static final Map<String, Frames> cache = new ConcurrentHashMap<>();
+    /** Decoded frames per GIF resource, so a resize only composites and scales again */
+    private static final Map<String, Source> sources = new ConcurrentHashMap<>();
+    private static final ExecutorService decoder = Executors.newSingleThreadExecutor(r -> {
+        Thread t = new Thread(r, "gif-decoder");
+        t.setDaemon(true);
+        t.setPriority(Thread.MIN_PRIORITY);
+        return t;
+    });
+
+    /** A GIF as decoded: its logical screen, and each frame's image, placement and disposal. */
+    private static final class Source {
+        final int width;
+        final int height;
+        final BufferedImage[] images;
+        final int[] left;
+        final int[] top;
+        final String[] disposal;
+        final long[] startMillis;
+
+        private Source(int width, int height, int count) {
+            this.width = width;
+            this.height = height;
+            this.images = new BufferedImage[count];
+            this.left = new int[count];
+            this.top = new int[count];
+            this.disposal = new String[count];
+            this.startMillis = new long[count + 1];
+        }
+
+        /** Decodes every frame of a GIF resource; null if it is missing. */
+        static Source read(String path) throws IOException {
+            byte[] gif = AssetCache.read(path);
+            if (gif == null) {
+                System.err.println("Missing background resource: " + path);
+                return null;
+            }
+            ImageReader reader = ImageIO.getImageReadersByFormatName("gif").next();
+            try (ImageInputStream stream = ImageIO.createImageInputStream(new ByteArrayInputStream(gif))) {
+                reader.setInput(stream, false);
+                int count = reader.getNumImages(true);
+                Node screen = child(reader.getStreamMetadata().getAsTree("javax_imageio_gif_stream_1.0"), "LogicalScreenDescriptor");
+                Source source = new Source(screen == null ? reader.getWidth(0) : intAttr(screen, "logicalScreenWidth"),
+                        screen == null ? reader.getHeight(0) : intAttr(screen, "logicalScreenHeight"), count);
+                for (int i = 0; i < count; i++) {
+                    Node meta = reader.getImageMetadata(i).getAsTree("javax_imageio_gif_image_1.0");
+                    Node desc = child(meta, "ImageDescriptor");
+                    Node control = child(meta, "GraphicControlExtension");
+                    source.left[i] = desc == null ? 0 : intAttr(desc, "imageLeftPosition");
+                    source.top[i] = desc == null ? 0 : intAttr(desc, "imageTopPosition");
+                    source.disposal[i] = control == null ? "none" : control.getAttributes().getNamedItem("disposalMethod").getNodeValue();
+                    int delay = control == null ? 10 : intAttr(control, "delayTime");
+                    // Kept as decoded, i.e. indexed, which is far smaller than the composited frames
+                    source.images[i] = reader.read(i);
+                    // GIF delays are in 1/100 s; browsers treat 0 or 1 as 100 ms, so do we
+                    source.startMillis[i + 1] = source.startMillis[i] + (delay <= 1 ? 100 : delay * 10L);
+                }
+                return source;
+            } finally {
+                reader.dispose();
+            }
+        }
+
+        long bytes() {
+            long bytes = 0;
+            for (BufferedImage image : images) bytes += image.getRaster().getDataBuffer().getSize();
+            return bytes;
+        }
+    }
+
+    private static final class Frames {
+        /** The box the frames were scaled for, and how */
+        final int boxWidth;
+        final int boxHeight;
+        final boolean preserveRatio;
+        final int width;
+        final int height;
+        final Image[] images;
+        /** Start time of each frame within one loop, plus the loop length at the end */
+        final long[] startMillis;
+
+        Frames(int boxWidth, int boxHeight, boolean preserveRatio, int width, int height, Image[] images, long[] startMillis) {
+            this.boxWidth = boxWidth;
+            this.boxHeight = boxHeight;
+            this.preserveRatio = preserveRatio;
+            this.width = width;
+            this.height = height;
+            this.images = images;
+            this.startMillis = startMillis;
+        }
+
+        long bytes() {
+            return (long) width * height * 4 * images.length;
+        }
+    }
+
+    private final String path;
+    private final ImageView view = new ImageView();
+    private final AnimationScheduler.Task task;
+    private Frames frames;
+    private int shownFrame = -1;
+    private long startNanos;
+
+    private ObservableDoubleValue boxWidth;
+    private ObservableDoubleValue boxHeight;
+    private boolean preserveRatio;
+    private int wantedWidth;
+    private int wantedHeight;
+    private long sizeChangedAt;
+    private boolean decoding;
+
+    public BackgroundAnimation(String path, AnimationScheduler scheduler) {
+        this.path = path;
+        view.setSmooth(false);
+        task = scheduler.schedule(view, Duration.millis(1000.0 / FPS), this::tick);
+    }
+
+    public ImageView getView() {
+        return view;
+    }
+
+    /**
+     * Shows the animation inside the given box, stretched to fill it or scaled to fit it
+     * with the GIF's aspect ratio.
+     */
+    public void bindSize(ObservableDoubleValue width, ObservableDoubleValue height, boolean preserveRatio) {
+        this.boxWidth = width;
+        this.boxHeight = height;
+        this.preserveRatio = preserveRatio;
+        view.setPreserveRatio(preserveRatio);
+        view.fitWidthProperty().bind(width);
+        view.fitHeightProperty().bind(height);
+        width.addListener(o -> sizeChangedAt = System.nanoTime());
+        height.addListener(o -> sizeChangedAt = System.nanoTime());
+        sizeChangedAt = System.nanoTime();
+    }
+
+    public void dispose() {
+        task.cancel();
+    }
+
+    /** Decoded bytes held by all cached backgrounds. */
+    public static long estimatedBytes() {
+        long bytes = 0;
+        for (Frames f : cache.values()) bytes += f.bytes();
+        for (Source s : sources.values()) bytes += s.bytes();
+        return bytes;
+    }
+
+    private void tick(long now) {
+        if (boxWidth == null) return;
+        if (sizeChangedAt != 0 && now - sizeChangedAt >= RESIZE_SETTLE_NANOS) {
+            sizeChangedAt = 0;
+            wantedWidth = (int) Math.round(boxWidth.get());
+            wantedHeight = (int) Math.round(boxHeight.get());
+        }
+
+        Frames cached = cache.get(path);
+        if (cached != null && cached != frames && fits(cached)) {
+            frames = cached;
+            shownFrame = -1;
+            startNanos = now;
+        }
+        if ((frames == null || !fits(frames)) && !decoding && wantedWidth > 0 && wantedHeight > 0) {
+            decoding = true;
+            int w = wantedWidth;
+            int h = wantedHeight;
+            decoder.execute(() -> {
+                Frames decoded = decode(w, h);
+                Platform.runLater(() -> {
+                    decoding = false;
+                    if (decoded != null) cache.put(path, decoded);
+                });
+            });
+        }
+        if (frames == null) return;
+
+        long loop = frames.startMillis[frames.images.length];
+        long t = loop == 0 ? 0 : ((now - startNanos) / 1_000_000) % loop;
+        int frame = shownFrame < 0 || frames.startMillis[shownFrame] > t ? 0 : shownFrame;
+        while (frame + 1 < frames.images.length && frames.startMillis[frame + 1] <= t) frame++;
+        if (frame != shownFrame) {
+            view.setImage(frames.images[frame]);
+            shownFrame = frame;
+        }
+    }
+
+    /** Whether the frames were scaled for the current box. */
+    private boolean fits(Frames f) {
+        return f.boxWidth == wantedWidth && f.boxHeight == wantedHeight && f.preserveRatio == preserveRatio;
+    }
+
+    /**
+     * Composites all frames of the GIF (honouring frame offsets and disposal) and scales each
+     * to fit a box of the given size. The GIF itself is decoded only the first time; a resize
+     * composites and scales its kept frames again. Runs on the decoder thread.
+     */
+    private Frames decode(int boxW, int boxH) {
+        AssetDecodeEvent event = new AssetDecodeEvent();
+        event.begin();
+        WarmStartCache warm = AssetCache.warmCache();
+        String cacheName = "background" + path + '-' + boxW + 'x' + boxH + (preserveRatio ? "-fit" : "-fill");
+        long hash = warm == null ? 0 : AssetCache.contentHash(path);
+        long cacheKey = WarmStartCache.key(hash, ((long) boxW << 32) | boxH);
+        ByteBuffer cached = hash == 0 ? null : warm.read(cacheName, cacheKey);
+        Frames result = cached == null ? null : framesFrom(cached, boxW, boxH);
+        if (result != null) {
+            if (event.shouldCommit()) {
+                event.cached = true;
+                event.path = path;
+                event.width = result.width;
+                event.height = result.height;
+                event.frames = result.images.length;
+                event.bytes = result.bytes();
+                event.commit();
+            }
+            return result;
+        }
+
+        try {
+            Source source = sources.get(path);
+            if (source == null) {
+                source = Source.read(path);
+                if (source == null) return null;
+                sources.put(path, source);
+            }
+            result = scale(source, boxW, boxH);
+            if (hash != 0) {
+                Frames frames = result;
+                warm.write(cacheName, cacheKey, () -> payload(frames));
+            }
+            if (event.shouldCommit()) {
+                event.path = path;
+                event.width = result.width;
+                event.height = result.height;
+                event.frames = result.images.length;
+                event.bytes = result.bytes();
+                event.commit();
+            }
+            return result;
+        } catch (Exception e) {
+            System.err.println("Error decoding background " + path + ": " + e.getMessage());
+            return null;
+        }
+    }
+
+    /** Composites the source's frames in order and nearest-neighbour scales each to fit the box. */
+    private Frames scale(Source source, int boxW, int boxH) {
+        int srcW = source.width;
+        int srcH = source.height;
+        int dstW = boxW;
+        int dstH = boxH;
+        if (preserveRatio) {
+            dstW = (int) Math.min(boxW, Math.round(boxH * (double) srcW / srcH));
+            dstH = (int) Math.min(boxH, Math.round(boxW * (double) srcH / srcW));
+        }
+        dstW = Math.max(1, dstW);
+        dstH = Math.max(1, dstH);
+
+        int[] xs = new int[dstW];
+        for (int x = 0; x < dstW; x++) xs[x] = (int) ((long) x * srcW / dstW);
+
+        int count = source.images.length;
+        int[] canvas = new int[srcW * srcH];
+        int[] saved = null;
+        int[] scaled = new int[dstW * dstH];
+        int[] row = new int[srcW];
+        Image[] images = new Image[count];
+
+        for (int i = 0; i < count; i++) {
+            int left = source.left[i];
+            int top = source.top[i];
+            String disposal = source.disposal[i];
+            if ("restoreToPrevious".equals(disposal)) saved = canvas.clone();
+
+            BufferedImage img = source.images[i];
+            int w = Math.min(img.getWidth(), srcW - left);
+            int h = Math.min(img.getHeight(), srcH - top);
+            for (int y = 0; y < h; y++) {
+                img.getRGB(0, y, w, 1, row, 0, w);
+                int base = (top + y) * srcW + left;
+                for (int x = 0; x < w; x++) {
+                    if ((row[x] >>> 24) != 0) canvas[base + x] = row[x];
+                }
+            }
+
+            for (int y = 0; y < dstH; y++) {
+                int srcRow = (int) ((long) y * srcH / dstH) * srcW;
+                int dstRow = y * dstW;
+                for (int x = 0; x < dstW; x++) scaled[dstRow + x] = canvas[srcRow + xs[x]];
+            }
+            WritableImage frame = new WritableImage(dstW, dstH);
+            frame.getPixelWriter().setPixels(0, 0, dstW, dstH, PixelFormat.getIntArgbInstance(), scaled, 0, dstW);
+            images[i] = frame;
+
+            if ("restoreToBackgroundColor".equals(disposal)) {
+                for (int y = 0; y < h; y++) {
+                    int base = (top + y) * srcW + left;
+                    Arrays.fill(canvas, base, base + w, 0);
+                }
+            } else if ("restoreToPrevious".equals(disposal) && saved != null) {
+                canvas = saved;
+            }
+        }
+        return new Frames(boxW, boxH, preserveRatio, dstW, dstH, images, source.startMillis);
+    }
+
+    /**
+     * Scaled frames as a warm-start cache payload: count, width, height, palette size, palette,
+     * count + 1 start times, then the deflated palette indices of each frame, XORed with the
+     * previous frame's. Our pixel-art backgrounds use a few hundred colours at most and change
+     * little between frames, so 100+ MB of pixels store in well under 1 MB. Null when a GIF has
+     * more than 256 colours. Runs on the cache's writer thread.
+     */
+    private static ByteBuffer payload(Frames frames) {
+        int count = frames.images.length;
+        int w = frames.width;
+        int h = frames.height;
+        int[] pixels = new int[w * h];
+        byte[] indices = new byte[w * h];
+        byte[] previous = new byte[w * h];
+        Map<Integer, Integer> palette = new LinkedHashMap<>();
+        Deflater deflater = new Deflater();
+        ByteArrayOutputStream deflated = new ByteArrayOutputStream();
+        byte[] chunk = new byte[1 << 16];
+        try {
+            for (int i = 0; i < count; i++) {
+                frames.images[i].getPixelReader().getPixels(0, 0, w, h, PixelFormat.getIntArgbInstance(), pixels, 0, w);
+                for (int p = 0; p < pixels.length; p++) {
+                    Integer index = palette.get(pixels[p]);
+                    if (index == null) {
+                        if (palette.size() == PALETTE_SIZE) return null;
+                        index = palette.size();
+                        palette.put(pixels[p], index);
+                    }
+                    byte b = (byte) (int) index;
+                    indices[p] = (byte) (b ^ previous[p]);
+                    previous[p] = b;
+                }
+                deflater.setInput(indices);
+                while (!deflater.needsInput()) deflated.write(chunk, 0, deflater.deflate(chunk));
+            }
+            deflater.finish();
+            while (!deflater.finished()) deflated.write(chunk, 0, deflater.deflate(chunk));
+        } finally {
+            deflater.end();
+        }
+
+        ByteBuffer payload = ByteBuffer.allocate(16 + 4 * palette.size() + 8 * (count + 1) + deflated.size());
+        payload.putInt(count).putInt(w).putInt(h).putInt(palette.size());
+        for (int colour : palette.keySet()) payload.putInt(colour);
+        for (long t : frames.startMillis) payload.putLong(t);
+        payload.put(deflated.toByteArray());
+        return payload.clear();
+    }
+
+    /**
+     * Rebuilds frames written by {@link #payload} from a warm-start cache entry; null if the
+     * entry cannot be inflated.
+     */
+    private Frames framesFrom(ByteBuffer payload, int boxW, int boxH) {
+        int count = payload.getInt(0);
+        int w = payload.getInt(4);
+        int h = payload.getInt(8);
+        int[] palette = new int[payload.getInt(12)];
+        for (int i = 0; i < palette.length; i++) palette[i] = payload.getInt(16 + 4 * i);
+        int startsAt = 16 + 4 * palette.length;
+        long[] starts = new long[count + 1];
+        for (int i = 0; i <= count; i++) starts[i] = payload.getLong(startsAt + 8 * i);
+        int dataAt = startsAt + 8 * (count + 1);
+
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(payload.slice(dataAt, payload.limit() - dataAt));
+            byte[] indices = new byte[w * h];
+            byte[] current = new byte[w * h];
+            int[] pixels = new int[w * h];
+            Image[] images = new Image[count];
+            for (int i = 0; i < count; i++) {
+                for (int n = 0; n < indices.length; ) {
+                    int read = inflater.inflate(indices, n, indices.length - n);
+                    if (read == 0 && (inflater.finished() || inflater.needsInput())) throw new DataFormatException("truncated");
+                    n += read;
+                }
+                for (int p = 0; p < pixels.length; p++) {
+                    current[p] ^= indices[p];
+                    pixels[p] = palette[current[p] & 0xFF];
+                }
+                WritableImage frame = new WritableImage(w, h);
+                frame.getPixelWriter().setPixels(0, 0, w, h, PixelFormat.getIntArgbInstance(), pixels, 0, w);
+                images[i] = frame;
+            }
+            return new Frames(boxW, boxH, preserveRatio, w, h, images, starts);
+        } catch (DataFormatException | RuntimeException e) {
+            System.err.println("Cannot read cached frames of " + path + ": " + e.getMessage());
+            return null;
+        } finally {
+            inflater.end();
+        }
+    }
+
+    private static Node child(Node parent, String name) {
+        for (Node c = parent.getFirstChild(); c != null; c = c.getNextSibling()) {
+            if (c.getNodeName().equals(name)) return c;
+        }
+        return null;
+    }
+
+    private static int intAttr(Node node, String name) {
+        NamedNodeMap attrs = node.getAttributes();
+        return Integer.parseInt(attrs.getNamedItem(name).getNodeValue());
+    }
+}
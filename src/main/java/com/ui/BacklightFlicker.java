@@ -0,0 +1,46 @@
+package com.ui;
+
+import javafx.scene.layout.Region;
+import javafx.scene.paint.Color;
+import javafx.scene.shape.Rectangle;
+import javafx.util.Duration;
+
+import java.util.Random;
+
+/**
+ * The flickering white backlight behind the selection screens, driven at 20 Hz by the
+ * shared {@link AnimationScheduler}.
+ */
+public class BacklightFlicker {
+    private final Rectangle backlight = new Rectangle();
+    private final AnimationScheduler.Task task;
+    private final Random rand = new Random();
+
+    public BacklightFlicker(Region owner, AnimationScheduler scheduler) {
+        backlight.setFill(Color.WHITE);
+        backlight.setOpacity(0.2);
+        backlight.widthProperty().bind(owner.widthProperty());
+        backlight.heightProperty().bind(owner.heightProperty());
+
+        task = scheduler.schedule(backlight, Duration.millis(50), now -> flicker());
+    }
+
+    private void flicker() {
+        double chance = rand.nextDouble();
+        if (chance < 0.01) {
+            backlight.setOpacity(0.4 + (rand.nextDouble() * 0.2));
+        } else if (chance < 0.05) {
+            backlight.setOpacity(0.05);
+        } else {
+            backlight.setOpacity(0.2);
+        }
+    }
+
+    public Rectangle getNode() {
+        return backlight;
+    }
+
+    public AnimationScheduler.Task getTask() {
+        return task;
+    }
+}
@@ -1,13 +1,10 @@
 package com.ui;
 
-import java.util.Random;
-import java.util.Set;
+import java.util.LinkedHashMap;
+import java.util.Map;
 
-import javafx.animation.KeyFrame;
-import javafx.animation.Timeline;
 import javafx.geometry.Insets;
 import javafx.geometry.Pos;
-import javafx.geometry.Rectangle2D;
 import javafx.scene.control.Button;
 import javafx.scene.control.Label;
 import javafx.scene.effect.ColorAdjust;
@@ -21,54 +18,45 @@ import javafx.scene.paint.Color;
 import javafx.scene.shape.Rectangle;
 import javafx.scene.text.Font;
 import javafx.scene.text.FontWeight;
-import javafx.util.Duration;
-import logic.Chatbot;
+import logic.GameCatalog;
+import logic.PlayerSession;
 
 /**
  * Screen for selecting an AI chatbot assistant.
  * Bots that have already been used are stamped "OFFLINE".
  */
-public class ChatbotSelection {
+public class ChatbotSelection implements Screen {
     private final StackPane root;
     private final VBox contentLayout;
     private final WindowManager manager;
-    private final Set<String> usedBots;
+    private final BacklightFlicker flicker;
+    private final Map<String, BotCard> cards = new LinkedHashMap<>();
+
+    /** The parts of a card that change when its bot is used */
+    private static final class BotCard {
+        ImageView avatar;
+        ColorAdjust dim;
+        Label nameLabel;
+        Button btnSelect;
+        String selectStyle;
+        Label offlineStamp;
+    }
 
-    public ChatbotSelection(WindowManager manager, Set<String> usedBots) {
+    public ChatbotSelection(WindowManager manager) {
         this.manager = manager;
-        this.usedBots = usedBots;
 
         root = new StackPane();
         root.setAlignment(Pos.CENTER);
         root.setStyle("-fx-background-color: #000000");
 
         // --- Background Flicker Effect ---
-        Rectangle backlight = new Rectangle();
-        backlight.setFill(Color.WHITE);
-        backlight.setOpacity(0.2);
-        backlight.widthProperty().bind(root.widthProperty());
-        backlight.heightProperty().bind(root.heightProperty());
-
-        Random rand = new Random();
-        Timeline backgroundFlicker = new Timeline(
-                new KeyFrame(Duration.millis(50), e -> {
-                    double chance = rand.nextDouble();
-                    if (chance < 0.01) {
-                        backlight.setOpacity(0.4 + (rand.nextDouble() * 0.2));
-                    } else if (chance < 0.05) {
-                        backlight.setOpacity(0.05);
-                    } else {
-                        backlight.setOpacity(0.2);
-                    }
-                })
-        );
-        backgroundFlicker.setCycleCount(Timeline.INDEFINITE);
-        backgroundFlicker.play();
+        flicker = new BacklightFlicker(root, manager.getAnimationScheduler());
+        Rectangle backlight = flicker.getNode();
 
         contentLayout = new VBox(30);
         contentLayout.setAlignment(Pos.CENTER);
 
-        Image bgImage = new Image(getClass().getResourceAsStream("/res/hologram.png"));
+        Image bgImage = AssetCache.image("/res/hologram.png");
         ImageView bgView = new ImageView(bgImage);
         bgView.setSmooth(false);
         bgView.setPreserveRatio(true);
@@ -88,9 +76,7 @@ public class ChatbotSelection {
         botGrid.setVgap(20);
         botGrid.setPadding(new Insets(20));
 
-        String[] botNames = {"CHATGPT", "GEMINI", "GROK", "COPILOT", "CLAUDE", "DEEPSEEK", "PERPLEXITY"};
-
-        for (String name : botNames) {
+        for (String name : GameCatalog.BOT_NAMES) {
             Pane botCard = createBotCard(name);
             botGrid.getChildren().add(botCard);
         }
@@ -107,11 +93,30 @@ public class ChatbotSelection {
         root.getChildren().addAll(backlight, bgView, contentLayout, btnBack);
     }
 
+    /**
+     * Stamps the bots the player has already used as OFFLINE and re-enables the others.
+     */
+    @Override
+    public void refresh(PlayerSession session) {
+        for (Map.Entry<String, BotCard> e : cards.entrySet()) {
+            boolean isUsed = session.isBotUsed(e.getKey());
+            BotCard card = e.getValue();
+
+            card.avatar.setEffect(isUsed ? card.dim : null);
+            card.nameLabel.setTextFill(isUsed ? Color.GRAY : Color.WHITE);
+            card.btnSelect.setDisable(isUsed);
+            card.btnSelect.setText(isUsed ? "OFFLINE" : "SELECT");
+            card.btnSelect.setStyle(isUsed ? "-fx-background-color: #111; -fx-text-fill: #555; -fx-border-color: #555;" : card.selectStyle);
+            card.offlineStamp.setVisible(isUsed);
+        }
+    }
+
     private Pane createBotCard(String name) {
-        boolean isUsed = usedBots.contains(name);
+        BotCard card = new BotCard();
+        cards.put(name, card);
         String ACCENT_COLOR_HEX = Theme.ACCENT_COLOR;
 
-        Image cardBgImage = new Image(getClass().getResourceAsStream("/res/card.png"));
+        Image cardBgImage = AssetCache.image("/res/card.png");
         ImageView cardBgView = new ImageView(cardBgImage);
         cardBgView.setPreserveRatio(false);
         cardBgView.setSmooth(false);
@@ -124,64 +129,48 @@ public class ChatbotSelection {
         contentBox.setAlignment(Pos.CENTER);
         contentBox.setPadding(new Insets(25));
 
-        Image chatbotAtlas = new Image(getClass().getResourceAsStream("/res/chatbots.png"));
-        ImageView avatar = new ImageView(chatbotAtlas);
-        int spriteIndex = getSpriteIndex(name);
-        int spriteSize = 32;
-        Rectangle2D viewport = new Rectangle2D(spriteIndex * spriteSize, 0, spriteSize, spriteSize);
-        avatar.setViewport(viewport);
+        ImageView avatar = new ImageView(AssetCache.botAvatar(name));
+        card.avatar = avatar;
         avatar.setFitWidth(80);
         avatar.setFitHeight(80);
         avatar.setPreserveRatio(true);
         avatar.setSmooth(false);
 
-        if (isUsed) {
-            ColorAdjust dim = new ColorAdjust();
-            dim.setBrightness(-0.6);
-            dim.setSaturation(-1.0);
-            avatar.setEffect(dim);
-        }
+        card.dim = new ColorAdjust();
+        card.dim.setBrightness(-0.6);
+        card.dim.setSaturation(-1.0);
 
         Label nameLabel = new Label(name);
-        nameLabel.setTextFill(isUsed ? Color.GRAY : Color.WHITE);
-        nameLabel.setFont(Theme.FONT_NORMAL);;
-
-        String[] stats = assignStats(name);
+        nameLabel.setTextFill(Color.WHITE);
+        nameLabel.setFont(Theme.FONT_NORMAL);
+        card.nameLabel = nameLabel;
 
         Button btnSelect = Theme.createStyledButton("SELECT");
-
-        if (isUsed) {
-            btnSelect.setDisable(true);
-            btnSelect.setText("OFFLINE");
-            btnSelect.setStyle("-fx-background-color: #111; -fx-text-fill: #555; -fx-border-color: #555;");
-        } else {
-            btnSelect.setOnAction(e -> {
-                Chatbot selectedBot = new Chatbot(name, stats[0], stats[1]);
-                manager.onChatbotSelected(selectedBot);
-            });
-        }
+        btnSelect.setOnAction(e -> manager.onChatbotSelected(name));
+        card.btnSelect = btnSelect;
+        card.selectStyle = btnSelect.getStyle();
 
         contentBox.getChildren().addAll(avatar, nameLabel, btnSelect);
 
         StackPane finalCardStack = new StackPane();
         finalCardStack.getChildren().addAll(cardBgView, contentBox);
 
-        if (isUsed) {
-            Label offlineStamp = new Label("OFFLINE");
-            offlineStamp.setFont(Font.font("Stencil", FontWeight.BOLD, 28));
-            offlineStamp.setTextFill(Color.web(ACCENT_COLOR_HEX));
-            offlineStamp.setStyle(
-                    "-fx-border-color: " + ACCENT_COLOR_HEX + "; " +
-                            "-fx-border-width: 4px; " +
-                            "-fx-padding: 5px 15px; " +
-                            "-fx-background-color: rgba(0,0,0, 0.8);" +
-                            "-fx-effect: dropshadow(gaussian, " + ACCENT_COLOR_HEX + ", 10, 0.5, 0, 0);"
-            );
-            offlineStamp.setRotate(-25);
-            offlineStamp.setMouseTransparent(true);
-
-            finalCardStack.getChildren().add(offlineStamp);
-        }
+        Label offlineStamp = new Label("OFFLINE");
+        offlineStamp.setFont(Font.font("Stencil", FontWeight.BOLD, 28));
+        offlineStamp.setTextFill(Color.web(ACCENT_COLOR_HEX));
+        offlineStamp.setStyle(
+                "-fx-border-color: " + ACCENT_COLOR_HEX + "; " +
+                        "-fx-border-width: 4px; " +
+                        "-fx-padding: 5px 15px; " +
+                        "-fx-background-color: rgba(0,0,0, 0.8);" +
+                        "-fx-effect: dropshadow(gaussian, " + ACCENT_COLOR_HEX + ", 10, 0.5, 0, 0);"
+        );
+        offlineStamp.setRotate(-25);
+        offlineStamp.setMouseTransparent(true);
+        offlineStamp.setVisible(false);
+        card.offlineStamp = offlineStamp;
+
+        finalCardStack.getChildren().add(offlineStamp);
 
         cardBgView.fitWidthProperty().bind(finalCardStack.widthProperty());
         cardBgView.fitHeightProperty().bind(finalCardStack.heightProperty());
@@ -189,33 +178,23 @@ public class ChatbotSelection {
         return finalCardStack;
     }
 
-    private String[] assignStats(String name) {
-        switch (name) {
-            case "CHATGPT":  return new String[]{"INTRO", "MAPPINGS"};
-            case "GEMINI":  return new String[]{"OOP", "FUNCTIONAL"};
-            case "GROK": return new String[]{"PROCEDURAL", "EVENT_DRIVEN"};
-            case "COPILOT":   return new String[]{"FUNCTIONAL", "OOP"};
-            case "CLAUDE":   return new String[]{"IMP_DEC", "INTRO"};
-            case "DEEPSEEK":   return new String[]{"EVENT_DRIVEN", "IMP_DEC"};
-            case "PERPLEXITY":   return new String[]{"MAPPINGS", "PROCEDURAL"};
-            default:       return new String[]{"INTRO", "OOP"};
-        }
+    @Override
+    public void onShow() {
+        flicker.getTask().resume();
     }
 
-    public Pane getLayout() {
-        return root;
+    @Override
+    public void onHide() {
+        flicker.getTask().pause();
     }
 
-    private int getSpriteIndex(String name) {
-        switch(name.toUpperCase()) {
-            case "CHATGPT": return 0;
-            case "GEMINI": return 1;
-            case "GROK": return 2;
-            case "COPILOT": return 3;
-            case "CLAUDE": return 4;
-            case "DEEPSEEK": return 5;
-            case "PERPLEXITY": return 6;
-            default: return 0;
-        }
+    @Override
+    public void dispose() {
+        flicker.getTask().cancel();
+    }
+
+    @Override
+    public Pane getLayout() {
+        return root;
     }
 }
\ No newline at end of file
@@ -3,8 +3,6 @@ package com.ui;
 import javafx.scene.Scene;
 import javafx.scene.ImageCursor;
 import javafx.scene.image.Image;
-import javafx.scene.image.PixelReader;
-import javafx.scene.image.WritableImage;
 import javafx.scene.input.MouseEvent;
 
 public class CursorManager {
@@ -22,12 +20,9 @@ public class CursorManager {
 
     private void loadCursors() {
 
-        Image cursorAtlas = new Image(getClass().getResourceAsStream("/res/mouse.png"));
-        PixelReader reader = cursorAtlas.getPixelReader();
+        Image defaultImg = AssetCache.sprite("/res/mouse.png", 1, 32);
 
-        WritableImage defaultImg = new WritableImage(reader, 32, 0, 32, 32);
-
-        WritableImage pressedImg = new WritableImage(reader, 64, 0, 32, 32);
+        Image pressedImg = AssetCache.sprite("/res/mouse.png", 2, 32);
 
         defaultCursor = new ImageCursor(defaultImg, 0, 0);
         pressedCursor = new ImageCursor(pressedImg, 0, 0);
@@ -1,10 +1,10 @@
 package com.ui;
 
+import data.QuestionAnalytics;
 import logic.Chatbot;
 import logic.GameSession;
 import logic.Question;
 import java.util.List;
-import java.util.Random;
 
 /**
  * Controls game logic and UI interactions during gameplay.
@@ -15,6 +15,11 @@ public class GameController {
     private final GameUI ui;
     private final WindowManager manager;
 
+    /** The question on screen, for analytics: its key, when it was shown and lifelines used on it */
+    private long questionKey;
+    private long questionShownNanos;
+    private int questionLifelines;
+
     public GameController(GameSession session, GameUI ui, WindowManager manager) {
         this.session = session;
         this.ui = ui;
@@ -52,6 +57,9 @@ public class GameController {
     private void updateUI() {
         Question q = session.getCurrentQuestion();
         if (q == null) return;
+        questionKey = QuestionAnalytics.key(q);
+        questionShownNanos = System.nanoTime();
+        questionLifelines = 0;
 
         ui.getSubjectLabel().setText("Subject: " + q.getSubject());
         ui.getQuestionLabel().setText(q.getText());
@@ -97,7 +105,27 @@ public class GameController {
     }
 
     private void handleAnswer(int index) {
+        AnswerEvent event = new AnswerEvent();
+        event.begin();
+        Question question = session.getCurrentQuestion();
         GameSession.GameResult result = session.submitAnswer(index);
+        QuestionAnalytics analytics = manager.getAnalytics();
+        if (analytics != null) {
+            analytics.recordAnswer(questionKey, manager.getAnalyticsRun(), result,
+                    System.nanoTime() - questionShownNanos, questionLifelines);
+        }
+        respond(result);
+
+        if (event.shouldCommit()) {
+            event.subject = question == null ? null : question.getSubject();
+            event.chatbot = session.getCurrentChatbot().getName();
+            event.option = index;
+            event.result = result.name();
+            event.commit();
+        }
+    }
+
+    private void respond(GameSession.GameResult result) {
 
         if (result == GameSession.GameResult.CORRECT) {
             manager.playSuccessSound();
@@ -117,25 +145,27 @@ public class GameController {
             int totalScore = manager.getGlobalScore() + session.getScore();
             int percent = (int) ((totalScore / 14.0) * 100);
 
-            String msg = "You were wrong!\nBot attempted to Save you, but FAILED.\n\nFinal Score: " + totalScore + "/14 (" + percent + "%)";
-            // CHANGED: Use endGame() to reset state
-            manager.showCustomAlert("GAME OVER", msg, manager::endGame);
+            String msg = "You were wrong!\nBot attempted to Save you, but FAILED.\n\nFinal Score: " + totalScore + "/14 (" + percent + "%)"
+                    + manager.seedLine()
+                    + manager.endGame(totalScore);
+            manager.showCustomAlert("GAME OVER", msg, manager::showMainMenu);
         }
         else {
             manager.playErrorSound();
             int totalScore = manager.getGlobalScore() + session.getScore();
             int percent = (int) ((totalScore / 14.0) * 100);
 
-            String msg = "You threw an exception!\n\nFinal Score: " + totalScore + "/14 (" + percent + "%)";
-            // CHANGED: Use endGame() to reset state
-            manager.showCustomAlert("GAME OVER", msg, manager::endGame);
+            String msg = "You threw an exception!\n\nFinal Score: " + totalScore + "/14 (" + percent + "%)"
+                    + manager.seedLine()
+                    + manager.endGame(totalScore);
+            manager.showCustomAlert("GAME OVER", msg, manager::showMainMenu);
         }
     }
 
     private void checkGameStatus() {
         if (session.isGameWon()) {
             manager.showCustomAlert("ROUND COMPLETE", "Returning to Subject Board...", () ->
-                    manager.finishRound(session.getSubject(), session.getScore())
+                    manager.finishRound()
             );
         } else {
             updateUI();
@@ -144,6 +174,7 @@ public class GameController {
 
     private void handleAskBot() {
         manager.markAskUsed();
+        questionLifelines |= QuestionAnalytics.ASKED;
         ui.getBtnAsk().setDisable(true);
         ui.getBtnAsk().setText("");
 
@@ -167,8 +198,7 @@ public class GameController {
                 dialogue = "I am 90% sure it is Option " + correctOpt + ".";
             }
         } else {
-            int wrong;
-            do { wrong = new Random().nextInt(4); } while(wrong == q.getCorrectAnswerIndex());
+            int wrong = manager.getGameRandom().wrongOption(q.getCorrectAnswerIndex(), 4);
 
             if (isStrong) {
                 dialogue = "Trust me, I know " + subject + ". It has to be Option " + (wrong + 1) + "!";
@@ -182,6 +212,7 @@ public class GameController {
 
     private void handleCopyPaste() {
         manager.markCopyUsed();
+        questionLifelines |= QuestionAnalytics.COPIED;
         ui.getBtnCopy().setDisable(true);
         ui.getBtnCopy().setText("");
 
@@ -193,9 +224,7 @@ public class GameController {
         if (success) {
             finalChoice = q.getCorrectAnswerIndex();
         } else {
-            int wrong;
-            do { wrong = new Random().nextInt(4); } while(wrong == q.getCorrectAnswerIndex());
-            finalChoice = wrong;
+            finalChoice = manager.getGameRandom().wrongOption(q.getCorrectAnswerIndex(), 4);
         }
 
         manager.showCustomAlert("COPY PASTE",
@@ -2,7 +2,6 @@ package com.ui;
 
 import javafx.geometry.Insets;
 import javafx.geometry.Pos;
-import javafx.geometry.Rectangle2D;
 import javafx.scene.Parent;
 import javafx.scene.control.Button;
 import javafx.scene.control.ContentDisplay;
@@ -17,11 +16,15 @@ import javafx.scene.text.Font;
 import javafx.scene.text.FontWeight;
 import javafx.scene.text.TextAlignment;
 import logic.Chatbot;
+import logic.PlayerSession;
 
 /**
  * Main game interface displaying questions, options, and chatbot interactions.
+ * Built once and reused for every round; {@link #refresh} swaps in the round's bot.
  */
-public class GameUI {
+public class GameUI implements Screen {
+    private static final String ICON_BUTTON_STYLE = "-fx-background-color: transparent; -fx-padding: 0; -fx-background-radius: 0; -fx-border-width: 0;";
+
     private Chatbot currentChatbot;
     private final BorderPane uiLayer;
     private final StackPane root;
@@ -37,14 +40,11 @@ public class GameUI {
     private Button btnAsk;
     private Button btnCopy;
     private Button btnSave;
+    private final BackgroundAnimation background;
 
-    public GameUI(Chatbot chatbot) {
-        this.currentChatbot = chatbot;
-
-        Image bgImage = new Image(getClass().getResourceAsStream("/res/a.gif"));
-        ImageView bgView = new ImageView(bgImage);
-        bgView.setSmooth(false);
-        bgView.setPreserveRatio(false);
+    public GameUI(AnimationScheduler scheduler) {
+        background = new BackgroundAnimation("/res/a.gif", scheduler);
+        ImageView bgView = background.getView();
         bgView.setManaged(false);
 
         uiLayer = new BorderPane();
@@ -57,12 +57,48 @@ public class GameUI {
         root.setStyle("fx-background-color: black;");
         root.getChildren().addAll(bgView, uiLayer);
 
-        bgView.fitWidthProperty().bind(root.widthProperty());
-        bgView.fitHeightProperty().bind(root.heightProperty());
+        background.bindSize(root.widthProperty(), root.heightProperty(), false);
 
     }
 
-    public Parent getRoot() { return root; }
+    @Override
+    public Parent getLayout() { return root; }
+
+    @Override
+    public void dispose() {
+        background.dispose();
+    }
+
+    /**
+     * Shows the session's current bot and resets the lifeline buttons; {@link GameController}
+     * then disables the ones already spent.
+     */
+    @Override
+    public void refresh(PlayerSession session) {
+        currentChatbot = session.getCurrentChatbot();
+        if (currentChatbot != null) botAvatar.setImage(AssetCache.botAvatar(currentChatbot.getName()));
+
+        btnAsk.setDisable(false);
+        btnCopy.setDisable(false);
+        btnSave.setDisable(true);
+        btnSave.setStyle(ICON_BUTTON_STYLE);
+        dialogLabel.setText("");
+        subjectLabel.setText("Subject: LOADING...");
+    }
+
+    /**
+     * Sets the screen up for a practice session: no bot and no lifelines. The next
+     * {@link #refresh} restores it for a normal round.
+     */
+    public void showPractice() {
+        currentChatbot = null;
+        botAvatar.setImage(null);
+        btnAsk.setDisable(true);
+        btnCopy.setDisable(true);
+        btnSave.setDisable(true);
+        dialogLabel.setText("");
+        subjectLabel.setText("Subject: LOADING...");
+    }
 
     private void createTopPanel() {
     BorderPane topContainer = new BorderPane();
@@ -71,23 +107,7 @@ public class GameUI {
     VBox topLeft = new VBox(10);
     topLeft.setAlignment(Pos.TOP_LEFT);
 
-    Image chatbotAtlas = new Image(getClass().getResourceAsStream("/res/chatbots.png"));
-    botAvatar = new ImageView(chatbotAtlas);
-    int spriteSize = 32;
-    int xOffset = 0;
-
-    switch(currentChatbot.getName().toUpperCase()) {
-        case "CHATGPT": xOffset = 0; break;
-        case "GEMINI": xOffset = 1; break;
-        case "GROK": xOffset = 2; break;
-        case "COPILOT": xOffset = 3; break;
-        case "CLAUDE": xOffset = 4; break;
-        case "DEEPSEEK": xOffset = 5; break;
-        case "PERPLEXITY": xOffset = 6; break;
-        default: xOffset = 0; break;
-    }
-
-    botAvatar.setViewport(new Rectangle2D(xOffset * spriteSize, 0, spriteSize, spriteSize));
+    botAvatar = new ImageView();
     botAvatar.setFitWidth(80);
     botAvatar.setFitHeight(80);
     botAvatar.setPreserveRatio(true);
@@ -101,37 +121,32 @@ public class GameUI {
     HBox toolsBox = new HBox(5); // Spacing between icons
     toolsBox.setAlignment(Pos.CENTER_RIGHT);
 
-    Image toolsAtlas = new Image(getClass().getResourceAsStream("/res/commands.png"));
-
-    ImageView askIcon = new ImageView(toolsAtlas);
-    askIcon.setViewport(new Rectangle2D(0, 0, 128, 128)); // First sprite
+    ImageView askIcon = new ImageView(AssetCache.commandIcon(AssetCache.ICON_ASK));
     askIcon.setFitWidth(64); 
     askIcon.setFitHeight(64);
     askIcon.setSmooth(false);
 
     btnAsk = new Button();
     btnAsk.setGraphic(askIcon);
-    btnAsk.setStyle("-fx-background-color: transparent; -fx-padding: 0; -fx-background-radius: 0; -fx-border-width: 0;");
+    btnAsk.setStyle(ICON_BUTTON_STYLE);
 
-    ImageView copyIcon = new ImageView(toolsAtlas);
-    copyIcon.setViewport(new Rectangle2D(128, 0, 128, 128)); // Second sprite (x = 128)
+    ImageView copyIcon = new ImageView(AssetCache.commandIcon(AssetCache.ICON_COPY));
     copyIcon.setFitWidth(64);
     copyIcon.setFitHeight(64);
     copyIcon.setSmooth(false);
 
     btnCopy = new Button();
     btnCopy.setGraphic(copyIcon);
-    btnCopy.setStyle("-fx-background-color: transparent; -fx-padding: 0; -fx-background-radius: 0; -fx-border-width: 0;");
+    btnCopy.setStyle(ICON_BUTTON_STYLE);
 
-    ImageView saveIcon = new ImageView(toolsAtlas);
-    saveIcon.setViewport(new Rectangle2D(256, 0, 128, 128));
+    ImageView saveIcon = new ImageView(AssetCache.commandIcon(AssetCache.ICON_SAVE));
     saveIcon.setFitWidth(64);
     saveIcon.setFitHeight(64);
     saveIcon.setSmooth(false);
 
     btnSave = new Button();
     btnSave.setGraphic(saveIcon);
-    btnSave.setStyle("-fx-background-color: transparent; -fx-padding: 0; -fx-background-radius: 0; -fx-border-width: 0;");
+    btnSave.setStyle(ICON_BUTTON_STYLE);
     
     btnSave.setDisable(true); 
 
@@ -155,13 +170,7 @@ public class GameUI {
         centerContainer.setAlignment(Pos.TOP_CENTER);
         centerContainer.setPadding(new Insets(10, 40, 20, 40));
 
-        Image qBoxAtlas = new Image(getClass().getResourceAsStream("/res/textbx.png"));
-        ImageView qBoxBackground = new ImageView(qBoxAtlas);
-
-        int xOffset = 0;
-
-        Rectangle2D viewport = new Rectangle2D(xOffset, 0, 800, 150);
-        qBoxBackground.setViewport(viewport);
+        ImageView qBoxBackground = new ImageView(AssetCache.region("/res/textbx.png", 0, 0, 800, 150));
 
         qBoxBackground.setPreserveRatio(false);
         qBoxBackground.setSmooth(false);
@@ -215,7 +224,7 @@ public class GameUI {
         optionsGrid.setVgap(20);
 
         optionButtons = new Button[4];
-        Image buttonImage = new Image(getClass().getResourceAsStream("/res/choice.png"));
+        Image buttonImage = AssetCache.image("/res/choice.png");
         for (int i = 0; i < 4; i++) {
 
             ImageView buttonSprite = new ImageView(buttonImage);
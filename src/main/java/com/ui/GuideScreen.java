@@ -6,11 +6,12 @@ import javafx.scene.control.Label;
 import javafx.scene.layout.VBox;
 import javafx.scene.paint.Color;
 import javafx.scene.text.TextAlignment;
+import logic.PlayerSession;
 
 /**
  * Displays game rules and mechanics to help players understand the game.
  */
-public class GuideScreen {
+public class GuideScreen implements Screen {
     private final VBox layout;
 
     public GuideScreen(WindowManager manager) {
@@ -46,6 +47,12 @@ public class GuideScreen {
         layout.getChildren().addAll(title, content, btnBack);
     }
 
+    /** The guide is static text. */
+    @Override
+    public void refresh(PlayerSession session) {
+    }
+
+    @Override
     public VBox getLayout() {
         return layout;
     }
@@ -9,10 +9,18 @@ import com.ui.WindowManager;
  */
 
 public class Main extends Application {
+    private WindowManager windowManager;
+
     public void start(Stage primaryStage) {
-        WindowManager windowManager = new WindowManager(primaryStage);
+        windowManager = new WindowManager(primaryStage);
         windowManager.showMainMenu();
         primaryStage.show();
+        windowManager.markShown();
+    }
+
+    @Override
+    public void stop() {
+        if (windowManager != null) windowManager.shutdown();
     }
 
     public static void main(String[] args) {
@@ -1,5 +1,6 @@
 package com.ui;
 
+import javafx.application.Platform;
 import javafx.geometry.Pos;
 import javafx.scene.control.Button;
 import javafx.scene.control.ContentDisplay;
@@ -9,58 +10,79 @@ import javafx.scene.layout.HBox;
 import javafx.scene.layout.StackPane;
 import javafx.scene.layout.VBox;
 import javafx.scene.paint.Color;
+import logic.PlayerSession;
 
 /**
  * Main menu screen with navigation options for the game.
  */
-public class MainMenu {
+public class MainMenu implements Screen {
     private final StackPane layout;
+    private final WindowManager manager;
+    private final Button btnPlay;
+    private final Button btnPractice;
+    private final BackgroundAnimation background;
 
     public MainMenu(WindowManager manager) {
-        Image bgImage = new Image(getClass().getResourceAsStream("/res/b.gif"));
-        ImageView bgView = new ImageView(bgImage);
-        bgView.setSmooth(false);
-        bgView.setPreserveRatio(true);
+        this.manager = manager;
+        background = new BackgroundAnimation("/res/b.gif", manager.getAnimationScheduler());
+        ImageView bgView = background.getView();
 
         VBox contentBox = new VBox(350);
         contentBox.setAlignment(Pos.CENTER);
 
-        Image titleImage = new Image(getClass().getResourceAsStream("/res/title.gif"));
+        Image titleImage = AssetCache.image("/res/title.gif");
         ImageView titleView = new ImageView(titleImage);
         titleView.setSmooth(false);
         titleView.setPreserveRatio(true);
 
-        // --- NEW LOGIC: CONTINUE vs PLAY ---
-        Button btnPlay;
-        if (manager.isGameActive()) {
-            btnPlay = createSpriteButton("CONTINUE");
-            btnPlay.setOnAction(e -> manager.continueGame());
-        } else {
-            btnPlay = createSpriteButton("PLAY GAME");
-            btnPlay.setOnAction(e -> manager.startNewGame());
-        }
+        // CONTINUE vs PLAY is decided in refresh()
+        btnPlay = createSpriteButton("PLAY GAME");
 
+        btnPractice = createSpriteButton("PRACTICE");
         Button btnGuide = createSpriteButton("GUIDE");
         Button btnSettings = createSpriteButton("SETTINGS");
         Button btnExit = createSpriteButton("EXIT");
 
+        btnPractice.setOnAction(e -> manager.startPractice());
         btnGuide.setOnAction(e -> manager.showGuide());
         btnSettings.setOnAction(e -> manager.showSettings());
-        btnExit.setOnAction(e -> System.exit(0));
+        // Through Platform.exit() so Main.stop() gets to save progress
+        btnExit.setOnAction(e -> Platform.exit());
 
         HBox buttonRow = new HBox(20);
         buttonRow.setAlignment(Pos.CENTER);
-        buttonRow.getChildren().addAll(btnPlay, btnGuide, btnSettings, btnExit);
+        buttonRow.getChildren().addAll(btnPlay, btnPractice, btnGuide, btnSettings, btnExit);
 
         contentBox.getChildren().addAll(titleView, buttonRow);
 
         layout = new StackPane();
         layout.getChildren().addAll(bgView, contentBox);
-        bgView.fitWidthProperty().bind(layout.widthProperty().multiply(0.50));
-        bgView.fitHeightProperty().bind(layout.heightProperty().multiply(0.30));
+        background.bindSize(layout.widthProperty().multiply(0.50), layout.heightProperty().multiply(0.30), true);
         layout.setStyle("-fx-background-color: #000000");
     }
 
+    @Override
+    public void refresh(PlayerSession session) {
+        // Questions still loading in the background
+        btnPlay.setDisable(!manager.isGameReady());
+        btnPractice.setDisable(!manager.isGameReady());
+        if (!manager.isGameReady()) {
+            btnPlay.setText("LOADING...");
+        } else if (session.isGameActive()) {
+            btnPlay.setText("CONTINUE");
+            btnPlay.setOnAction(e -> manager.continueGame());
+        } else {
+            btnPlay.setText("PLAY GAME");
+            btnPlay.setOnAction(e -> manager.startNewGame());
+        }
+    }
+
+    @Override
+    public void dispose() {
+        background.dispose();
+    }
+
+    @Override
     public StackPane getLayout() {
         return layout;
     }
@@ -68,7 +90,7 @@ public class MainMenu {
     private Button createSpriteButton(String text) {
         Button btn = new Button(text);
 
-        Image img = new Image(getClass().getResourceAsStream("/res/mainbutton.png"));
+        Image img = AssetCache.image("/res/mainbutton.png");
         ImageView view = new ImageView(img);
 
         view.setFitWidth(128);
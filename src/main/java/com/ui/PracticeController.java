@@ -0,0 +1,108 @@
+package com.ui;
+
+import logic.GameSession;
+import logic.Question;
+import logic.ReviewSchedule;
+import java.util.List;
+
+/**
+ * Runs a practice session on the game screen: the player works through the cards that are due,
+ * every answer is graded into their {@link ReviewSchedule}, and a wrong answer shows the right
+ * one instead of ending the run.
+ */
+public class PracticeController {
+    private final GameSession session;
+    private final int[] cards;
+    private final ReviewSchedule schedule;
+    private final GameUI ui;
+    private final WindowManager manager;
+
+    /** SM-2 grades for a right and a wrong answer */
+    private static final int GRADE_CORRECT = 4;
+    private static final int GRADE_WRONG = 1;
+
+    public PracticeController(GameSession session, int[] cards, ReviewSchedule schedule, GameUI ui, WindowManager manager) {
+        this.session = session;
+        this.cards = cards;
+        this.schedule = schedule;
+        this.ui = ui;
+        this.manager = manager;
+        for (int i = 0; i < 4; i++) {
+            final int index = i;
+            ui.getOptionButtons()[i].setOnAction(e -> handleAnswer(index));
+        }
+        ui.showPractice();
+        ui.getBotNameLabel().setText("PRACTICE");
+        updateUI();
+    }
+
+    private void updateUI() {
+        Question q = session.getCurrentQuestion();
+        if (q == null) return;
+
+        ui.getSubjectLabel().setText("Subject: " + q.getSubject());
+        ui.getQuestionLabel().setText(q.getText());
+
+        if (q.getCodeSnippet() != null && !q.getCodeSnippet().isEmpty()) {
+            ui.getCodeArea().setText(q.getCodeSnippet());
+            ui.getCodeArea().setVisible(true);
+        } else {
+            ui.getCodeArea().setVisible(false);
+        }
+
+        List<String> opts = q.getOptions();
+        for (int i = 0; i < 4; i++) {
+            if (i < opts.size()) {
+                ui.getOptionButtons()[i].setText(opts.get(i));
+                ui.getOptionButtons()[i].setDisable(false);
+            } else {
+                ui.getOptionButtons()[i].setText("-");
+                ui.getOptionButtons()[i].setDisable(true);
+            }
+        }
+
+        int done = session.getQuestionIndex();
+        ui.getDialogLabel().setText(schedule.repetitions(cards[done]) == 0 && schedule.lapses(cards[done]) == 0
+                ? "New card." : "Review.");
+        ui.getProgressBar().setProgress((double) done / cards.length);
+        ui.getProgressLabel().setText("Card " + (done + 1) + " of " + cards.length);
+    }
+
+    private void handleAnswer(int index) {
+        Question question = session.getCurrentQuestion();
+        if (question == null) return;
+        int card = cards[session.getQuestionIndex()];
+        GameSession.GameResult result = session.submitAnswer(index);
+        int now = ReviewSchedule.minuteOf(System.currentTimeMillis());
+
+        if (result == GameSession.GameResult.CORRECT) {
+            schedule.review(card, GRADE_CORRECT, now);
+            manager.playSuccessSound();
+            manager.showCustomAlert("CORRECT!", "Next review in " + formatMinutes(schedule.intervalMinutes(card)) + ".",
+                    this::next);
+        } else {
+            schedule.review(card, GRADE_WRONG, now);
+            manager.playErrorSound();
+            int correct = question.getCorrectAnswerIndex();
+            manager.showCustomAlert("WRONG", "The answer was Option " + (correct + 1) + ":\n"
+                    + question.getOptions().get(correct) + "\n\nThis card comes back in "
+                    + formatMinutes(schedule.intervalMinutes(card)) + ".", this::next);
+        }
+    }
+
+    private void next() {
+        if (session.isGameWon()) {
+            manager.finishPractice(session.getScore(), cards.length);
+        } else {
+            updateUI();
+        }
+    }
+
+    /** A review interval the way a player reads it, e.g. "10 min", "6 days". */
+    static String formatMinutes(int minutes) {
+        if (minutes < 60) return minutes + " min";
+        if (minutes < 24 * 60) return (minutes / 60) + (minutes < 120 ? " hour" : " hours");
+        int days = minutes / (24 * 60);
+        return days + (days == 1 ? " day" : " days");
+    }
+}
@@ -0,0 +1,27 @@
+package com.ui;
+
+import javafx.scene.Parent;
+import logic.PlayerSession;
+
+/**
+ * A screen that is built once and kept by {@link WindowManager}. Before it is shown again,
+ * {@link #refresh} brings it up to date with the player's session instead of rebuilding it.
+ *
+ * WindowManager drives the lifecycle: refresh, then {@link #onShow} once the layout is on
+ * stage, {@link #onHide} when another screen replaces it, and {@link #dispose} when it drops
+ * the screen for good.
+ */
+public interface Screen {
+    Parent getLayout();
+
+    void refresh(PlayerSession session);
+
+    /** Start anything that should only run while visible. */
+    default void onShow() {}
+
+    /** Pause whatever onShow started. */
+    default void onHide() {}
+
+    /** Release timers and listeners; the screen is not shown again. */
+    default void dispose() {}
+}
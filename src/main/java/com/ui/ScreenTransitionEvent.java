@@ -0,0 +1,51 @@
+package com.ui;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+import java.util.function.Supplier;
+
+/**
+ * JFR event for one navigation, from the click to the new root being on stage. Building the
+ * screen (first visit only) and refreshing it from the session are broken out.
+ */
+@Name("astac.ScreenTransition")
+@Label("Screen Transition")
+@Category({"ASTAC", "UI"})
+@Description("Navigation to a screen: build, refresh and scene graph swap")
+@StackTrace(false)
+final class ScreenTransitionEvent extends jdk.jfr.Event {
+    @Label("Screen")
+    String screen;
+
+    @Label("Built")
+    @Description("The screen was constructed by this transition")
+    boolean built;
+
+    @Label("Build Time")
+    @Timespan(Timespan.NANOSECONDS)
+    long buildTime;
+
+    @Label("Refresh Time")
+    @Timespan(Timespan.NANOSECONDS)
+    long refreshTime;
+
+    static ScreenTransitionEvent start() {
+        ScreenTransitionEvent event = new ScreenTransitionEvent();
+        event.begin();
+        return event;
+    }
+
+    /** Constructs the screen and records how long that took. */
+    <T extends Screen> T build(Supplier<T> factory) {
+        long start = System.nanoTime();
+        T screen = factory.get();
+        buildTime = System.nanoTime() - start;
+        built = true;
+        return screen;
+    }
+}
@@ -0,0 +1,13 @@
+package com.ui;
+
+import server.QuizServer;
+
+/**
+ * Starts the headless HTTP quiz server instead of the JavaFX client.
+ * Usage: ServerLauncher [port]
+ */
+public class ServerLauncher {
+    public static void main(String[] args) throws Exception {
+        QuizServer.main(args);
+    }
+}
@@ -6,11 +6,16 @@ import javafx.scene.control.Label;
 import javafx.scene.control.Slider;
 import javafx.scene.layout.VBox;
 import javafx.scene.paint.Color;
+import logic.PlayerSession;
 
-public class SettingsScreen {
+public class SettingsScreen implements Screen {
     private final VBox layout;
+    private final SoundManager soundManager;
+    private final Slider musicSlider;
+    private final Slider sfxSlider;
 
     public SettingsScreen(WindowManager manager) {
+        this.soundManager = manager.getSoundManager();
         // 1. Layout Setup (Matches GuideScreen)
         layout = new VBox(25);
         layout.setAlignment(Pos.CENTER);
@@ -27,7 +32,7 @@ public class SettingsScreen {
         musicLabel.setTextFill(Color.WHITE);
         musicLabel.setFont(Theme.FONT_NORMAL);
 
-        Slider musicSlider = createNeonSlider();
+        musicSlider = createNeonSlider();
         // Get current volume (0.0 to 1.0) and convert to slider (0 to 100)
         musicSlider.setValue(manager.getSoundManager().getMusicVolume() * 100);
         musicSlider.valueProperty().addListener((obs, oldVal, newVal) -> {
@@ -39,7 +44,7 @@ public class SettingsScreen {
         sfxLabel.setTextFill(Color.WHITE);
         sfxLabel.setFont(Theme.FONT_NORMAL);
 
-        Slider sfxSlider = createNeonSlider();
+        sfxSlider = createNeonSlider();
         sfxSlider.setValue(manager.getSoundManager().getSFXVolume() * 100);
         sfxSlider.valueProperty().addListener((obs, oldVal, newVal) -> {
             manager.getSoundManager().setSFXVolume(newVal.doubleValue() / 100.0);
@@ -71,6 +76,14 @@ public class SettingsScreen {
         }
     }
 
+    /** Picks up volume changes made elsewhere since the screen was built. */
+    @Override
+    public void refresh(PlayerSession session) {
+        musicSlider.setValue(soundManager.getMusicVolume() * 100);
+        sfxSlider.setValue(soundManager.getSFXVolume() * 100);
+    }
+
+    @Override
     public VBox getLayout() {
         return layout;
     }
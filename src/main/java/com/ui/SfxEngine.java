@@ -0,0 +1,231 @@
+package com.ui;
+
+import javafx.animation.AnimationTimer;
+import javafx.scene.media.AudioClip;
+
+import javax.sound.sampled.AudioFileFormat;
+import javax.sound.sampled.AudioSystem;
+import java.net.URL;
+
+/**
+ * Sound effects, loaded once and played from a fixed set of voices.
+ *
+ * Every effect is decoded into one {@link AudioClip} by {@link #load}, which may run on a
+ * startup thread; sounds triggered before that are dropped. A trigger only scans the
+ * voice slots and calls {@code play}, so it neither blocks nor allocates. When all voices are
+ * busy, the oldest voice of the lowest priority is stolen if it is not more important than
+ * the new sound; otherwise the new sound is dropped. Must be used from the JavaFX thread.
+ *
+ * Each trigger is also reported as a {@link SoundPlayEvent} to Flight Recorder; when no
+ * recording is running the JIT removes the event object, so triggers still do not allocate.
+ *
+ * The engine also measures itself: time from the last mouse release to the sound trigger,
+ * time spent inside the trigger, and, once {@link #startStallMonitor} is called, FX-thread
+ * stalls (frames more than 50 ms apart).
+ */
+public class SfxEngine {
+
+    public enum Effect {
+        CLICK("/res/click.wav", 0, 2),
+        ERROR("/res/error.wav", 1, 1),
+        SUCCESS("/res/success.wav", 1, 1);
+
+        final String path;
+        final int priority;
+        final int maxVoices;
+
+        Effect(String path, int priority, int maxVoices) {
+            this.path = path;
+            this.priority = priority;
+            this.maxVoices = maxVoices;
+        }
+    }
+
+    private static final int VOICES = 4;
+    private static final long STALL_NANOS = 50_000_000L;
+    private static final long INPUT_WINDOW_NANOS = 1_000_000_000L;
+    private static final Effect[] EFFECTS = Effect.values();
+
+    private final AudioClip[] clips = new AudioClip[EFFECTS.length];
+    private final long[] durations = new long[EFFECTS.length];
+
+    /** Voice slots: which effect is playing and when it ends; an end in the past means free */
+    private final int[] voiceEffect = new int[VOICES];
+    private final long[] voiceStart = new long[VOICES];
+    private final long[] voiceEnd = new long[VOICES];
+
+    private volatile double volume = 0.5;
+    private volatile boolean loaded;
+
+    private long lastInputNanos;
+    private long played, dropped, stolen;
+    private long latencyCount, latencyTotal, latencyMax;
+    private long triggerTotal, triggerMax;
+    private long stalls, stallMax;
+    private AnimationTimer stallMonitor;
+
+    /**
+     * Decodes all effects. Safe to call from a background thread, once.
+     */
+    public void load() {
+        for (Effect effect : EFFECTS) {
+            URL resource = getClass().getResource(effect.path);
+            if (resource == null) {
+                System.out.println("SFX Missing: " + effect.path);
+                continue;
+            }
+            try {
+                clips[effect.ordinal()] = new AudioClip(resource.toExternalForm());
+                durations[effect.ordinal()] = clipNanos(resource);
+            } catch (Exception e) {
+                System.err.println("Error loading SFX " + effect.path + ": " + e.getMessage());
+            }
+        }
+        loaded = true;
+    }
+
+    public boolean isLoaded() {
+        return loaded;
+    }
+
+    /**
+     * Plays an effect on a free (or stolen) voice. Returns false if it was dropped.
+     */
+    public boolean play(Effect effect) {
+        SoundPlayEvent event = new SoundPlayEvent();
+        event.begin();
+        boolean started = trigger(effect, event);
+        if (event.shouldCommit()) {
+            event.effect = effect.name();
+            event.played = started;
+            event.commit();
+        }
+        return started;
+    }
+
+    private boolean trigger(Effect effect, SoundPlayEvent event) {
+        long now = System.nanoTime();
+        if (!loaded) return false;
+        AudioClip clip = clips[effect.ordinal()];
+        if (clip == null) return false;
+
+        int slot = -1;
+        int sameEffect = 0;
+        for (int i = 0; i < VOICES; i++) {
+            if (voiceEnd[i] <= now) {
+                if (slot < 0 || voiceEnd[slot] > now) slot = i;
+            } else if (voiceEffect[i] == effect.ordinal()) {
+                sameEffect++;
+            }
+        }
+        if (sameEffect >= effect.maxVoices || slot < 0) {
+            slot = victim(effect, sameEffect >= effect.maxVoices, now);
+            if (slot < 0) {
+                dropped++;
+                return false;
+            }
+            // AudioClip can only stop all of its instances; that is the voice we are taking over
+            clips[voiceEffect[slot]].stop();
+            stolen++;
+            event.stolen = true;
+        }
+
+        clip.play(volume, 0.0, 1.0, 0.0, effect.priority);
+        voiceEffect[slot] = effect.ordinal();
+        voiceStart[slot] = now;
+        voiceEnd[slot] = now + durations[effect.ordinal()];
+
+        long done = System.nanoTime();
+        played++;
+        triggerTotal += done - now;
+        triggerMax = Math.max(triggerMax, done - now);
+        if (now - lastInputNanos < INPUT_WINDOW_NANOS) {
+            long latency = done - lastInputNanos;
+            latencyCount++;
+            latencyTotal += latency;
+            latencyMax = Math.max(latencyMax, latency);
+            lastInputNanos = 0;
+        }
+        return true;
+    }
+
+    /**
+     * Oldest busy voice that may be replaced: one of the same effect when that effect is at
+     * its voice cap, otherwise one with the lowest priority not above the new sound's.
+     */
+    private int victim(Effect effect, boolean sameEffectOnly, long now) {
+        int best = -1;
+        for (int i = 0; i < VOICES; i++) {
+            if (voiceEnd[i] <= now) continue;
+            Effect playing = EFFECTS[voiceEffect[i]];
+            if (sameEffectOnly ? playing != effect : playing.priority > effect.priority) continue;
+            if (best < 0 || playing.priority < EFFECTS[voiceEffect[best]].priority
+                    || (playing.priority == EFFECTS[voiceEffect[best]].priority && voiceStart[i] < voiceStart[best])) {
+                best = i;
+            }
+        }
+        return best;
+    }
+
+    /** Records a user input, so the next sound can report click-to-sound latency. */
+    public void markInput() {
+        lastInputNanos = System.nanoTime();
+    }
+
+    /**
+     * Starts counting frames that arrive more than 50 ms after the previous one. The monitor
+     * keeps the JavaFX pulse running at display rate even when nothing animates, so it is
+     * meant for debugging sessions only.
+     */
+    public void startStallMonitor() {
+        if (stallMonitor != null) return;
+        stallMonitor = new AnimationTimer() {
+            private long last;
+
+            @Override
+            public void handle(long now) {
+                if (last != 0 && now - last > STALL_NANOS) {
+                    stalls++;
+                    stallMax = Math.max(stallMax, now - last);
+                }
+                last = now;
+            }
+        };
+        stallMonitor.start();
+    }
+
+    public void stopStallMonitor() {
+        if (stallMonitor != null) {
+            stallMonitor.stop();
+            stallMonitor = null;
+        }
+    }
+
+    public void setVolume(double volume) {
+        this.volume = volume;
+    }
+
+    public double getVolume() {
+        return volume;
+    }
+
+    public void logMetrics() {
+        System.out.printf("SFX: %d played, %d stolen, %d dropped; trigger avg %.3f ms max %.3f ms%n",
+                played, stolen, dropped, played == 0 ? 0 : triggerTotal / 1e6 / played, triggerMax / 1e6);
+        System.out.printf("SFX: click-to-sound avg %.2f ms max %.2f ms (%d samples); FX stalls %d, longest %.1f ms%n",
+                latencyCount == 0 ? 0 : latencyTotal / 1e6 / latencyCount, latencyMax / 1e6, latencyCount,
+                stalls, stallMax / 1e6);
+    }
+
+    private static long clipNanos(URL resource) {
+        try {
+            AudioFileFormat format = AudioSystem.getAudioFileFormat(resource);
+            if (format.getFrameLength() > 0 && format.getFormat().getFrameRate() > 0) {
+                return (long) (format.getFrameLength() / (double) format.getFormat().getFrameRate() * 1e9);
+            }
+        } catch (Exception e) {
+            // Not a format javax.sound understands; fall back to a typical UI sound length
+        }
+        return 500_000_000L;
+    }
+}
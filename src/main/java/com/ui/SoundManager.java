@@ -1,15 +1,14 @@
 package com.ui;
 
-import javafx.scene.media.AudioClip;
 import javafx.scene.media.Media;
 import javafx.scene.media.MediaPlayer;
 import java.net.URL;
 
 public class SoundManager {
 
-    private MediaPlayer musicPlayer;
-    private double musicVolume = 0.5; // Default 50%
-    private double sfxVolume = 0.5;   // Default 50%
+    private volatile MediaPlayer musicPlayer;
+    private volatile double musicVolume = 0.5; // Default 50%
+    private final SfxEngine sfx = new SfxEngine();
 
     public void playBackgroundMusic(String fileName) {
         try {
@@ -56,27 +55,21 @@ public class SoundManager {
     }
 
     public void setSFXVolume(double volume) {
-        this.sfxVolume = volume;
+        sfx.setVolume(volume);
     }
 
     public double getSFXVolume() {
-        return sfxVolume;
+        return sfx.getVolume();
     }
 
-    public void playSFX(String fileName) {
-        try {
-            URL resource = getClass().getResource(fileName);
-            if (resource == null) {
-                System.out.println("SFX Missing: " + fileName);
-                return;
-            }
-
-            AudioClip clip = new AudioClip(resource.toExternalForm());
-            clip.setVolume(sfxVolume); // Use stored SFX volume
-            clip.play();
+    /**
+     * Plays a preloaded effect; never loads or decodes anything.
+     */
+    public void playSFX(SfxEngine.Effect effect) {
+        sfx.play(effect);
+    }
 
-        } catch (Exception e) {
-            e.printStackTrace();
-        }
+    public SfxEngine getSfxEngine() {
+        return sfx;
     }
 }
\ No newline at end of file
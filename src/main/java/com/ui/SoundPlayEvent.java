@@ -0,0 +1,26 @@
+package com.ui;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * JFR event for one sound effect trigger, played or dropped.
+ */
+@Name("astac.SoundPlay")
+@Label("Sound Play")
+@Category({"ASTAC", "Audio"})
+@Description("A sound effect trigger and how the voice pool handled it")
+@StackTrace(false)
+final class SoundPlayEvent extends jdk.jfr.Event {
+    @Label("Effect")
+    String effect;
+
+    @Label("Played")
+    boolean played;
+
+    @Label("Stole Voice")
+    boolean stolen;
+}
@@ -0,0 +1,99 @@
+package com.ui;
+
+import javafx.animation.AnimationTimer;
+import javafx.application.Platform;
+
+import java.lang.management.ManagementFactory;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs startup work as named stages after the first frame is up. A stage starts once the
+ * stages it depends on are done, on a small background pool or on the FX thread. Every stage
+ * logs how long it took and when it finished, measured from JVM start, so time-to-interactive
+ * (first frame of the menu) and time-to-playable can be tracked.
+ *
+ * A failing stage is logged and counted as done, so stages after it still run.
+ */
+public class StartupPipeline {
+    private final ExecutorService pool;
+    private final Map<String, CompletableFuture<Void>> stages = new LinkedHashMap<>();
+
+    public StartupPipeline() {
+        AtomicInteger threads = new AtomicInteger();
+        pool = Executors.newFixedThreadPool(Math.max(2, Math.min(4, Runtime.getRuntime().availableProcessors())), r -> {
+            Thread t = new Thread(r, "startup-" + threads.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    /** Adds a stage that runs on the background pool. */
+    public CompletableFuture<Void> stage(String name, Runnable work, String... dependsOn) {
+        return add(name, work, pool, dependsOn);
+    }
+
+    /** Adds a stage that runs on the JavaFX thread, e.g. to install what a background stage loaded. */
+    public CompletableFuture<Void> fxStage(String name, Runnable work, String... dependsOn) {
+        return add(name, work, Platform::runLater, dependsOn);
+    }
+
+    public CompletableFuture<Void> get(String name) {
+        CompletableFuture<Void> stage = stages.get(name);
+        if (stage == null) throw new IllegalArgumentException("No startup stage " + name);
+        return stage;
+    }
+
+    public boolean isDone(String name) {
+        return get(name).isDone();
+    }
+
+    /**
+     * Completes when every stage added so far is done; logs the total and shuts the pool down.
+     */
+    public CompletableFuture<Void> all() {
+        return CompletableFuture.allOf(stages.values().toArray(new CompletableFuture<?>[0])).thenRun(() -> {
+            System.out.printf("Startup: all %d stages done at %d ms%n", stages.size(), uptime());
+            pool.shutdown();
+        });
+    }
+
+    /** Logs time-to-interactive on the next rendered pulse. Call right after the stage is shown. */
+    public void markInteractive() {
+        new AnimationTimer() {
+            @Override
+            public void handle(long now) {
+                stop();
+                System.out.printf("Startup: interactive (first frame) at %d ms%n", uptime());
+            }
+        }.start();
+    }
+
+    private CompletableFuture<Void> add(String name, Runnable work, Executor executor, String... dependsOn) {
+        CompletableFuture<?>[] deps = new CompletableFuture<?>[dependsOn.length];
+        for (int i = 0; i < deps.length; i++) deps[i] = get(dependsOn[i]);
+
+        CompletableFuture<Void> stage = CompletableFuture.allOf(deps).thenRunAsync(() -> {
+            long start = System.nanoTime();
+            try {
+                work.run();
+            } catch (Exception e) {
+                System.err.println("Startup stage " + name + " failed: " + e);
+                e.printStackTrace();
+            }
+            System.out.printf("Startup: %-10s %7.1f ms, done at %d ms [%s]%n",
+                    name, (System.nanoTime() - start) / 1e6, uptime(), Thread.currentThread().getName());
+        }, executor);
+        stages.put(name, stage);
+        return stage;
+    }
+
+    private static long uptime() {
+        return ManagementFactory.getRuntimeMXBean().getUptime();
+    }
+}
@@ -1,7 +1,5 @@
 package com.ui;
 
-import javafx.animation.KeyFrame;
-import javafx.animation.Timeline;
 import javafx.geometry.Pos;
 import javafx.scene.control.Button;
 import javafx.scene.control.Label;
@@ -12,61 +10,37 @@ import javafx.scene.layout.StackPane;
 import javafx.scene.layout.VBox;
 import javafx.scene.paint.Color;
 import javafx.scene.shape.Rectangle;
-import javafx.util.Duration;
 
-import java.util.Random;
-import java.util.Set;
+import logic.GameCatalog;
+
+import logic.PlayerSession;
+
 
 /**
  * Subject selection screen showing available programming topics.
  * Completed subjects are disabled and marked as done.
  */
-public class SubjectSelection {
+public class SubjectSelection implements Screen {
     private final StackPane root;
     private final VBox contentLayout;
     private final WindowManager manager;
+    private final BacklightFlicker flicker;
 
 
-    private final String[] subjects = {
-            "INTRO",           // Intro to Paradigms
-            "PROCEDURAL",      // Procedural Programming
-            "FUNCTIONAL",      // Functional Programming
-            "OOP",             // Object-Oriented Programming
-            "IMP_DEC",         // Imperative vs Declarative
-            "EVENT_DRIVEN",    // Event-Driven Programming
-            "MAPPINGS"         // Component Mappings
-    };
+    private final String[] subjects = GameCatalog.SUBJECTS;
+    private final Button[] subjectButtons = new Button[subjects.length];
+    private String buttonStyle;
 
-    public SubjectSelection(WindowManager manager, Set<String> completedSubjects) {
+    public SubjectSelection(WindowManager manager) {
         this.manager = manager;
         root = new StackPane();
-        Rectangle backlight = new Rectangle();
-        backlight.setFill(Color.WHITE);
-        backlight.setOpacity(0.2);
-        backlight.widthProperty().bind(root.widthProperty());
-        backlight.heightProperty().bind(root.heightProperty());
-
-        Random rand = new Random();
-        Timeline backgroundFlicker = new Timeline(
-            new KeyFrame(Duration.millis(50), e -> {
-                double chance = rand.nextDouble(); 
-
-                if (chance < 0.01) {
-                    backlight.setOpacity(0.4 + (rand.nextDouble() * 0.2)); 
-                } else if (chance < 0.05) {
-                    backlight.setOpacity(0.05); 
-                } else {
-                    backlight.setOpacity(0.2);
-                }
-            })
-        );
-        backgroundFlicker.setCycleCount(Timeline.INDEFINITE);
-        backgroundFlicker.play();
+        flicker = new BacklightFlicker(root, manager.getAnimationScheduler());
+        Rectangle backlight = flicker.getNode();
 
         contentLayout = new VBox(30);
         contentLayout.setAlignment(Pos.CENTER);
 
-        Image bgImage = new Image(getClass().getResourceAsStream("/res/hologram.png"));
+        Image bgImage = AssetCache.image("/res/hologram.png");
         ImageView bgView = new ImageView(bgImage);
         bgView.setSmooth(false);
         bgView.setPreserveRatio(true);
@@ -87,15 +61,9 @@ public class SubjectSelection {
             String subjectName = subjects[i];
             Button btn = Theme.createStyledButton(subjectName);
             btn.setPrefSize(200, 60);
-
-            if (completedSubjects.contains(subjectName)) {
-                btn.setDisable(true);
-                btn.setText(subjectName + " (DONE)");
-                btn.setStyle("-fx-background-color: #111; -fx-text-fill: #555; -fx-border-color: #555;");
-            } else {
-                btn.setOnAction(e -> manager.onSubjectSelected(subjectName));
-            }
-
+            btn.setOnAction(e -> manager.onSubjectSelected(subjectName));
+            buttonStyle = btn.getStyle();
+            subjectButtons[i] = btn;
 
             grid.add(btn, i % 3, i / 3);
         }
@@ -103,6 +71,36 @@ public class SubjectSelection {
         root.getChildren().addAll(backlight, bgView, contentLayout);
     }
 
+    /**
+     * Disables and marks the subjects the player has already completed.
+     */
+    @Override
+    public void refresh(PlayerSession session) {
+        for (int i = 0; i < subjects.length; i++) {
+            boolean done = session.isSubjectCompleted(subjects[i]);
+            Button btn = subjectButtons[i];
+            btn.setDisable(done);
+            btn.setText(done ? subjects[i] + " (DONE)" : subjects[i]);
+            btn.setStyle(done ? "-fx-background-color: #111; -fx-text-fill: #555; -fx-border-color: #555;" : buttonStyle);
+        }
+    }
+
+    @Override
+    public void onShow() {
+        flicker.getTask().resume();
+    }
+
+    @Override
+    public void onHide() {
+        flicker.getTask().pause();
+    }
+
+    @Override
+    public void dispose() {
+        flicker.getTask().cancel();
+    }
+
+    @Override
     public StackPane getLayout() {
         return root;
     }
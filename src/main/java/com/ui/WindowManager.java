@@ -1,26 +1,47 @@
 package com.ui;
 
+import data.GameJournal;
 import data.JsonDataLoader;
-import logic.Chatbot;
+import data.Leaderboard;
+import data.PracticeDeck;
+import data.QuestionAnalytics;
+import data.QuestionBank;
+import data.QuestionSampler;
+import data.WarmStartCache;
+import logic.GameCatalog;
+import logic.GameRandom;
 import logic.GameSession;
+import logic.PlayerSession;
 import logic.Question;
+import logic.QuestionSource;
+import logic.ReviewSchedule;
+import javafx.application.Platform;
 import javafx.geometry.Pos;
 import javafx.scene.Parent;
 import javafx.scene.Scene;
 import javafx.scene.control.Button;
 import javafx.scene.control.Label;
+import javafx.scene.input.MouseEvent;
 import javafx.scene.layout.StackPane;
 import javafx.scene.layout.VBox;
 import javafx.scene.paint.Color;
 import javafx.scene.shape.Rectangle;
 import javafx.stage.Stage;
 
-import java.util.*;
-import java.util.stream.Collectors;
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
 
 /**
- * Central manager for window navigation and game state.
- * Handles scene transitions, global game state, and command usage tracking.
+ * Central manager for window navigation.
+ * Handles scene transitions and drives the player's {@link PlayerSession}, which owns the game state.
+ * Screens are built on first use and kept; navigating to one only refreshes it from the session.
  */
 public class WindowManager {
     private final Stage stage;
@@ -28,20 +49,53 @@ public class WindowManager {
     private final StackPane rootStack;
     private final StackPane contentLayer;
     private JsonDataLoader dataLoader;
-
-    private Chatbot currentChatbot;
-    private Set<String> completedSubjects;
-    private Set<String> usedBots;
-
-    private int globalScore;
-    private boolean isAskUsed = false;
-    private boolean isCopyUsed = false;
-    private boolean isSaveUsed = false;
-
-    // NEW: Track if a game is currently running to allow "Continue"
-    private boolean gameActive = false;
+    private final PlayerSession session = new PlayerSession(1);
+    /** Progress log for resuming after a restart; null until opened, or if it cannot be */
+    private volatile GameJournal journal;
+    /** Results shared by every game instance on this machine; null until opened, or if it cannot be */
+    private volatile Leaderboard leaderboard;
+    /** Per-question answer statistics; null until started, or when disabled with -Dastac.analytics=false */
+    private volatile QuestionAnalytics analytics;
+    /** Numbers this process's runs for analytics; a seed cannot, as a replay or daily run repeats it */
+    private long analyticsRun;
+    /** Whether this run draws its questions by analytics weight, so its seed does not replay it */
+    private boolean weightedRun;
+    /** Weighted draws over the current bank snapshot; rebuilt when the snapshot changes */
+    private volatile QuestionSampler sampler;
+    /** Card numbers and per-player review schedules for practice mode; null until opened, or if it cannot be */
+    private volatile PracticeDeck practiceDeck;
+    /** Parsed bank and decoded images kept between launches; null when disabled with -Dastac.warmCache=false */
+    private WarmStartCache warmCache;
+    /** This player's schedule, loaded on the first practice session */
+    private ReviewSchedule practiceSchedule;
+
+    /** -Dastac.debug=true turns on self-measurement and prints usage dumps at each new game */
+    private static final boolean DEBUG = Boolean.getBoolean("astac.debug");
+
+    /** Cards per practice session, and how many of them may be new */
+    private static final int PRACTICE_SIZE = 10;
+    private static final int PRACTICE_NEW = 5;
+
+    private MainMenu mainMenu;
+    private ChatbotSelection chatbotSelection;
+    private SubjectSelection subjectSelection;
+    private GameUI gameUI;
+    private Screen currentScreen;
+    private final AnimationScheduler animationScheduler = new AnimationScheduler();
+
+    /** Settings and guide are seldom visited, so at most this many of them are kept around */
+    private static final int RARE_SCREEN_CACHE_SIZE = 1;
+    private final Map<Class<?>, Screen> rareScreens = new LinkedHashMap<>(4, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Class<?>, Screen> eldest) {
+            if (size() <= RARE_SCREEN_CACHE_SIZE) return false;
+            if (eldest.getValue() != currentScreen) eldest.getValue().dispose();
+            return true;
+        }
+    };
 
     private SoundManager soundManager;
+    private final StartupPipeline startup = new StartupPipeline();
 
     public WindowManager(Stage stage) {
         this.stage = stage;
@@ -57,18 +111,229 @@ public class WindowManager {
 
         this.stage.setScene(mainScene);
 
-        new CursorManager(mainScene);
         soundManager = new SoundManager();
+        mainScene.addEventFilter(MouseEvent.MOUSE_RELEASED, e -> soundManager.getSfxEngine().markInput());
+        // Its timer keeps the pulse running at display rate, so only when asked for
+        if (DEBUG) soundManager.getSfxEngine().startStallMonitor();
 
+        openWarmCache();
         dataLoader = new JsonDataLoader();
-        dataLoader.loadQuestionsFromDirectory("MCQ");
-        soundManager.playBackgroundMusic("/res/theme.mp3");
+        dataLoader.setWarmCache(warmCache);
+        dataLoader.setCompactStorage(Boolean.getBoolean("astac.compactBank"));
+        dataLoader.setCachedSubjects(Integer.getInteger("astac.cachedSubjects", 3));
+
+        // Everything heavy loads in the background while the menu is already up; PLAY enables
+        // once the questions are in
+        startup.stage("questions", this::loadQuestions);
+        startup.stage("sfx", () -> soundManager.getSfxEngine().load());
+        startup.stage("images", this::preloadImages);
+        startup.fxStage("cursor", () -> new CursorManager(mainScene), "images");
+        startup.stage("music", () -> soundManager.playBackgroundMusic("/res/theme.mp3"), "sfx");
+        startup.stage("journal", this::openJournal);
+        startup.fxStage("resume", this::resumeGame, "journal");
+        startup.stage("leaderboard", this::openLeaderboard);
+        startup.stage("practice", this::openPracticeDeck);
+        if (Boolean.parseBoolean(System.getProperty("astac.analytics", "true"))) {
+            startup.stage("analytics", this::startAnalytics);
+        }
+        CompletableFuture.allOf(startup.get("questions"), startup.get("resume")).thenRunAsync(() -> {
+            if (currentScreen == mainMenu && mainMenu != null) mainMenu.refresh(session);
+        }, Platform::runLater);
+        startup.all();
+    }
+
+    private void loadQuestions() {
+        String questionDir = System.getProperty("astac.questionDir");
+        if (questionDir != null) {
+            // Editable JSON on disk: load it directly and hot-reload it as files change
+            try {
+                dataLoader.loadQuestionsFromPath(Paths.get(questionDir));
+                dataLoader.startWatching(Paths.get(questionDir));
+            } catch (IOException e) {
+                System.err.println("Error loading questions from " + questionDir + ": " + e.getMessage());
+            }
+        } else if (!dataLoader.loadManifest("MCQ-packs/manifest.tsv") && !dataLoader.loadPrecompiledBank("MCQ.bank")) {
+            // Only reached when running from an unbuilt tree
+            dataLoader.loadQuestionsFromDirectory("MCQ");
+        }
+    }
+
+    /**
+     * Opens the warm-start cache, by default in ~/.astac/cache; -Dastac.cacheDir=<dir> overrides
+     * it. Must run before anything decodes images, so the first screens benefit too.
+     */
+    private void openWarmCache() {
+        if (!Boolean.parseBoolean(System.getProperty("astac.warmCache", "true"))) return;
+        String dir = System.getProperty("astac.cacheDir");
+        try {
+            warmCache = WarmStartCache.open(dir != null ? Paths.get(dir)
+                    : Paths.get(System.getProperty("user.home"), ".astac", "cache"));
+            AssetCache.setWarmCache(warmCache);
+        } catch (IOException e) {
+            System.err.println("Warm-start cache unavailable: " + e.getMessage());
+        }
+    }
+
+    /** Starts question analytics, by default in ~/.astac; -Dastac.analytics.file=<file> overrides it. */
+    private void startAnalytics() {
+        String file = System.getProperty("astac.analytics.file");
+        analytics = QuestionAnalytics.start(file != null ? Paths.get(file)
+                : Paths.get(System.getProperty("user.home"), ".astac", "analytics.bin"));
+    }
+
+    /** Opens the progress journal, by default in ~/.astac; -Dastac.journal=<file> overrides it. */
+    private void openJournal() {
+        String file = System.getProperty("astac.journal");
+        try {
+            journal = GameJournal.open(file != null ? Paths.get(file)
+                    : Paths.get(System.getProperty("user.home"), ".astac", "journal.bin"));
+        } catch (IOException e) {
+            System.err.println("Game progress will not be saved: " + e.getMessage());
+        }
+    }
+
+    /** Opens the leaderboard, by default in ~/.astac; -Dastac.leaderboard=<file> overrides it. */
+    private void openLeaderboard() {
+        String file = System.getProperty("astac.leaderboard");
+        try {
+            leaderboard = Leaderboard.open(file != null ? Paths.get(file)
+                    : Paths.get(System.getProperty("user.home"), ".astac", "leaderboard.bin"));
+        } catch (IOException e) {
+            System.err.println("Leaderboard unavailable: " + e.getMessage());
+        }
+    }
+
+    /** Opens the practice deck, by default in ~/.astac/practice; -Dastac.practiceDir=<dir> overrides it. */
+    private void openPracticeDeck() {
+        String dir = System.getProperty("astac.practiceDir");
+        try {
+            practiceDeck = PracticeDeck.open(dir != null ? Paths.get(dir)
+                    : Paths.get(System.getProperty("user.home"), ".astac", "practice"));
+        } catch (IOException e) {
+            System.err.println("Practice mode unavailable: " + e.getMessage());
+        }
+    }
+
+    private static String playerName() {
+        return System.getProperty("astac.player", System.getProperty("user.name"));
+    }
+
+    /**
+     * Stores the final score of the current run and returns a line for the result dialog,
+     * or an empty string if there is no leaderboard. The player name comes from
+     * -Dastac.player and defaults to the OS user.
+     */
+    public String recordResult(int score, boolean won) {
+        if (analytics != null) analytics.recordGameEnd(analyticsRun, score);
+        if (leaderboard == null) return "";
+        try {
+            Leaderboard.Standing standing = leaderboard.add(new Leaderboard.Result(playerName(), score, won,
+                    session.getRandom().getSeed(), session.getSubjectOrder(), session.getBotOrder(),
+                    System.currentTimeMillis()));
+            return "\nRank: #" + standing.rank() + " of " + standing.total()
+                    + " (#" + standing.subjectOrderRank() + " of " + standing.subjectOrderTotal() + " in this subject order)";
+        } catch (IOException e) {
+            System.err.println("Error saving result: " + e.getMessage());
+            return "";
+        }
+    }
+
+    /** Puts the run that was in progress when the game last closed back into the session. */
+    private void resumeGame() {
+        PlayerSession.Progress saved = journal == null ? null : journal.recovered();
+        if (saved == null || !saved.active() || session.isGameActive()) return;
+        session.restore(saved);
+        analyticsRun++;
+        weightedRun = System.getProperty("astac.seed") == null && analytics != null;
+        System.out.println("Resumed game " + session.getRandom().getSeedCode() + " with "
+                + session.getCompletedCount() + " subjects done");
+    }
+
+    /** Flushes the journal; call when the application exits. */
+    public void shutdown() {
+        if (journal != null) journal.close();
+        if (practiceDeck != null) {
+            if (practiceSchedule != null) practiceDeck.save(playerName(), practiceSchedule);
+            practiceDeck.close();
+        }
+        if (analytics != null) {
+            analytics.close();
+            analytics.logSummary();
+        }
+        if (leaderboard != null) {
+            try {
+                leaderboard.close();
+            } catch (IOException e) {
+                System.err.println("Error closing leaderboard: " + e.getMessage());
+            }
+        }
+        if (warmCache != null) {
+            warmCache.close();
+            warmCache.logUsage();
+        }
+    }
+
+    /** Decodes and slices the images of the screens after the menu. */
+    private void preloadImages() {
+        AssetCache.preload("/res/hologram.png", "/res/card.png", "/res/choice.png");
+        for (String bot : GameCatalog.BOT_NAMES) AssetCache.botAvatar(bot);
+        AssetCache.commandIcon(AssetCache.ICON_ASK);
+        AssetCache.commandIcon(AssetCache.ICON_COPY);
+        AssetCache.commandIcon(AssetCache.ICON_SAVE);
+        AssetCache.region("/res/textbx.png", 0, 0, 800, 150);
+        AssetCache.sprite("/res/mouse.png", 1, 32);
+        AssetCache.sprite("/res/mouse.png", 2, 32);
+    }
+
+    /** Logs time-to-interactive once the first frame is on screen. */
+    public void markShown() {
+        startup.markInteractive();
+    }
+
+    /** True once the question bank has loaded and any saved game is restored. */
+    public boolean isGameReady() {
+        return startup.isDone("questions") && startup.isDone("resume");
     }
 
     public SoundManager getSoundManager() {
         return soundManager;
     }
 
+    public AnimationScheduler getAnimationScheduler() {
+        return animationScheduler;
+    }
+
+    private void show(Screen screen, ScreenTransitionEvent event) {
+        long start = System.nanoTime();
+        screen.refresh(session);
+        event.refreshTime = System.nanoTime() - start;
+        activate(screen);
+        commit(event, screen);
+    }
+
+    private static void commit(ScreenTransitionEvent event, Screen screen) {
+        if (!event.shouldCommit()) return;
+        event.screen = screen.getClass().getSimpleName();
+        event.commit();
+    }
+
+    /** Puts an already refreshed screen on stage, hiding the previous one. */
+    private void activate(Screen screen) {
+        if (currentScreen != screen && currentScreen != null) currentScreen.onHide();
+        setRoot(screen.getLayout());
+        if (currentScreen != screen) screen.onShow();
+        currentScreen = screen;
+    }
+
+    private Screen rareScreen(Class<? extends Screen> type, Supplier<Screen> factory, ScreenTransitionEvent event) {
+        Screen screen = rareScreens.get(type);
+        if (screen == null) {
+            screen = event.build(factory);
+            rareScreens.put(type, screen);
+        }
+        return screen;
+    }
+
     private void setRoot(Parent content) {
         contentLayer.getChildren().clear();
         contentLayer.getChildren().add(content);
@@ -105,21 +370,22 @@ public class WindowManager {
     }
 
     public void showMainMenu() {
+        ScreenTransitionEvent event = ScreenTransitionEvent.start();
         playClickSound();
-        MainMenu menu = new MainMenu(this);
-        setRoot(menu.getLayout());
+        if (mainMenu == null) mainMenu = event.build(() -> new MainMenu(this));
+        show(mainMenu, event);
     }
 
     public void showSettings() {
+        ScreenTransitionEvent event = ScreenTransitionEvent.start();
         playClickSound();
-        SettingsScreen screen = new SettingsScreen(this);
-        setRoot(screen.getLayout());
+        show(rareScreen(SettingsScreen.class, () -> new SettingsScreen(this), event), event);
     }
 
     public void showGuide() {
+        ScreenTransitionEvent event = ScreenTransitionEvent.start();
         playClickSound();
-        GuideScreen screen = new GuideScreen(this);
-        setRoot(screen.getLayout());
+        show(rareScreen(GuideScreen.class, () -> new GuideScreen(this), event), event);
     }
 
     /**
@@ -127,14 +393,21 @@ public class WindowManager {
      */
     public void startNewGame() {
         playClickSound();
-        completedSubjects = new HashSet<>();
-        usedBots = new HashSet<>();
-        globalScore = 0;
-        isAskUsed = false;
-        isCopyUsed = false;
-        isSaveUsed = false;
 
-        gameActive = true; // Mark game as active
+        // -Dastac.seed=<code> replays a reported game, -Dastac.seed=daily plays the daily challenge
+        String seed = System.getProperty("astac.seed");
+        session.startNewGame(seed == null ? GameRandom.newGame() : GameRandom.parse(seed));
+        analyticsRun++;
+        // Fixed for the whole run, so the seed shown at the end is a replay code or not shown at all
+        weightedRun = seed == null && analytics != null;
+        System.out.println("Game seed: " + session.getRandom().getSeedCode());
+        if (journal != null) journal.gameStarted(session.progress());
+        if (DEBUG) AssetCache.logUsage();
+        if (DEBUG) System.out.println("Backgrounds: ~" + BackgroundAnimation.estimatedBytes() / 1024 + " KB decoded");
+        if (DEBUG) System.out.println("Animations: " + animationScheduler.activeCount() + " active of " + animationScheduler.size());
+        if (DEBUG) soundManager.getSfxEngine().logMetrics();
+        QuestionSampler current = sampler;
+        if (current != null) CompletableFuture.runAsync(current::reweigh);
 
         showChatbotSelection();
     }
@@ -144,7 +417,7 @@ public class WindowManager {
      */
     public void continueGame() {
         playClickSound();
-        if (completedSubjects == null) {
+        if (!session.isGameActive()) {
             startNewGame(); // Fallback if something is wrong
         } else {
             showChatbotSelection();
@@ -152,96 +425,194 @@ public class WindowManager {
     }
 
     /**
-     * Called when the game is lost or fully completed to reset the active state.
+     * Called as soon as the game is lost: ends the run, journals that before the GAME OVER
+     * dialog shows (so a run already on the leaderboard is never resumed and ranked again) and
+     * stores its final score. Returns the leaderboard line for the dialog.
      */
-    public void endGame() {
-        gameActive = false;
-        showMainMenu();
+    public String endGame(int score) {
+        session.endGame();
+        if (journal != null) journal.gameEnded();
+        return recordResult(score, false);
     }
 
     public boolean isGameActive() {
-        return gameActive;
+        return session.isGameActive();
+    }
+
+    /**
+     * The seed line for a result dialog, or an empty string for a run whose questions were
+     * drawn by analytics weight: replaying its seed would draw other questions.
+     */
+    public String seedLine() {
+        return weightedRun ? "" : "\nSeed: " + session.getRandom().getSeedCode();
     }
 
     public void showChatbotSelection() {
+        ScreenTransitionEvent event = ScreenTransitionEvent.start();
         playClickSound();
-        ChatbotSelection screen = new ChatbotSelection(this, usedBots);
-        setRoot(screen.getLayout());
+        if (chatbotSelection == null) chatbotSelection = event.build(() -> new ChatbotSelection(this));
+        show(chatbotSelection, event);
     }
 
     public void showSubjectSelection() {
+        ScreenTransitionEvent event = ScreenTransitionEvent.start();
         playClickSound();
-        SubjectSelection screen = new SubjectSelection(this, completedSubjects);
-        setRoot(screen.getLayout());
+        if (subjectSelection == null) subjectSelection = event.build(() -> new SubjectSelection(this));
+        show(subjectSelection, event);
     }
 
-    public void onChatbotSelected(Chatbot bot) {
-        this.currentChatbot = bot;
-        showSubjectSelection();
+    public void onChatbotSelected(String botName) {
+        if (session.selectBot(botName) != null) {
+            showSubjectSelection();
+        }
     }
 
     public void onSubjectSelected(String subject) {
+        ScreenTransitionEvent event = ScreenTransitionEvent.start();
         try {
-            List<Question> roundQuestions = getQuestionsForSubject(subject);
-
-            if (roundQuestions.isEmpty()) {
-                roundQuestions.add(new Question("Dummy Q1 (" + subject + ")", null, Arrays.asList("A","B","C","D"), 0, subject, Question.QuestionType.THEORETICAL));
-                roundQuestions.add(new Question("Dummy Q2 (" + subject + ")", null, Arrays.asList("A","B","C","D"), 0, subject, Question.QuestionType.THEORETICAL));
-            }
+            // Sampled from the current snapshot; a later hot reload never touches this round's list
+            GameSession roundSession = session.startRound(subject, questionSource());
+            if (roundSession == null) return;
 
-            GameSession roundSession = new GameSession(currentChatbot, roundQuestions, this);
-            currentChatbot.revealStats();
+            if (gameUI == null) gameUI = event.build(() -> new GameUI(animationScheduler));
+            long refreshStart = System.nanoTime();
+            gameUI.refresh(session);
+            new GameController(roundSession, gameUI, this);
+            event.refreshTime = System.nanoTime() - refreshStart;
 
-            GameUI gameView = new GameUI(currentChatbot);
-            new GameController(roundSession, gameView, this);
-
-            setRoot(gameView.getRoot());
+            activate(gameUI);
+            commit(event, gameUI);
 
         } catch (Exception e) {
             e.printStackTrace();
         }
     }
 
-    public void finishRound(String subject, int score) {
-        globalScore += score;
-        completedSubjects.add(subject);
+    /**
+     * Where round questions come from. Draws are weighted by the analytics (fresh questions
+     * first, known too-easy or too-hard ones less often) and -Dastac.programmingShare sets the
+     * programming/theory mix. A replay or daily challenge (-Dastac.seed), or a run started
+     * before analytics were up, keeps uniform draws so the same seed yields the same questions
+     * on every machine.
+     */
+    private QuestionSource questionSource() {
+        QuestionBank bank = dataLoader.snapshot();
+        if (!weightedRun || analytics == null) return bank::sample;
+
+        QuestionSampler current = sampler;
+        if (current == null || current.getBank() != bank) {
+            current = new QuestionSampler(bank, analytics::weight);
+            current.setProgrammingShare(Double.parseDouble(System.getProperty("astac.programmingShare", "NaN")));
+            sampler = current;
+        }
+        return current;
+    }
 
-        if (currentChatbot != null) {
-            usedBots.add(currentChatbot.getName());
+    /**
+     * Starts a practice session with the player's due cards, topped up with new ones. Practice
+     * leaves a game in progress untouched.
+     */
+    public void startPractice() {
+        playClickSound();
+        PracticeDeck deck = practiceDeck;
+        if (deck == null) {
+            showCustomAlert("PRACTICE", "Practice mode is unavailable.", null);
+            return;
+        }
+        ScreenTransitionEvent event = ScreenTransitionEvent.start();
+        int now = ReviewSchedule.minuteOf(System.currentTimeMillis());
+        List<Question> questions = new ArrayList<>(PRACTICE_SIZE);
+        int[] cards = new int[PRACTICE_SIZE];
+        try {
+            deck.sync(dataLoader.snapshot());
+            if (practiceSchedule == null) practiceSchedule = deck.load(playerName());
+            practiceSchedule.ensureCapacity(deck.size());
+
+            // Cards whose question has left the bank are skipped but keep their place, in case it comes back
+            for (int card : practiceSchedule.due(now, PRACTICE_SIZE, deck::has)) {
+                cards[questions.size()] = card;
+                questions.add(deck.question(card));
+            }
+            int fresh = Math.min(PRACTICE_NEW, PRACTICE_SIZE - questions.size());
+            for (int card : practiceSchedule.introduce(now, fresh, deck::has)) {
+                cards[questions.size()] = card;
+                questions.add(deck.question(card));
+            }
+        } catch (IOException e) {
+            System.err.println("Error loading practice schedule: " + e.getMessage());
+            showCustomAlert("PRACTICE", "Your practice schedule could not be loaded.", null);
+            return;
         }
 
-        if (completedSubjects.size() >= 7) {
-            int percent = (int) ((globalScore / 14.0) * 100);
+        if (questions.isEmpty()) {
+            int next = practiceSchedule.peek();
+            String when = next < 0 ? "when new questions are added"
+                    : "in " + PracticeController.formatMinutes(Math.max(1, practiceSchedule.dueMinute(next) - now));
+            showCustomAlert("ALL CAUGHT UP", "Nothing is due. Come back " + when + ".", null);
+            return;
+        }
+
+        if (gameUI == null) gameUI = event.build(() -> new GameUI(animationScheduler));
+        long refreshStart = System.nanoTime();
+        new PracticeController(GameSession.practice(questions), Arrays.copyOf(cards, questions.size()),
+                practiceSchedule, gameUI, this);
+        event.refreshTime = System.nanoTime() - refreshStart;
+        activate(gameUI);
+        commit(event, gameUI);
+    }
 
-            String msg = "Final Score: " + globalScore + "/14 (" + percent + "%)\n";
+    /** Saves the reviews of the finished practice session and returns to the menu. */
+    public void finishPractice(int correct, int total) {
+        practiceDeck.save(playerName(), practiceSchedule);
+        int now = ReviewSchedule.minuteOf(System.currentTimeMillis());
+        int due = practiceSchedule.dueCount(now, practiceDeck::has);
+        int next = practiceSchedule.peek();
+        String msg = correct + " of " + total + " correct.\n";
+        if (due > 0) msg += due + " more cards are due now.";
+        else if (next >= 0) msg += "Next review in " + PracticeController.formatMinutes(Math.max(1, practiceSchedule.dueMinute(next) - now)) + ".";
+        showCustomAlert("PRACTICE COMPLETE", msg, this::showMainMenu);
+    }
+
+    /**
+     * Banks the finished round and moves on to the next bot, or shows the victory screen.
+     */
+    public void finishRound() {
+        boolean won = session.completeRound();
+        if (journal != null) journal.roundCompleted(session.progress());
+        if (won) {
+            int globalScore = session.getGlobalScore();
+            int percent = (int) ((globalScore / (double) GameCatalog.TOTAL_QUESTIONS) * 100);
+
+            String msg = "Final Score: " + globalScore + "/" + GameCatalog.TOTAL_QUESTIONS + " (" + percent + "%)\n";
             if (percent == 100) msg += "PERFECT SCORE! You are Smarter than a Chatbot!";
             else msg += "You survived, but are you smarter?";
+            msg += seedLine();
+            msg += recordResult(globalScore, true);
 
-            // Game Completed - Reset Active Flag
-            gameActive = false;
             showCustomAlert("VICTORY", msg, this::showMainMenu);
         } else {
             showChatbotSelection();
         }
     }
 
-    public boolean isAskUsed() { return isAskUsed; }
-    public void markAskUsed() { this.isAskUsed = true; }
-    public boolean isCopyUsed() { return isCopyUsed; }
-    public void markCopyUsed() { this.isCopyUsed = true; }
-    public boolean isSaveUsed() { return isSaveUsed; }
-    public void markSaveUsed() { this.isSaveUsed = true; }
-    public int getGlobalScore() { return globalScore; }
-
-    private List<Question> getQuestionsForSubject(String subject) {
-        List<Question> all = dataLoader.generateGameSet();
-        return all.stream()
-                .filter(q -> q.getSubject().equalsIgnoreCase(subject))
-                .limit(2)
-                .collect(Collectors.toList());
+    public boolean isAskUsed() { return session.isAskUsed(); }
+    public void markAskUsed() { session.markAskUsed(); journalLifelines(); }
+    public boolean isCopyUsed() { return session.isCopyUsed(); }
+    public void markCopyUsed() { session.markCopyUsed(); journalLifelines(); }
+    public boolean isSaveUsed() { return session.isSaveUsed(); }
+    public void markSaveUsed() { session.markSaveUsed(); journalLifelines(); }
+    public int getGlobalScore() { return session.getGlobalScore(); }
+    public GameRandom getGameRandom() { return session.getRandom(); }
+    public PlayerSession getSession() { return session; }
+    public QuestionAnalytics getAnalytics() { return analytics; }
+    /** Identifies the current run in analytics records. */
+    public long getAnalyticsRun() { return analyticsRun; }
+
+    private void journalLifelines() {
+        if (journal != null) journal.lifelinesChanged(session.progress());
     }
 
-    public void playClickSound() { soundManager.playSFX("/res/click.wav"); }
-    public void playSuccessSound() { soundManager.playSFX("/res/success.wav"); }
-    public void playErrorSound() { soundManager.playSFX("/res/error.wav"); }
+    public void playClickSound() { soundManager.playSFX(SfxEngine.Effect.CLICK); }
+    public void playSuccessSound() { soundManager.playSFX(SfxEngine.Effect.SUCCESS); }
+    public void playErrorSound() { soundManager.playSFX(SfxEngine.Effect.ERROR); }
 }
\ No newline at end of file
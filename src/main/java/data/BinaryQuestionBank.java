@@ -0,0 +1,343 @@
+package data;
+
+import logic.Question;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.JarURLConnection;
+import java.net.URL;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.*;
+import java.util.jar.JarEntry;
+import java.util.zip.CRC32;
+
+/**
+ * Read-only view over a precompiled question bank file (see {@link QuestionBankCompiler}).
+ * The file is memory-mapped and questions are only decoded when a caller asks for them.
+ *
+ * Layout (big-endian):
+ * <pre>
+ *   header   magic, version, stringCount, questionCount, subjectCount, optionRefCount,
+ *            stringIndexOffset, stringDataOffset, optionRefOffset, subjectOffset, typeIndexOffset, recordOffset
+ *   strings  stringCount x (offset, length) into a UTF-8 blob; every distinct string is stored once
+ *   options  optionRefCount x string id
+ *   subjects subjectCount x (name id, first record, record count)
+ *   types    per QuestionType: count, then that many record numbers
+ *   records  questionCount x (text id, code id or -1, first option ref, option count, correct index, type)
+ * </pre>
+ */
+public class BinaryQuestionBank {
+
+    public static final int MAGIC = 0x41535442; // "ASTB"
+    public static final int VERSION = 1;
+
+    static final int HEADER_SIZE = 12 * 4;
+    static final int RECORD_SIZE = 4 + 4 + 4 + 2 + 1 + 1;
+
+    private final ByteBuffer buffer;
+    private final int stringIndexOffset;
+    private final int stringDataOffset;
+    private final int optionRefOffset;
+    private final int recordOffset;
+    private final int questionCount;
+
+    /** Decoded strings, filled in on first use */
+    private final String[] strings;
+
+    /** Subject name -> {first record, record count} */
+    private final Map<String, int[]> subjects = new LinkedHashMap<>();
+
+    /** Record numbers for each question type, indexed by ordinal */
+    private final int[][] typeIndex = new int[Question.QuestionType.values().length][];
+
+    private BinaryQuestionBank(ByteBuffer buffer) throws IOException {
+        this.buffer = buffer;
+        if (buffer.getInt(0) != MAGIC || buffer.getInt(4) != VERSION) {
+            throw new IOException("Not a question bank file (bad magic or version)");
+        }
+        int stringCount = buffer.getInt(8);
+        this.questionCount = buffer.getInt(12);
+        int subjectCount = buffer.getInt(16);
+        this.stringIndexOffset = buffer.getInt(24);
+        this.stringDataOffset = buffer.getInt(28);
+        this.optionRefOffset = buffer.getInt(32);
+        int subjectOffset = buffer.getInt(36);
+        int typeIndexOffset = buffer.getInt(40);
+        this.recordOffset = buffer.getInt(44);
+        this.strings = new String[stringCount];
+
+        for (int i = 0; i < subjectCount; i++) {
+            int pos = subjectOffset + i * 12;
+            subjects.put(string(buffer.getInt(pos)), new int[]{buffer.getInt(pos + 4), buffer.getInt(pos + 8)});
+        }
+
+        int pos = typeIndexOffset;
+        for (int t = 0; t < typeIndex.length; t++) {
+            int count = buffer.getInt(pos);
+            pos += 4;
+            int[] records = new int[count];
+            for (int i = 0; i < count; i++, pos += 4) {
+                records[i] = buffer.getInt(pos);
+            }
+            typeIndex[t] = records;
+        }
+    }
+
+    /**
+     * Maps a bank file from disk.
+     */
+    public static BinaryQuestionBank open(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            return new BinaryQuestionBank(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+        }
+    }
+
+    /**
+     * Opens a bank stored on the classpath. Plain files are mapped in place; a bank inside
+     * a JAR is extracted once to the per-user cache directory and mapped from there. An earlier
+     * extraction is only reused when its content matches the entry's CRC.
+     * Returns null when the resource does not exist.
+     */
+    public static BinaryQuestionBank openResource(ClassLoader cl, String resourceName) throws IOException {
+        URL url = cl.getResource(resourceName);
+        if (url == null) return null;
+
+        if ("file".equalsIgnoreCase(url.getProtocol())) {
+            try {
+                return open(Paths.get(url.toURI()));
+            } catch (java.net.URISyntaxException e) {
+                throw new IOException(e);
+            }
+        }
+
+        if ("jar".equalsIgnoreCase(url.getProtocol())) {
+            JarURLConnection jarCon = (JarURLConnection) url.openConnection();
+            jarCon.setUseCaches(false);
+            JarEntry entry = jarCon.getJarEntry();
+            Path dir = cacheDir();
+            Files.createDirectories(dir);
+            Path cached = dir.resolve("bank-" + Long.toHexString(entry.getCrc()) + "-" + entry.getSize() + ".bank");
+            if (!matches(cached, entry)) {
+                Path tmp = Files.createTempFile(dir, "bank", ".tmp");
+                try (InputStream is = jarCon.getInputStream()) {
+                    Files.copy(is, tmp, StandardCopyOption.REPLACE_EXISTING);
+                }
+                Files.move(tmp, cached, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            }
+            return open(cached);
+        }
+
+        try (InputStream is = url.openStream()) {
+            return new BinaryQuestionBank(ByteBuffer.wrap(is.readAllBytes()));
+        }
+    }
+
+    /** ~/.astac/cache, or -Dastac.cacheDir=<dir>, as for the warm-start cache */
+    private static Path cacheDir() {
+        String dir = System.getProperty("astac.cacheDir");
+        return dir != null ? Paths.get(dir) : Paths.get(System.getProperty("user.home"), ".astac", "cache");
+    }
+
+    /** True when the file exists and has the size and CRC-32 of the JAR entry. */
+    private static boolean matches(Path file, JarEntry entry) throws IOException {
+        if (!Files.isRegularFile(file) || Files.size(file) != entry.getSize()) return false;
+        CRC32 crc = new CRC32();
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            crc.update(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+        }
+        return crc.getValue() == entry.getCrc();
+    }
+
+    /**
+     * A bank over bytes already in memory, e.g. a mapped {@link WarmStartCache} entry.
+     */
+    public static BinaryQuestionBank wrap(ByteBuffer buffer) throws IOException {
+        if (buffer.remaining() < HEADER_SIZE) throw new IOException("Not a question bank file (too short)");
+        return new BinaryQuestionBank(buffer.slice().order(ByteOrder.BIG_ENDIAN));
+    }
+
+    /**
+     * Writes the given subject -> questions map in bank format. Records are laid out
+     * subject by subject so each subject is one contiguous range.
+     */
+    public static void write(Map<String, List<Question>> bank, Path out) throws IOException {
+        Path parent = out.toAbsolutePath().getParent();
+        if (parent != null) Files.createDirectories(parent);
+        Files.write(out, encode(bank));
+    }
+
+    /** The given subject -> questions map in bank format, as {@link #write} stores it. */
+    public static byte[] encode(Map<String, List<Question>> bank) {
+        Map<String, Integer> stringIds = new HashMap<>();
+        List<byte[]> stringBytes = new ArrayList<>();
+        List<Integer> optionRefs = new ArrayList<>();
+        List<int[]> subjectRows = new ArrayList<>();
+        List<int[]> records = new ArrayList<>();
+        List<List<Integer>> typeRecords = new ArrayList<>();
+        for (int t = 0; t < Question.QuestionType.values().length; t++) typeRecords.add(new ArrayList<>());
+
+        for (Map.Entry<String, List<Question>> entry : bank.entrySet()) {
+            subjectRows.add(new int[]{intern(entry.getKey(), stringIds, stringBytes), records.size(), entry.getValue().size()});
+            for (Question q : entry.getValue()) {
+                List<String> options = q.getOptions() == null ? Collections.emptyList() : q.getOptions();
+                int optionStart = optionRefs.size();
+                for (String option : options) optionRefs.add(intern(option, stringIds, stringBytes));
+                Question.QuestionType type = q.getType() == null ? Question.QuestionType.THEORETICAL : q.getType();
+                typeRecords.get(type.ordinal()).add(records.size());
+                records.add(new int[]{
+                        intern(q.getText(), stringIds, stringBytes),
+                        q.getCodeSnippet() == null ? -1 : intern(q.getCodeSnippet(), stringIds, stringBytes),
+                        optionStart, options.size(), q.getCorrectAnswerIndex(), type.ordinal()
+                });
+            }
+        }
+
+        int stringDataSize = 0;
+        for (byte[] b : stringBytes) stringDataSize += b.length;
+        int typeIndexSize = 0;
+        for (List<Integer> r : typeRecords) typeIndexSize += 4 + r.size() * 4;
+
+        int stringIndexOffset = HEADER_SIZE;
+        int stringDataOffset = stringIndexOffset + stringBytes.size() * 8;
+        int optionRefOffset = stringDataOffset + stringDataSize;
+        int subjectOffset = optionRefOffset + optionRefs.size() * 4;
+        int typeIndexOffset = subjectOffset + subjectRows.size() * 12;
+        int recordOffset = typeIndexOffset + typeIndexSize;
+        int total = recordOffset + records.size() * RECORD_SIZE;
+
+        ByteBuffer buf = ByteBuffer.allocate(total).order(ByteOrder.BIG_ENDIAN);
+        buf.putInt(MAGIC).putInt(VERSION).putInt(stringBytes.size()).putInt(records.size())
+                .putInt(subjectRows.size()).putInt(optionRefs.size())
+                .putInt(stringIndexOffset).putInt(stringDataOffset).putInt(optionRefOffset)
+                .putInt(subjectOffset).putInt(typeIndexOffset).putInt(recordOffset);
+
+        int offset = 0;
+        for (byte[] b : stringBytes) {
+            buf.putInt(offset).putInt(b.length);
+            offset += b.length;
+        }
+        for (byte[] b : stringBytes) buf.put(b);
+        for (int ref : optionRefs) buf.putInt(ref);
+        for (int[] row : subjectRows) buf.putInt(row[0]).putInt(row[1]).putInt(row[2]);
+        for (List<Integer> r : typeRecords) {
+            buf.putInt(r.size());
+            for (int record : r) buf.putInt(record);
+        }
+        for (int[] rec : records) {
+            buf.putInt(rec[0]).putInt(rec[1]).putInt(rec[2])
+                    .putShort((short) rec[3]).put((byte) rec[4]).put((byte) rec[5]);
+        }
+
+        return buf.array();
+    }
+
+    private static int intern(String s, Map<String, Integer> ids, List<byte[]> bytes) {
+        String value = s == null ? "" : s;
+        Integer id = ids.get(value);
+        if (id == null) {
+            id = bytes.size();
+            ids.put(value, id);
+            bytes.add(value.getBytes(StandardCharsets.UTF_8));
+        }
+        return id;
+    }
+
+    public Set<String> getSubjects() {
+        return Collections.unmodifiableSet(subjects.keySet());
+    }
+
+    public int size() {
+        return questionCount;
+    }
+
+    /**
+     * Lazy list of one subject's questions; each get() decodes a fresh Question from the mapped file.
+     */
+    public List<Question> questionsFor(String subject) {
+        int[] range = subjects.get(subject);
+        if (range == null) return Collections.emptyList();
+        int first = range[0];
+        int count = range[1];
+        return new AbstractList<>() {
+            @Override
+            public Question get(int index) {
+                Objects.checkIndex(index, count);
+                return question(first + index);
+            }
+
+            @Override
+            public int size() {
+                return count;
+            }
+        };
+    }
+
+    /**
+     * Lazy list of every question of the given type, across all subjects.
+     */
+    public List<Question> questionsOfType(Question.QuestionType type) {
+        int[] records = typeIndex[type.ordinal()];
+        return new AbstractList<>() {
+            @Override
+            public Question get(int index) {
+                return question(records[index]);
+            }
+
+            @Override
+            public int size() {
+                return records.length;
+            }
+        };
+    }
+
+    /**
+     * Decodes the question stored at the given record number.
+     */
+    public Question question(int record) {
+        Objects.checkIndex(record, questionCount);
+        int pos = recordOffset + record * RECORD_SIZE;
+        int textId = buffer.getInt(pos);
+        int codeId = buffer.getInt(pos + 4);
+        int optionStart = buffer.getInt(pos + 8);
+        int optionCount = buffer.getShort(pos + 12);
+        int correct = buffer.get(pos + 14);
+        Question.QuestionType type = Question.QuestionType.values()[buffer.get(pos + 15)];
+
+        List<String> options = new ArrayList<>(optionCount);
+        for (int i = 0; i < optionCount; i++) {
+            options.add(string(buffer.getInt(optionRefOffset + (optionStart + i) * 4)));
+        }
+        String subject = subjectOf(record);
+        return new Question(string(textId), codeId < 0 ? null : string(codeId), options, correct, subject, type);
+    }
+
+    private String subjectOf(int record) {
+        for (Map.Entry<String, int[]> e : subjects.entrySet()) {
+            int[] range = e.getValue();
+            if (record >= range[0] && record < range[0] + range[1]) return e.getKey();
+        }
+        return "Unknown";
+    }
+
+    private String string(int id) {
+        String s = strings[id];
+        if (s == null) {
+            int pos = stringIndexOffset + id * 8;
+            int offset = buffer.getInt(pos);
+            int length = buffer.getInt(pos + 4);
+            byte[] bytes = new byte[length];
+            buffer.get(stringDataOffset + offset, bytes);
+            s = new String(bytes, StandardCharsets.UTF_8);
+            strings[id] = s;
+        }
+        return s;
+    }
+}
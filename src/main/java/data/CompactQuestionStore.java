@@ -0,0 +1,172 @@
+package data;
+
+import logic.Question;
+
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+
+/**
+ * Columnar, deduplicated storage for a large question bank.
+ *
+ * Subjects and option lists are pooled (a bank repeats "TRUE"/"FALSE" and the same
+ * subject names thousands of times), subject and type are kept as small ints, and the
+ * long text fields live as UTF-8 in one shared byte array. {@link Question} objects are
+ * only built when a caller asks for one, so resident heap is just the columns below.
+ */
+public class CompactQuestionStore {
+
+    private static final Question.QuestionType[] TYPES = Question.QuestionType.values();
+
+    private final List<String> subjects = new ArrayList<>();
+    private final Map<String, Integer> subjectIds = new HashMap<>();
+
+    /** Pooled option lists; identical lists (and identical strings inside them) share one instance */
+    private final List<List<String>> optionLists = new ArrayList<>();
+    private final Map<List<String>, Integer> optionListIds = new HashMap<>();
+    private final Map<String, String> optionStrings = new HashMap<>();
+
+    private int size;
+    private byte[] subjectColumn = new byte[64];
+    private byte[] typeColumn = new byte[64];
+    private byte[] correctColumn = new byte[64];
+    private int[] optionListColumn = new int[64];
+
+    /** Offsets into {@link #text}; the code snippet of question i ends where the next text starts */
+    private int[] textStart = new int[64];
+    private int[] codeStart = new int[64];
+    private byte[] text = new byte[4096];
+    private int textLength;
+
+    /**
+     * Copies a question into the store and returns its ordinal.
+     */
+    public int add(Question q) {
+        ensureCapacity(size + 1);
+        int ordinal = size++;
+
+        subjectColumn[ordinal] = (byte) subjectIds.computeIfAbsent(q.getSubject(), s -> {
+            if (subjects.size() == 256) throw new IllegalStateException("More than 256 subjects");
+            subjects.add(s);
+            return subjects.size() - 1;
+        }).intValue();
+        typeColumn[ordinal] = (byte) (q.getType() == null ? -1 : q.getType().ordinal());
+        correctColumn[ordinal] = (byte) q.getCorrectAnswerIndex();
+        optionListColumn[ordinal] = optionListId(q.getOptions());
+
+        textStart[ordinal] = textLength;
+        appendUtf8(q.getText());
+        if (q.getCodeSnippet() == null) {
+            codeStart[ordinal] = -1;
+        } else {
+            codeStart[ordinal] = textLength;
+            appendUtf8(q.getCodeSnippet());
+        }
+        return ordinal;
+    }
+
+    /**
+     * Builds a fresh Question for the given ordinal.
+     */
+    public Question get(int ordinal) {
+        Objects.checkIndex(ordinal, size);
+        int end = ordinal + 1 < size ? textStart[ordinal + 1] : textLength;
+        int code = codeStart[ordinal];
+        String questionText = decode(textStart[ordinal], code < 0 ? end : code);
+        String snippet = code < 0 ? null : decode(code, end);
+        int type = typeColumn[ordinal];
+
+        return new Question(questionText, snippet, optionLists.get(optionListColumn[ordinal]),
+                correctColumn[ordinal], subjects.get(subjectColumn[ordinal] & 0xFF),
+                type < 0 ? null : TYPES[type]);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Read-only list over the given ordinals that builds each Question on access.
+     */
+    public List<Question> view(int[] ordinals) {
+        return new AbstractList<>() {
+            @Override
+            public Question get(int index) {
+                return CompactQuestionStore.this.get(ordinals[index]);
+            }
+
+            @Override
+            public int size() {
+                return ordinals.length;
+            }
+        };
+    }
+
+    /**
+     * Releases the spare capacity left over from growing the columns. Call once the last
+     * question has been added; later adds still work but no longer share option lists.
+     */
+    public void trimToSize() {
+        subjectColumn = Arrays.copyOf(subjectColumn, size);
+        typeColumn = Arrays.copyOf(typeColumn, size);
+        correctColumn = Arrays.copyOf(correctColumn, size);
+        optionListColumn = Arrays.copyOf(optionListColumn, size);
+        textStart = Arrays.copyOf(textStart, size);
+        codeStart = Arrays.copyOf(codeStart, size);
+        text = Arrays.copyOf(text, textLength);
+        optionListIds.clear();
+        optionStrings.clear();
+    }
+
+    /**
+     * Rough heap footprint of the columns and pools, for logging.
+     */
+    public long estimatedBytes() {
+        long bytes = (long) subjectColumn.length * 3 + (long) optionListColumn.length * 4
+                + (long) textStart.length * 8 + text.length;
+        for (List<String> options : optionLists) {
+            bytes += 48;
+            for (String option : options) bytes += 8 + (option == null ? 0 : option.length());
+        }
+        return bytes;
+    }
+
+    private int optionListId(List<String> options) {
+        if (options == null) options = Collections.emptyList();
+        Integer id = optionListIds.get(options);
+        if (id != null) return id;
+
+        List<String> pooled = new ArrayList<>(options.size());
+        for (String option : options) {
+            pooled.add(option == null ? null : optionStrings.computeIfAbsent(option, o -> o));
+        }
+        List<String> shared = Collections.unmodifiableList(pooled);
+        optionLists.add(shared);
+        optionListIds.put(shared, optionLists.size() - 1);
+        return optionLists.size() - 1;
+    }
+
+    private void appendUtf8(String s) {
+        if (s == null) return;
+        byte[] bytes = s.getBytes(StandardCharsets.UTF_8);
+        if (textLength + bytes.length > text.length) {
+            text = Arrays.copyOf(text, Math.max(text.length * 2, textLength + bytes.length));
+        }
+        System.arraycopy(bytes, 0, text, textLength, bytes.length);
+        textLength += bytes.length;
+    }
+
+    private String decode(int from, int to) {
+        return new String(text, from, to - from, StandardCharsets.UTF_8);
+    }
+
+    private void ensureCapacity(int needed) {
+        if (needed <= subjectColumn.length) return;
+        int capacity = Math.max(needed, subjectColumn.length * 2);
+        subjectColumn = Arrays.copyOf(subjectColumn, capacity);
+        typeColumn = Arrays.copyOf(typeColumn, capacity);
+        correctColumn = Arrays.copyOf(correctColumn, capacity);
+        optionListColumn = Arrays.copyOf(optionListColumn, capacity);
+        textStart = Arrays.copyOf(textStart, capacity);
+        codeStart = Arrays.copyOf(codeStart, capacity);
+    }
+}
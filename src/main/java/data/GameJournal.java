@@ -0,0 +1,341 @@
+package data;
+
+import logic.PlayerSession.Progress;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.CRC32C;
+
+/**
+ * Append-only, crash-safe log of the local player's progress, so a run survives a crash or
+ * reboot and "Continue" works across restarts.
+ *
+ * Every state change is appended as a small checksummed record. Each new game starts with a
+ * snapshot record and the header points at the latest one, so recovery reads one snapshot and
+ * the handful of records after it, however many games the file holds. Records are buffered in
+ * memory and written and fsync'd on a background thread at game and round boundaries only;
+ * a crash mid-round loses at most that round's lifeline records. A torn or corrupt tail is
+ * cut off at the last valid record. Once the file passes {@link #COMPACT_BYTES}, the next
+ * game is written to a fresh file that replaces the old one atomically.
+ *
+ * Layout (big-endian):
+ * <pre>
+ *   header   magic, version, offset of the latest snapshot, CRC32C of those, padding (24 bytes)
+ *   records  type, payload length, payload, CRC32C of type + length + payload
+ *
+ *   SNAPSHOT  seed, score, subjects mask, bots mask, lifelines, active, subject order, bot order
+ *   LIFELINES lifelines
+ *   ROUND     score, subjects mask, bots mask, active, subject order, bot order
+ *   END       (empty)
+ * </pre>
+ * Appends must come from one thread (the JavaFX thread).
+ */
+public class GameJournal implements Closeable {
+
+    public static final int MAGIC = 0x4153544A; // "ASTJ"
+    public static final int VERSION = 2;
+
+    static final int HEADER_SIZE = 24;
+    /** Once the log is this large, the next game starts a fresh file */
+    static final long COMPACT_BYTES = 256 * 1024;
+
+    private static final byte SNAPSHOT = 1;
+    private static final byte LIFELINES = 2;
+    private static final byte ROUND = 3;
+    private static final byte END = 4;
+
+    private final Path path;
+    private final Progress recovered;
+    private final ExecutorService writer = Executors.newSingleThreadExecutor(r -> {
+        Thread t = new Thread(r, "journal-writer");
+        t.setDaemon(true);
+        return t;
+    });
+
+    /** Records not yet handed to the writer; appending thread only */
+    private ByteBuffer pending = ByteBuffer.allocate(256);
+    private final CRC32C crc = new CRC32C();
+
+    /** Writer thread only */
+    private FileChannel channel;
+    private long end;
+
+    private GameJournal(Path path, FileChannel channel, long end, Progress recovered) {
+        this.path = path;
+        this.channel = channel;
+        this.end = end;
+        this.recovered = recovered;
+    }
+
+    /**
+     * Opens (or creates) the journal and recovers the last recorded state. A file that is not
+     * a journal is moved aside to "*.corrupt" and a new one is started.
+     */
+    public static GameJournal open(Path path) throws IOException {
+        long start = System.nanoTime();
+        Path parent = path.toAbsolutePath().getParent();
+        if (parent != null) Files.createDirectories(parent);
+
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE,
+                StandardOpenOption.READ, StandardOpenOption.WRITE);
+        try {
+            if (channel.size() >= 8 && !isJournal(channel)) {
+                channel.close();
+                Path aside = path.resolveSibling(path.getFileName() + ".corrupt");
+                Files.move(path, aside, StandardCopyOption.REPLACE_EXISTING);
+                System.err.println("Game journal " + path + " is unreadable; moved to " + aside);
+                channel = FileChannel.open(path, StandardOpenOption.CREATE,
+                        StandardOpenOption.READ, StandardOpenOption.WRITE);
+            }
+
+            long size = channel.size();
+            Recovery recovery = recover(channel);
+            if (recovery.end < size) {
+                System.err.printf("Game journal: dropping %d bytes of torn or corrupt records%n",
+                        size - recovery.end);
+                channel.truncate(recovery.end);
+            }
+            if (recovery.snapshot != recovery.headerSnapshot) {
+                writeHeader(channel, recovery.snapshot);
+                channel.force(false);
+            }
+
+            System.out.printf("Game journal: recovered %s from %d records (%d bytes read of %d) in %.1f ms%n",
+                    recovery.state == null ? "nothing" : recovery.state.active() ? "an active game" : "a finished game",
+                    recovery.records, recovery.bytesRead, size, (System.nanoTime() - start) / 1e6);
+            return new GameJournal(path, channel, recovery.end, recovery.state);
+        } catch (IOException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /** The state as of the last record that made it to disk, or null for a new journal. */
+    public Progress recovered() {
+        return recovered;
+    }
+
+    /** Records a new game as a snapshot and makes it durable. */
+    public void gameStarted(Progress progress) {
+        int snapshotAt = pending.position();
+        int start = beginRecord(SNAPSHOT);
+        pending.putLong(progress.seed())
+                .putShort((short) progress.globalScore())
+                .putShort((short) progress.completedSubjects())
+                .putShort((short) progress.usedBots())
+                .put((byte) progress.lifelines())
+                .put((byte) (progress.active() ? 1 : 0))
+                .putInt(progress.subjectOrder())
+                .putInt(progress.botOrder());
+        endRecord(start);
+        flush(snapshotAt);
+    }
+
+    /** Records the lifelines used so far; buffered until the next round boundary. */
+    public void lifelinesChanged(Progress progress) {
+        int start = beginRecord(LIFELINES);
+        pending.put((byte) progress.lifelines());
+        endRecord(start);
+    }
+
+    /** Records the state after a banked round and makes it durable. */
+    public void roundCompleted(Progress progress) {
+        int start = beginRecord(ROUND);
+        pending.putShort((short) progress.globalScore())
+                .putShort((short) progress.completedSubjects())
+                .putShort((short) progress.usedBots())
+                .put((byte) (progress.active() ? 1 : 0))
+                .putInt(progress.subjectOrder())
+                .putInt(progress.botOrder());
+        endRecord(start);
+        flush(-1);
+    }
+
+    /** Records that the run was lost or abandoned and makes it durable. */
+    public void gameEnded() {
+        endRecord(beginRecord(END));
+        flush(-1);
+    }
+
+    /** Writes anything still buffered and waits for the disk. */
+    @Override
+    public void close() {
+        if (pending.position() > 0) flush(-1);
+        writer.shutdown();
+        try {
+            writer.awaitTermination(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        try {
+            channel.close();
+        } catch (IOException e) {
+            System.err.println("Error closing game journal " + path + ": " + e.getMessage());
+        }
+    }
+
+    private int beginRecord(byte type) {
+        if (pending.remaining() < 64) {
+            int used = pending.position();
+            pending = ByteBuffer.wrap(Arrays.copyOf(pending.array(), pending.capacity() * 2)).position(used);
+        }
+        int start = pending.position();
+        pending.put(type).put((byte) 0);
+        return start;
+    }
+
+    private void endRecord(int start) {
+        pending.put(start + 1, (byte) (pending.position() - start - 2));
+        crc.reset();
+        crc.update(pending.array(), start, pending.position() - start);
+        pending.putInt((int) crc.getValue());
+    }
+
+    /** Hands the buffered records to the writer; snapshotAt is the offset of a snapshot in them, or -1. */
+    private void flush(int snapshotAt) {
+        byte[] batch = Arrays.copyOf(pending.array(), pending.position());
+        pending.clear();
+        writer.execute(() -> {
+            try {
+                if (snapshotAt >= 0 && end >= COMPACT_BYTES) {
+                    compact(Arrays.copyOfRange(batch, snapshotAt, batch.length));
+                    return;
+                }
+                writeFully(channel, ByteBuffer.wrap(batch), end);
+                if (snapshotAt >= 0) writeHeader(channel, end + snapshotAt);
+                channel.force(false);
+                end += batch.length;
+            } catch (IOException e) {
+                System.err.println("Error writing game journal " + path + ": " + e.getMessage());
+            }
+        });
+    }
+
+    /** Replaces the file with one holding just the given records, which start with a snapshot. */
+    private void compact(byte[] records) throws IOException {
+        Path tmp = path.resolveSibling(path.getFileName() + ".tmp");
+        try (FileChannel out = FileChannel.open(tmp, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            writeHeader(out, HEADER_SIZE);
+            writeFully(out, ByteBuffer.wrap(records), HEADER_SIZE);
+            out.force(true);
+        }
+        channel.close();
+        Files.move(tmp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        channel = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        System.out.printf("Game journal: compacted %d KB to %d bytes%n", end / 1024, HEADER_SIZE + records.length);
+        end = HEADER_SIZE + records.length;
+    }
+
+    private record Recovery(Progress state, long end, long snapshot, long headerSnapshot, int records, long bytesRead) {}
+
+    private static boolean isJournal(FileChannel channel) throws IOException {
+        ByteBuffer magic = read(channel, 0, 8);
+        return magic.getInt(0) == MAGIC && magic.getInt(4) == VERSION;
+    }
+
+    /**
+     * Replays from the snapshot the header points to, or from the start of the log when the
+     * header is missing, torn or points at something that is not a valid snapshot.
+     */
+    private static Recovery recover(FileChannel channel) throws IOException {
+        long size = channel.size();
+        if (size < HEADER_SIZE) {
+            channel.truncate(0);
+            writeHeader(channel, 0);
+            channel.force(false);
+            return new Recovery(null, HEADER_SIZE, 0, 0, 0, 0);
+        }
+
+        ByteBuffer header = read(channel, 0, HEADER_SIZE);
+        CRC32C check = new CRC32C();
+        check.update(header.array(), 0, 16);
+        long pointer = header.getInt(16) == (int) check.getValue() ? header.getLong(8) : -1;
+
+        if (pointer >= HEADER_SIZE && pointer < size) {
+            Recovery fromSnapshot = replay(channel, pointer, size, pointer);
+            if (fromSnapshot != null) return fromSnapshot;
+        }
+        return replay(channel, HEADER_SIZE, size, pointer);
+    }
+
+    /**
+     * Applies every valid record from the given offset on. When starting anywhere but the
+     * beginning, the first record must be a snapshot, otherwise null is returned.
+     */
+    private static Recovery replay(FileChannel channel, long from, long size, long headerSnapshot) throws IOException {
+        ByteBuffer buf = read(channel, from, (int) (size - from));
+        CRC32C check = new CRC32C();
+        Progress state = null;
+        long snapshot = 0;
+        int records = 0;
+        int pos = 0;
+
+        while (pos + 6 <= buf.limit()) {
+            byte type = buf.get(pos);
+            int length = buf.get(pos + 1) & 0xFF;
+            if (pos + 2 + length + 4 > buf.limit()) break;
+            check.reset();
+            check.update(buf.array(), pos, 2 + length);
+            if (buf.getInt(pos + 2 + length) != (int) check.getValue()) break;
+
+            int p = pos + 2;
+            if (type == SNAPSHOT && length == 24) {
+                state = new Progress(buf.getLong(p), buf.getShort(p + 8), buf.getShort(p + 10),
+                        buf.getShort(p + 12), buf.get(p + 14), buf.get(p + 15) != 0,
+                        buf.getInt(p + 16), buf.getInt(p + 20));
+                snapshot = from + pos;
+            } else if (state == null && from != HEADER_SIZE) {
+                return null;
+            } else if (state != null && type == LIFELINES && length == 1) {
+                state = new Progress(state.seed(), state.globalScore(), state.completedSubjects(),
+                        state.usedBots(), buf.get(p), state.active(), state.subjectOrder(), state.botOrder());
+            } else if (state != null && type == ROUND && length == 15) {
+                state = new Progress(state.seed(), buf.getShort(p), buf.getShort(p + 2),
+                        buf.getShort(p + 4), state.lifelines(), buf.get(p + 6) != 0,
+                        buf.getInt(p + 7), buf.getInt(p + 11));
+            } else if (state != null && type == END && length == 0) {
+                state = new Progress(state.seed(), state.globalScore(), state.completedSubjects(),
+                        state.usedBots(), state.lifelines(), false, state.subjectOrder(), state.botOrder());
+            } else if (type < SNAPSHOT || type > END) {
+                break;
+            }
+            records++;
+            pos += 2 + length + 4;
+        }
+        if (state == null && from != HEADER_SIZE) return null;
+        return new Recovery(state, from + pos, snapshot, headerSnapshot, records, size - from);
+    }
+
+    private static void writeHeader(FileChannel channel, long snapshot) throws IOException {
+        ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+        header.putInt(MAGIC).putInt(VERSION).putLong(snapshot);
+        CRC32C check = new CRC32C();
+        check.update(header.array(), 0, 16);
+        header.putInt((int) check.getValue()).putInt(0);
+        writeFully(channel, header.flip(), 0);
+    }
+
+    private static ByteBuffer read(FileChannel channel, long position, int length) throws IOException {
+        ByteBuffer buf = ByteBuffer.allocate(length);
+        while (buf.hasRemaining()) {
+            if (channel.read(buf, position + buf.position()) < 0) break;
+        }
+        return buf.flip();
+    }
+
+    private static void writeFully(FileChannel channel, ByteBuffer buf, long position) throws IOException {
+        long at = position;
+        while (buf.hasRemaining()) at += channel.write(buf, at);
+    }
+}
@@ -1,19 +1,22 @@
 package data;
 
-import com.google.gson.Gson;
-import com.google.gson.reflect.TypeToken;
+import com.google.gson.stream.JsonReader;
 import logic.Question;
+import logic.QuestionSource;
 
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
-import java.lang.reflect.Type;
 import java.net.JarURLConnection;
 import java.net.URL;
-import java.nio.file.Files;
-import java.nio.file.Path;
-import java.nio.file.Paths;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
 import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+import java.util.random.RandomGenerator;
 import java.util.jar.JarEntry;
 import java.util.jar.JarFile;
 import java.util.stream.Stream;
@@ -24,12 +27,47 @@ import java.util.stream.Stream;
  */
 public class JsonDataLoader {
 
-    /** Holds all questions found in files, grouped by subject */
-    private final Map<String, List<Question>> questionBank = new HashMap<>();
+    private static final QuestionTypeAdapter QUESTION_ADAPTER = new QuestionTypeAdapter();
+
+    /** Quiet period used to coalesce the several events an editor produces for one save */
+    private static final long RELOAD_DEBOUNCE_MS = 250;
+
+    /** Current bank snapshot; replaced as a whole, never modified in place */
+    private final AtomicReference<QuestionBank> bank = new AtomicReference<>(QuestionBank.EMPTY);
+
+    /** Serialises writers (initial loads and the file watcher); readers never take it */
+    private final Object publishLock = new Object();
+
+    private final List<Consumer<QuestionBank>> reloadListeners = new CopyOnWriteArrayList<>();
+    private Thread watcherThread;
+
+    private final Queue<FileLoadStats> loadStats = new ConcurrentLinkedQueue<>();
+
+    /** When set, parsed questions are moved into a {@link CompactQuestionStore} after each load */
+    private boolean compactStorage;
+
+    /** Subjects a manifest-backed bank keeps parsed; see {@link #loadManifest} */
+    private int cachedSubjects = 3;
+
+    /** Parsed manifest banks from earlier launches; null when disabled */
+    private WarmStartCache warmCache;
+
+    /** Opens one question file; jar entries and plain files are both handled through this. */
+    private interface StreamSource {
+        InputStream open() throws IOException;
+    }
+
+    /**
+     * Load-time metrics for one question file.
+     */
+    public record FileLoadStats(String source, int questions, long nanos) {
+        public double millis() { return nanos / 1e6; }
+    }
 
     /**
      * Loads JSON question files from the classpath under the given root (e.g., "MCQ").
      * Works both from IDE (file protocol) and from packaged JAR (jar protocol).
+     * Files are parsed concurrently; see {@link #getLoadStats()} for per-file timings.
      */
     public void loadQuestionsFromDirectory(String rootClasspathDir) {
         if (rootClasspathDir.startsWith("/")) {
@@ -38,6 +76,7 @@ public class JsonDataLoader {
 
         ClassLoader cl = Thread.currentThread().getContextClassLoader();
         if (cl == null) cl = getClass().getClassLoader();
+        final ClassLoader loader = cl;
 
         // Try to resolve the root directory on the classpath
         try {
@@ -46,14 +85,8 @@ public class JsonDataLoader {
                 // Fallback to common source path when running from source
                 Path fallback = Paths.get("src", "main", "resources", rootClasspathDir);
                 if (Files.exists(fallback)) {
-                    try (Stream<Path> paths = Files.walk(fallback)) {
-                        paths.filter(Files::isRegularFile)
-                                .filter(p -> p.toString().endsWith(".json"))
-                                .forEach(p -> {
-                                    try (InputStream is = Files.newInputStream(p)) {
-                                        parseStream(p.toString(), is);
-                                    } catch (IOException ignored) { }
-                                });
+                    try {
+                        loadQuestionsFromPath(fallback);
                     } catch (IOException e) {
                         System.err.println("Error reading fallback directory: " + e.getMessage());
                     }
@@ -66,15 +99,7 @@ public class JsonDataLoader {
             String protocol = rootUrl.getProtocol();
             if ("file".equalsIgnoreCase(protocol)) {
                 // Running from IDE/classes
-                try (Stream<Path> paths = Files.walk(Paths.get(rootUrl.toURI()))) {
-                    paths.filter(Files::isRegularFile)
-                            .filter(p -> p.toString().endsWith(".json"))
-                            .forEach(p -> {
-                                try (InputStream is = Files.newInputStream(p)) {
-                                    parseStream(p.toString(), is);
-                                } catch (IOException ignored) { }
-                            });
-                }
+                loadQuestionsFromPath(Paths.get(rootUrl.toURI()));
             } else if ("jar".equalsIgnoreCase(protocol)) {
                 // Running from a JAR
                 JarURLConnection jarCon = (JarURLConnection) rootUrl.openConnection();
@@ -83,69 +108,486 @@ public class JsonDataLoader {
                     if (rootEntry == null) rootEntry = rootClasspathDir;
                     if (!rootEntry.endsWith("/")) rootEntry += "/";
 
+                    Map<String, StreamSource> sources = new LinkedHashMap<>();
                     Enumeration<JarEntry> entries = jarFile.entries();
                     while (entries.hasMoreElements()) {
                         JarEntry e = entries.nextElement();
                         String name = e.getName();
                         if (!e.isDirectory() && name.startsWith(rootEntry) && name.endsWith(".json")) {
-                            try (InputStream is = cl.getResourceAsStream(name)) {
-                                if (is != null) parseStream(name, is);
-                            }
+                            sources.put(name, () -> loader.getResourceAsStream(name));
                         }
                     }
+                    parseAll(sources);
                 }
             } else {
                 // Generic fallback using getResources for unusual protocols
+                Map<String, StreamSource> sources = new LinkedHashMap<>();
                 Enumeration<URL> urls = cl.getResources(rootClasspathDir);
                 while (urls.hasMoreElements()) {
                     URL url = urls.nextElement();
                     if ("file".equalsIgnoreCase(url.getProtocol())) {
-                        try (Stream<Path> paths = Files.walk(Paths.get(url.toURI()))) {
-                            paths.filter(Files::isRegularFile)
-                                    .filter(p -> p.toString().endsWith(".json"))
-                                    .forEach(p -> {
-                                        try (InputStream is = Files.newInputStream(p)) {
-                                            parseStream(p.toString(), is);
-                                        } catch (IOException ignored) { }
-                                    });
-                        }
+                        collectJsonFiles(Paths.get(url.toURI()), sources);
                     }
                 }
+                parseAll(sources);
             }
         } catch (Exception e) {
             System.err.println("Error loading questions from classpath: " + e.getMessage());
         }
     }
 
-    private void parseStream(String sourceName, InputStream stream) {
-        if (stream == null) return;
-        Gson gson = new Gson();
-        try (InputStreamReader reader = new InputStreamReader(stream)) {
-            Type listType = new TypeToken<List<Question>>(){}.getType();
-            List<Question> loadedQuestions = gson.fromJson(reader, listType);
+    /**
+     * Loads every JSON file below a plain directory on disk.
+     */
+    public void loadQuestionsFromPath(Path directory) throws IOException {
+        Map<String, StreamSource> sources = new LinkedHashMap<>();
+        collectJsonFiles(directory, sources);
+        parseAll(sources);
+    }
+
+    private void collectJsonFiles(Path directory, Map<String, StreamSource> sources) throws IOException {
+        try (Stream<Path> paths = Files.walk(directory)) {
+            paths.filter(Files::isRegularFile)
+                    .filter(p -> p.toString().endsWith(".json"))
+                    .sorted()
+                    .forEach(p -> sources.put(sourceKey(p), () -> Files.newInputStream(p)));
+        }
+    }
 
-            if (loadedQuestions != null) {
-                for (Question q : loadedQuestions) {
-                    if (q == null) continue;
-                    questionBank.computeIfAbsent(q.getSubject(), k -> new ArrayList<>()).add(q);
+    private static String sourceKey(Path file) {
+        return file.toAbsolutePath().normalize().toString();
+    }
+
+    /**
+     * Parses all sources on a bounded pool (one thread per core at most), waits for them and
+     * publishes one new snapshot containing the results.
+     */
+    private void parseAll(Map<String, StreamSource> sources) {
+        if (sources.isEmpty()) return;
+
+        QuestionBankLoadEvent event = new QuestionBankLoadEvent();
+        event.begin();
+        long start = System.nanoTime();
+        Map<String, Map<String, List<Question>>> parsed = parseConcurrently(sources);
+        QuestionBank published = publish(parsed, Collections.emptySet());
+        commitLoad(event, "initial", parsed.size(), 0, published);
+
+        long elapsed = System.nanoTime() - start;
+        System.out.printf("Loaded %d questions from %d files in %.1f ms (bank now %d questions)%n",
+                parsed.values().stream().flatMap(m -> m.values().stream()).mapToInt(List::size).sum(),
+                sources.size(), elapsed / 1e6, published.size());
+    }
+
+    private Map<String, Map<String, List<Question>>> parseConcurrently(Map<String, StreamSource> sources) {
+        Map<String, Map<String, List<Question>>> parsed = new ConcurrentHashMap<>();
+        int threads = Math.min(sources.size(), Runtime.getRuntime().availableProcessors());
+        ExecutorService pool = Executors.newFixedThreadPool(threads, r -> {
+            Thread t = new Thread(r, "question-loader");
+            t.setDaemon(true);
+            return t;
+        });
+        try {
+            List<Future<?>> pending = new ArrayList<>(sources.size());
+            for (Map.Entry<String, StreamSource> source : sources.entrySet()) {
+                pending.add(pool.submit(() -> {
+                    Map<String, List<Question>> perSubject = parseSource(source.getKey(), source.getValue());
+                    if (perSubject != null) parsed.put(source.getKey(), perSubject);
+                }));
+            }
+            for (Future<?> f : pending) {
+                try {
+                    f.get();
+                } catch (ExecutionException e) {
+                    System.err.println("Error loading question file: " + e.getCause());
                 }
             }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            pool.shutdown();
+        }
+        return parsed;
+    }
+
+    private QuestionBank publish(Map<String, Map<String, List<Question>>> updated, Collection<String> removed) {
+        QuestionBank next;
+        synchronized (publishLock) {
+            // Only the sources being replaced are compacted; the rest keep their existing views
+            next = bank.get().withSources(compactStorage && !updated.isEmpty() ? QuestionBank.compact(updated) : updated, removed);
+            bank.set(next);
+        }
+        for (Consumer<QuestionBank> listener : reloadListeners) listener.accept(next);
+        return next;
+    }
+
+    private Map<String, List<Question>> parseSource(String sourceName, StreamSource source) {
+        QuestionFileLoadEvent event = new QuestionFileLoadEvent();
+        event.begin();
+        long start = System.nanoTime();
+        Map<String, List<Question>> perSubject = null;
+        try (InputStream is = source.open()) {
+            perSubject = parseStream(sourceName, is, start);
+        } catch (IOException e) {
+            System.err.println("Error reading resource " + sourceName + ": " + e.getMessage());
+        }
+        if (event.shouldCommit()) {
+            event.source = sourceName;
+            event.failed = perSubject == null;
+            if (perSubject != null) {
+                for (List<Question> list : perSubject.values()) event.questions += list.size();
+            }
+            event.commit();
+        }
+        return perSubject;
+    }
+
+    private static void commitLoad(QuestionBankLoadEvent event, String kind, int files, int removed, QuestionBank published) {
+        if (!event.shouldCommit()) return;
+        event.kind = kind;
+        event.files = files;
+        event.removed = removed;
+        event.version = published.getVersion();
+        event.questions = published.size();
+        event.commit();
+    }
+
+    /**
+     * Starts watching the JSON files under the given classpath root. Only works when the root
+     * resolves to a directory on disk (IDE or exploded resources), not inside a JAR.
+     */
+    public boolean watchQuestionsDirectory(String rootClasspathDir) {
+        if (rootClasspathDir.startsWith("/")) {
+            rootClasspathDir = rootClasspathDir.substring(1);
+        }
+        ClassLoader cl = Thread.currentThread().getContextClassLoader();
+        if (cl == null) cl = getClass().getClassLoader();
+
+        try {
+            URL rootUrl = cl.getResource(rootClasspathDir);
+            Path directory;
+            if (rootUrl == null) {
+                directory = Paths.get("src", "main", "resources", rootClasspathDir);
+            } else if ("file".equalsIgnoreCase(rootUrl.getProtocol())) {
+                directory = Paths.get(rootUrl.toURI());
+            } else {
+                System.err.println("Question hot reload needs a directory, not " + rootUrl);
+                return false;
+            }
+            return startWatching(directory);
+        } catch (Exception e) {
+            System.err.println("Error starting question watcher: " + e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * Watches a directory tree with a {@link WatchService}. Changed files are re-parsed on a
+     * background daemon thread and a new snapshot is swapped in atomically; nothing else is
+     * re-read and the JavaFX thread is never involved.
+     */
+    public synchronized boolean startWatching(Path directory) throws IOException {
+        if (watcherThread != null) return true;
+        if (!Files.isDirectory(directory)) return false;
+
+        WatchService watcher = directory.getFileSystem().newWatchService();
+        Map<WatchKey, Path> keys = new HashMap<>();
+        registerTree(directory, watcher, keys, null);
+
+        watcherThread = new Thread(() -> watchLoop(watcher, keys), "question-watcher");
+        watcherThread.setDaemon(true);
+        watcherThread.start();
+        System.out.println("Watching " + directory.toAbsolutePath() + " for question changes");
+        return true;
+    }
+
+    public synchronized void stopWatching() {
+        if (watcherThread != null) {
+            watcherThread.interrupt();
+            watcherThread = null;
+        }
+    }
+
+    /**
+     * Called with every newly published snapshot, on the thread that published it.
+     */
+    public void addReloadListener(Consumer<QuestionBank> listener) {
+        reloadListeners.add(listener);
+    }
+
+    private void registerTree(Path root, WatchService watcher, Map<WatchKey, Path> keys, Set<Path> foundFiles) throws IOException {
+        try (Stream<Path> paths = Files.walk(root)) {
+            for (Path p : (Iterable<Path>) paths::iterator) {
+                if (Files.isDirectory(p)) {
+                    keys.put(p.register(watcher, StandardWatchEventKinds.ENTRY_CREATE,
+                            StandardWatchEventKinds.ENTRY_MODIFY, StandardWatchEventKinds.ENTRY_DELETE), p);
+                } else if (foundFiles != null && p.toString().endsWith(".json")) {
+                    foundFiles.add(p);
+                }
+            }
+        }
+    }
+
+    private void watchLoop(WatchService watcher, Map<WatchKey, Path> keys) {
+        try (watcher) {
+            while (!Thread.currentThread().isInterrupted()) {
+                WatchKey key = watcher.take();
+                Set<Path> changed = new LinkedHashSet<>();
+                do {
+                    Path dir = keys.get(key);
+                    for (WatchEvent<?> event : key.pollEvents()) {
+                        if (dir == null || event.kind() == StandardWatchEventKinds.OVERFLOW) continue;
+                        Path child = dir.resolve((Path) event.context());
+                        if (event.kind() == StandardWatchEventKinds.ENTRY_CREATE && Files.isDirectory(child)) {
+                            // Only the new subtree is walked, never the whole bank
+                            registerTree(child, watcher, keys, changed);
+                        } else if (child.toString().endsWith(".json")) {
+                            changed.add(child);
+                        }
+                    }
+                    if (!key.reset()) keys.remove(key);
+                    key = watcher.poll(RELOAD_DEBOUNCE_MS, TimeUnit.MILLISECONDS);
+                } while (key != null);
+
+                if (!changed.isEmpty()) reloadFiles(changed);
+            }
+        } catch (InterruptedException | ClosedWatchServiceException e) {
+            Thread.currentThread().interrupt();
         } catch (IOException e) {
+            System.err.println("Question watcher stopped: " + e.getMessage());
+        }
+    }
+
+    private void reloadFiles(Set<Path> changed) {
+        QuestionBankLoadEvent event = new QuestionBankLoadEvent();
+        event.begin();
+        long start = System.nanoTime();
+        Map<String, StreamSource> sources = new LinkedHashMap<>();
+        Set<String> removed = new HashSet<>();
+        for (Path p : changed) {
+            if (Files.isRegularFile(p)) {
+                sources.put(sourceKey(p), () -> Files.newInputStream(p));
+            } else {
+                removed.add(sourceKey(p));
+            }
+        }
+
+        // A file that fails to parse (e.g. saved half-way) keeps its previous questions
+        Map<String, Map<String, List<Question>>> parsed = sources.isEmpty()
+                ? Collections.emptyMap() : parseConcurrently(sources);
+        QuestionBank published = publish(parsed, removed);
+        commitLoad(event, "reload", parsed.size(), removed.size(), published);
+        System.out.printf("Reloaded %d changed and %d removed question files in %.1f ms (bank v%d, %d questions)%n",
+                parsed.size(), removed.size(), (System.nanoTime() - start) / 1e6,
+                published.getVersion(), published.size());
+    }
+
+    /**
+     * Indexes the packs listed in a {@link QuestionManifest} generated at build time (e.g.
+     * "MCQ-packs/manifest.tsv"). Only the manifest is read here; each subject is parsed on first use
+     * and at most {@link #setCachedSubjects} of them are held at once. Returns false when there
+     * is no manifest, so callers can fall back to the other sources.
+     */
+    public boolean loadManifest(String resourceName) {
+        ClassLoader cl = Thread.currentThread().getContextClassLoader();
+        if (cl == null) cl = getClass().getClassLoader();
+
+        QuestionBankLoadEvent event = new QuestionBankLoadEvent();
+        event.begin();
+        long start = System.nanoTime();
+        try {
+            QuestionManifest manifest = QuestionManifest.open(cl, resourceName, cachedSubjects);
+            if (manifest == null) return false;
+            BinaryQuestionBank warm = warmBank(manifest);
+            Map<String, List<Question>> perSubject = new LinkedHashMap<>();
+            for (String subject : manifest.getSubjects()) {
+                perSubject.put(subject, warm != null ? warm.questionsFor(subject) : manifest.questionsFor(subject));
+            }
+            synchronized (publishLock) {
+                // Lazy lists; compacting would parse every subject up front
+                QuestionBank next = bank.get().withSources(Map.of(resourceName, perSubject), Collections.emptySet());
+                bank.set(next);
+                commitLoad(event, warm != null ? "warm" : "manifest", 1, 0, next);
+            }
+            System.out.printf("Indexed %d questions in %d subjects from %s%s in %.1f ms%n", manifest.size(),
+                    perSubject.size(), resourceName, warm != null ? " (warm-start cache)" : "", (System.nanoTime() - start) / 1e6);
+            return true;
+        } catch (IOException e) {
+            System.err.println("Error reading question manifest " + resourceName + ": " + e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * The bank this manifest described on an earlier launch, mapped from the warm-start cache.
+     * On a miss the cache is filled in the background, parsing one subject at a time, so the
+     * next launch skips JSON parsing altogether.
+     */
+    private BinaryQuestionBank warmBank(QuestionManifest manifest) {
+        WarmStartCache cache = warmCache;
+        if (cache == null) return null;
+        ByteBuffer cached = cache.read("questions", manifest.contentHash());
+        if (cached != null) {
+            try {
+                return BinaryQuestionBank.wrap(cached);
+            } catch (IOException | RuntimeException e) {
+                System.err.println("Ignoring unreadable cached question bank: " + e.getMessage());
+            }
+        }
+        cache.write("questions", manifest.contentHash(), () -> {
+            Map<String, List<Question>> all = new TreeMap<>();
+            for (String subject : manifest.getSubjects()) {
+                all.put(subject, new ArrayList<>(manifest.questionsFor(subject)));
+            }
+            return ByteBuffer.wrap(BinaryQuestionBank.encode(all));
+        });
+        return null;
+    }
+
+    /** Where manifest-backed banks are cached across launches; null disables it. */
+    public void setWarmCache(WarmStartCache warmCache) {
+        this.warmCache = warmCache;
+    }
+
+    /** How many subjects a manifest-backed bank keeps parsed at once; takes effect on the next load. */
+    public void setCachedSubjects(int cachedSubjects) {
+        this.cachedSubjects = cachedSubjects;
+    }
+
+    /**
+     * Loads a bank produced by {@link QuestionBankCompiler} at build time. The file is memory-mapped
+     * and each subject list decodes questions on access, so nothing is parsed up front. The compiler
+     * only writes banks that passed {@link QuestionValidator}, so nothing is checked here either.
+     * Returns false when the bank is missing or unreadable, so callers can fall back to JSON.
+     */
+    public boolean loadPrecompiledBank(String resourceName) {
+        ClassLoader cl = Thread.currentThread().getContextClassLoader();
+        if (cl == null) cl = getClass().getClassLoader();
+
+        QuestionBankLoadEvent event = new QuestionBankLoadEvent();
+        event.begin();
+        try {
+            BinaryQuestionBank mapped = BinaryQuestionBank.openResource(cl, resourceName);
+            if (mapped == null) return false;
+            Map<String, List<Question>> perSubject = new LinkedHashMap<>();
+            for (String subject : mapped.getSubjects()) {
+                perSubject.put(subject, mapped.questionsFor(subject));
+            }
+            synchronized (publishLock) {
+                // A mapped bank is already compact; publish it as-is
+                QuestionBank next = bank.get().withSources(Map.of(resourceName, perSubject), Collections.emptySet());
+                bank.set(next);
+                commitLoad(event, "precompiled", 1, 0, next);
+            }
+            return true;
+        } catch (IOException e) {
+            System.err.println("Error opening precompiled bank " + resourceName + ": " + e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * Read-only view of the loaded questions, grouped by subject.
+     */
+    public Map<String, List<Question>> getQuestionBank() {
+        return bank.get().getQuestionsBySubject();
+    }
+
+    /**
+     * The current immutable snapshot. Callers that need a stable view across several calls
+     * (e.g. a round in progress) should hold on to this rather than re-reading the loader.
+     */
+    public QuestionBank snapshot() {
+        return bank.get();
+    }
+
+    private Map<String, List<Question>> parseStream(String sourceName, InputStream stream, long startNanos) {
+        if (stream == null) return null;
+
+        Map<String, List<Question>> perSubject = new LinkedHashMap<>();
+        List<QuestionValidator.Problem> problems = new ArrayList<>();
+        int count = 0;
+        try (JsonReader reader = new JsonReader(new InputStreamReader(stream, StandardCharsets.UTF_8))) {
+            reader.beginArray();
+            for (int index = 0; reader.hasNext(); index++) {
+                // Plain JSON has not been through the build-time check; drop what the game cannot show
+                Question q = QuestionValidator.check(sourceName, index, QUESTION_ADAPTER.read(reader), problems);
+                if (q == null) continue;
+                perSubject.computeIfAbsent(q.getSubject(), k -> new ArrayList<>()).add(q);
+                count++;
+            }
+            reader.endArray();
+        } catch (IOException | RuntimeException e) {
             System.err.println("Error parsing resource " + sourceName + ": " + e.getMessage());
+            return null;
+        }
+        for (QuestionValidator.Problem problem : problems) System.err.println("Skipped question: " + problem);
+
+        loadStats.add(new FileLoadStats(sourceName, count, System.nanoTime() - startNanos));
+        return perSubject;
+    }
+
+    /**
+     * Keeps the bank in a {@link CompactQuestionStore} instead of one object graph per question.
+     * Meant for very large banks; getters on the returned questions are unchanged.
+     */
+    public void setCompactStorage(boolean compactStorage) {
+        this.compactStorage = compactStorage;
+    }
+
+    /**
+     * Republishes the current bank held in a compact store; questions are rebuilt on access.
+     */
+    public void compact() {
+        synchronized (publishLock) {
+            bank.set(bank.get().compacted());
         }
     }
 
+    /**
+     * Per-file timings from the loads so far, in completion order.
+     */
+    public List<FileLoadStats> getLoadStats() {
+        return new ArrayList<>(loadStats);
+    }
+
+    /**
+     * Draws up to k distinct random questions for one subject from the current snapshot.
+     * See {@link QuestionBank#sample}.
+     */
+    public List<Question> sample(String subject, int k, RandomGenerator random) {
+        return bank.get().sample(subject, k, random);
+    }
+
     public List<Question> generateGameSet() {
-        List<Question> gameSet = new ArrayList<>();
+        return generateGameSet(new SplittableRandom());
+    }
 
-        for (String subject : questionBank.keySet()) {
-            List<Question> subjectQuestions = questionBank.get(subject);
-            Collections.shuffle(subjectQuestions);
-            int takeCount = Math.min(subjectQuestions.size(), 2);
-            gameSet.addAll(subjectQuestions.subList(0, takeCount));
+    /**
+     * Two questions per subject in random order, drawn only from the given generator so a
+     * seeded generator always yields the same set for the same bank.
+     */
+    public List<Question> generateGameSet(RandomGenerator random) {
+        QuestionBank current = bank.get();
+        return generateGameSet(current, current::sample, random);
+    }
+
+    /**
+     * Same as {@link #generateGameSet(RandomGenerator)}, drawing through the given source,
+     * e.g. a weighted {@link QuestionSampler} over the current snapshot.
+     */
+    public List<Question> generateGameSet(QuestionSource source, RandomGenerator random) {
+        return generateGameSet(bank.get(), source, random);
+    }
+
+    private static List<Question> generateGameSet(QuestionBank current, QuestionSource source, RandomGenerator random) {
+        List<Question> gameSet = new ArrayList<>();
+        for (String subject : current.getQuestionsBySubject().keySet()) {
+            gameSet.addAll(source.sample(subject, 2, random));
         }
 
-        Collections.shuffle(gameSet);
+        for (int i = gameSet.size() - 1; i > 0; i--) {
+            Collections.swap(gameSet, i, random.nextInt(i + 1));
+        }
         return gameSet;
     }
 }
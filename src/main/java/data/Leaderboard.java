@@ -0,0 +1,449 @@
+package data;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * File-backed leaderboard of finished runs, shared by every game instance on the machine.
+ *
+ * The file is memory-mapped and holds the results plus the indexes that answer queries
+ * without rescanning them. There is an overall index, one per subject order and one per bot
+ * order, where an order is the sequence of subjects or bots played as packed by
+ * {@link logic.PlayerSession#getSubjectOrder()}. Each index is a Fenwick tree of result counts
+ * per score, so a rank is O(log scores), plus the top {@link #TOP_K} results. Each player's
+ * results are chained newest first for their history.
+ *
+ * Writers take an exclusive file lock and readers a shared one, so several processes can use
+ * the file at once. A process that sees the file has grown remaps it. A writer flags the file
+ * dirty while it updates it; if it dies half-way, the next process to take the lock, whether it
+ * just opened the file or has had it open all along, rebuilds the indexes from the results.
+ * Use one instance per file per JVM.
+ *
+ * Layout (big-endian):
+ * <pre>
+ *   header   magic, version, result count, result capacity, dirty flag, overall index (4 KB)
+ *   orders   ORDER_SLOTS x (key, index), open addressing; the key's top bit marks bot orders
+ *   players  PLAYER_SLOTS x (name hash, newest result + 1, result count, best score, UTF-8 name)
+ *   results  capacity x (time, seed, player slot, subject order, bot order, score, won, previous result + 1)
+ *   index    Fenwick counts per score, top count, top result ids
+ * </pre>
+ */
+public class Leaderboard implements Closeable {
+
+    public static final int MAGIC = 0x4153544C; // "ASTL"
+    public static final int VERSION = 1;
+
+    /** Scores above this share the top bucket */
+    public static final int MAX_SCORE = 15;
+    public static final int TOP_K = 10;
+
+    private static final int BUCKETS = MAX_SCORE + 1;
+    private static final int INDEX_SIZE = BUCKETS * 4 + 4 + TOP_K * 4;
+    private static final int ORDER_SLOTS = 1 << 16;
+    private static final int ORDER_SLOT_SIZE = 4 + INDEX_SIZE;
+    private static final int BOT_ORDER_TAG = 1 << 31;
+    private static final int PLAYER_SLOTS = 1 << 14;
+    private static final int PLAYER_NAME_BYTES = 32;
+    private static final int PLAYER_SLOT_SIZE = 8 + 4 + 4 + 4 + PLAYER_NAME_BYTES;
+    private static final int RESULT_SIZE = 40;
+    private static final int INITIAL_CAPACITY = 4096;
+
+    private static final int COUNT = 8;
+    private static final int CAPACITY = 12;
+    private static final int DIRTY = 16;
+    private static final int OVERALL = 32;
+    private static final int HEADER_SIZE = 4096;
+    private static final int ORDERS_OFFSET = HEADER_SIZE;
+    private static final int PLAYERS_OFFSET = ORDERS_OFFSET + ORDER_SLOTS * ORDER_SLOT_SIZE;
+    private static final int RESULTS_OFFSET = PLAYERS_OFFSET + PLAYER_SLOTS * PLAYER_SLOT_SIZE;
+
+    /**
+     * One finished run. Orders are packed as in {@link logic.PlayerSession#getSubjectOrder()}.
+     */
+    public record Result(String player, int score, boolean won, long seed, int subjectOrder, int botOrder, long timeMillis) {}
+
+    /** Where a result placed: 1-based rank and index size, overall and for its orders. */
+    public record Standing(int rank, int total, int subjectOrderRank, int subjectOrderTotal,
+                           int botOrderRank, int botOrderTotal) {}
+
+    private interface LockedAction<T> {
+        T run() throws IOException;
+    }
+
+    private final Path path;
+    private final FileChannel channel;
+    private MappedByteBuffer map;
+    private int mappedCapacity;
+
+    private Leaderboard(Path path, FileChannel channel) {
+        this.path = path;
+        this.channel = channel;
+    }
+
+    /**
+     * Opens (or creates) the leaderboard file. Rebuilds the indexes if a writer died mid-update.
+     */
+    public static Leaderboard open(Path path) throws IOException {
+        Path parent = path.toAbsolutePath().getParent();
+        if (parent != null) Files.createDirectories(parent);
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE,
+                StandardOpenOption.READ, StandardOpenOption.WRITE);
+        Leaderboard board = new Leaderboard(path, channel);
+        try {
+            board.locked(false, () -> null);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+        return board;
+    }
+
+    /**
+     * Stores a result, updates every index it belongs to and returns where it placed.
+     */
+    public Standing add(Result result) throws IOException {
+        return locked(false, () -> {
+            int id = map.getInt(COUNT);
+            if (id == mappedCapacity) grow();
+
+            int score = Math.max(0, Math.min(MAX_SCORE, result.score()));
+            // Flagged before the player table changes too
+            map.putInt(DIRTY, 1);
+            int player = playerSlot(result.player(), true);
+            int at = resultOffset(id);
+            map.putLong(at, result.timeMillis());
+            map.putLong(at + 8, result.seed());
+            map.putInt(at + 16, player);
+            map.putInt(at + 20, result.subjectOrder());
+            map.putInt(at + 24, result.botOrder());
+            map.put(at + 28, (byte) score);
+            map.put(at + 29, (byte) (result.won() ? 1 : 0));
+            index(id);
+            map.putInt(COUNT, id + 1);
+            map.putInt(DIRTY, 0);
+            map.force();
+
+            int subjects = orderIndex(result.subjectOrder(), false);
+            int bots = orderIndex(result.botOrder() | BOT_ORDER_TAG, false);
+            return new Standing(rank(OVERALL, score), total(OVERALL),
+                    subjects < 0 ? 0 : rank(subjects, score), subjects < 0 ? 0 : total(subjects),
+                    bots < 0 ? 0 : rank(bots, score), bots < 0 ? 0 : total(bots));
+        });
+    }
+
+    /** Rank a score would have among all results: 1 + the number of better results. */
+    public int rank(int score) throws IOException {
+        return locked(true, () -> rank(OVERALL, clamp(score)));
+    }
+
+    public int rankForSubjectOrder(int subjectOrder, int score) throws IOException {
+        return locked(true, () -> {
+            int index = orderIndex(subjectOrder, false);
+            return index < 0 ? 1 : rank(index, clamp(score));
+        });
+    }
+
+    public int rankForBotOrder(int botOrder, int score) throws IOException {
+        return locked(true, () -> {
+            int index = orderIndex(botOrder | BOT_ORDER_TAG, false);
+            return index < 0 ? 1 : rank(index, clamp(score));
+        });
+    }
+
+    /** Best results overall, highest score first; ties go to the earlier result. */
+    public List<Result> top() throws IOException {
+        return locked(true, () -> top(OVERALL));
+    }
+
+    public List<Result> topForSubjectOrder(int subjectOrder) throws IOException {
+        return locked(true, () -> {
+            int index = orderIndex(subjectOrder, false);
+            return index < 0 ? List.of() : top(index);
+        });
+    }
+
+    public List<Result> topForBotOrder(int botOrder) throws IOException {
+        return locked(true, () -> {
+            int index = orderIndex(botOrder | BOT_ORDER_TAG, false);
+            return index < 0 ? List.of() : top(index);
+        });
+    }
+
+    /** A player's most recent results, newest first. */
+    public List<Result> history(String player, int limit) throws IOException {
+        return locked(true, () -> {
+            List<Result> results = new ArrayList<>();
+            int slot = playerSlot(player, false);
+            if (slot < 0) return results;
+            int id = map.getInt(playerOffset(slot) + 8) - 1;
+            while (id >= 0 && results.size() < limit) {
+                results.add(read(id));
+                id = map.getInt(resultOffset(id) + 32) - 1;
+            }
+            return results;
+        });
+    }
+
+    /** Number of results stored by all processes. */
+    public int size() throws IOException {
+        return locked(true, () -> map.getInt(COUNT));
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    /**
+     * Runs an action under the file lock, after mapping whatever the file has grown to. A dirty
+     * flag seen under the lock means a writer died mid-update, so the indexes are rebuilt first
+     * (under the exclusive lock, which a reader takes over for that).
+     */
+    private synchronized <T> T locked(boolean shared, LockedAction<T> action) throws IOException {
+        while (true) {
+            FileLock lock = channel.lock(0, Long.MAX_VALUE, shared);
+            try {
+                mapFile(shared);
+                if (map.getInt(DIRTY) != 0) {
+                    if (shared) {
+                        shared = false;
+                        continue;
+                    }
+                    rebuild();
+                }
+                return action.run();
+            } finally {
+                lock.release();
+            }
+        }
+    }
+
+    /** Maps the file on first use, or again if another process has grown it. */
+    private void mapFile(boolean shared) throws IOException {
+        if (map == null) {
+            if (channel.size() < HEADER_SIZE) {
+                if (shared) throw new IOException("Leaderboard " + path + " is not initialised");
+                remap(INITIAL_CAPACITY);
+                map.putInt(0, MAGIC);
+                map.putInt(4, VERSION);
+                map.putInt(CAPACITY, INITIAL_CAPACITY);
+            } else {
+                ByteBuffer header = ByteBuffer.allocate(16);
+                channel.read(header, 0);
+                if (header.getInt(0) != MAGIC || header.getInt(4) != VERSION) {
+                    throw new IOException("Not a leaderboard file (bad magic or version): " + path);
+                }
+                remap(header.getInt(CAPACITY));
+            }
+        } else if (map.getInt(CAPACITY) != mappedCapacity) {
+            remap(map.getInt(CAPACITY));
+        }
+    }
+
+    private void remap(int capacity) throws IOException {
+        map = channel.map(FileChannel.MapMode.READ_WRITE, 0, RESULTS_OFFSET + (long) capacity * RESULT_SIZE);
+        mappedCapacity = capacity;
+    }
+
+    private void grow() throws IOException {
+        long next = (long) mappedCapacity * 2;
+        if (RESULTS_OFFSET + next * RESULT_SIZE > Integer.MAX_VALUE) {
+            throw new IOException("Leaderboard " + path + " is full");
+        }
+        remap((int) next);
+        map.putInt(CAPACITY, (int) next);
+    }
+
+    /** Adds a stored result to the overall, order and player indexes. */
+    private void index(int id) {
+        int at = resultOffset(id);
+        int score = map.get(at + 28);
+        insert(OVERALL, id, score);
+
+        int subjectOrder = map.getInt(at + 20);
+        int subjects = subjectOrder == 0 ? -1 : orderIndex(subjectOrder, true);
+        if (subjects >= 0) insert(subjects, id, score);
+        int botOrder = map.getInt(at + 24);
+        int bots = botOrder == 0 ? -1 : orderIndex(botOrder | BOT_ORDER_TAG, true);
+        if (bots >= 0) insert(bots, id, score);
+
+        int player = map.getInt(at + 16);
+        if (player >= 0) {
+            int p = playerOffset(player);
+            map.putInt(at + 32, map.getInt(p + 8));
+            map.putInt(p + 8, id + 1);
+            map.putInt(p + 12, map.getInt(p + 12) + 1);
+            map.putInt(p + 16, Math.max(map.getInt(p + 16), score));
+        }
+    }
+
+    /** Clears all indexes and re-adds every stored result. Player names are kept. */
+    private void rebuild() {
+        long start = System.nanoTime();
+        int count = map.getInt(COUNT);
+        clearIndex(OVERALL);
+        for (int slot = 0; slot < ORDER_SLOTS; slot++) {
+            int at = ORDERS_OFFSET + slot * ORDER_SLOT_SIZE;
+            if (map.getInt(at) != 0) clearIndex(at + 4);
+        }
+        for (int slot = 0; slot < PLAYER_SLOTS; slot++) {
+            int at = playerOffset(slot);
+            map.putInt(at + 8, 0);
+            map.putInt(at + 12, 0);
+            map.putInt(at + 16, 0);
+        }
+        for (int id = 0; id < count; id++) index(id);
+        map.putInt(DIRTY, 0);
+        map.force();
+        System.out.printf("Leaderboard: rebuilt indexes for %d results in %.1f ms%n", count, (System.nanoTime() - start) / 1e6);
+    }
+
+    private void clearIndex(int index) {
+        for (int i = 0; i < INDEX_SIZE; i += 4) map.putInt(index + i, 0);
+    }
+
+    private void insert(int index, int id, int score) {
+        for (int i = score + 1; i <= BUCKETS; i += i & -i) {
+            int at = index + (i - 1) * 4;
+            map.putInt(at, map.getInt(at) + 1);
+        }
+
+        int top = index + BUCKETS * 4;
+        int n = map.getInt(top);
+        int pos = n;
+        while (pos > 0 && map.get(resultOffset(map.getInt(top + 4 * pos)) + 28) < score) pos--;
+        if (pos >= TOP_K) return;
+        for (int i = Math.min(n, TOP_K - 1); i > pos; i--) {
+            map.putInt(top + 4 * (i + 1), map.getInt(top + 4 * i));
+        }
+        map.putInt(top + 4 * (pos + 1), id);
+        map.putInt(top, Math.min(n + 1, TOP_K));
+    }
+
+    /** Number of results with a score at most the given one. */
+    private int atMost(int index, int score) {
+        int sum = 0;
+        for (int i = score + 1; i > 0; i -= i & -i) sum += map.getInt(index + (i - 1) * 4);
+        return sum;
+    }
+
+    private int total(int index) {
+        return atMost(index, MAX_SCORE);
+    }
+
+    private int rank(int index, int score) {
+        return 1 + total(index) - atMost(index, score);
+    }
+
+    private List<Result> top(int index) {
+        int top = index + BUCKETS * 4;
+        int n = map.getInt(top);
+        List<Result> results = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) results.add(read(map.getInt(top + 4 * (i + 1))));
+        return results;
+    }
+
+    private Result read(int id) {
+        int at = resultOffset(id);
+        int player = map.getInt(at + 16);
+        return new Result(player < 0 ? null : playerName(player), map.get(at + 28), map.get(at + 29) != 0,
+                map.getLong(at + 8), map.getInt(at + 20), map.getInt(at + 24), map.getLong(at));
+    }
+
+    /** Offset of the index for an order key, or -1 if it has none (or the table is full). */
+    private int orderIndex(int key, boolean create) {
+        if (key == 0 || key == BOT_ORDER_TAG) return -1;
+        int mask = ORDER_SLOTS - 1;
+        int h = mix(key) & mask;
+        for (int probe = 0; probe < ORDER_SLOTS; probe++) {
+            int at = ORDERS_OFFSET + ((h + probe) & mask) * ORDER_SLOT_SIZE;
+            int k = map.getInt(at);
+            if (k == key) return at + 4;
+            if (k == 0) {
+                if (!create) return -1;
+                map.putInt(at, key);
+                return at + 4;
+            }
+        }
+        return -1;
+    }
+
+    /** Slot of a player, or -1 if unknown (or the table is full). */
+    private int playerSlot(String name, boolean create) {
+        if (name == null || name.isEmpty()) return -1;
+        long hash = hash(name);
+        int mask = PLAYER_SLOTS - 1;
+        int h = mix((int) (hash ^ (hash >>> 32))) & mask;
+        for (int probe = 0; probe < PLAYER_SLOTS; probe++) {
+            int slot = (h + probe) & mask;
+            int at = playerOffset(slot);
+            long k = map.getLong(at);
+            if (k == hash) return slot;
+            if (k == 0) {
+                if (!create) return -1;
+                map.putLong(at, hash);
+                byte[] bytes = truncate(name);
+                map.put(at + 20, (byte) bytes.length);
+                map.put(at + 21, bytes);
+                return slot;
+            }
+        }
+        System.err.println("Leaderboard player table is full; not tracking history for " + name);
+        return -1;
+    }
+
+    private String playerName(int slot) {
+        int at = playerOffset(slot) + 20;
+        byte[] bytes = new byte[map.get(at)];
+        map.get(at + 1, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /** UTF-8 bytes of the name, cut at a character boundary to fit the slot. */
+    private static byte[] truncate(String name) {
+        String s = name;
+        byte[] bytes = s.getBytes(StandardCharsets.UTF_8);
+        while (bytes.length > PLAYER_NAME_BYTES - 1) {
+            s = s.substring(0, s.offsetByCodePoints(s.length(), -1));
+            bytes = s.getBytes(StandardCharsets.UTF_8);
+        }
+        return bytes;
+    }
+
+    private static int clamp(int score) {
+        return Math.max(0, Math.min(MAX_SCORE, score));
+    }
+
+    private static int resultOffset(int id) {
+        return RESULTS_OFFSET + id * RESULT_SIZE;
+    }
+
+    private static int playerOffset(int slot) {
+        return PLAYERS_OFFSET + slot * PLAYER_SLOT_SIZE;
+    }
+
+    private static int mix(int key) {
+        int h = key * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+
+    /** 64-bit FNV-1a of the name; never 0, which marks a free slot. */
+    private static long hash(String name) {
+        long h = 0xcbf29ce484222325L;
+        for (byte b : name.getBytes(StandardCharsets.UTF_8)) {
+            h ^= b & 0xFF;
+            h *= 0x100000001b3L;
+        }
+        return h == 0 ? 1 : h;
+    }
+}
@@ -0,0 +1,252 @@
+package data;
+
+import logic.Question;
+import logic.ReviewSchedule;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Practice-mode storage: a stable card number for every question and one schedule file per
+ * player.
+ *
+ * Card numbers (ordinals) are assigned in {@code deck.keys}, an append-only list of
+ * {@link QuestionAnalytics#key question keys}, so a card keeps its number across bank reloads
+ * and edits elsewhere in the bank. A player's {@code <name>.srs} file holds a 16-byte header
+ * and a fixed 12-byte record per ordinal; a save rewrites only the records that changed.
+ *
+ * The deck keeps only where each card's question sits in the bank (subject and position) and
+ * resolves the question when it is asked for. Keys come from the bank's index where it has one
+ * (a manifest-backed bank), so numbering the cards parses no packs and memory does not grow
+ * with the number of questions shipped.
+ */
+public class PracticeDeck {
+
+    private static final int MAGIC = 0x41535452; // "ASTR"
+    private static final int VERSION = 1;
+    private static final int HEADER = 16;
+    private static final int RECORD = 12;
+
+    private final Path dir;
+    private final FileChannel keysFile;
+    private final Map<Long, Integer> ordinals = new HashMap<>();
+    private long[] keys = new long[0];
+    /** Where each ordinal's question is in the synced bank; a null subject if it is not in it */
+    private volatile Cards cards = new Cards(null, new String[0], new int[0]);
+
+    /** A synced bank and, per ordinal, the subject and position of its question there */
+    private record Cards(QuestionBank bank, String[] subjects, int[] positions) { }
+
+    /** Saves run in order, off the FX thread */
+    private final ExecutorService writer = Executors.newSingleThreadExecutor(r -> {
+        Thread t = new Thread(r, "practice-writer");
+        t.setDaemon(true);
+        return t;
+    });
+
+    private PracticeDeck(Path dir, FileChannel keysFile) {
+        this.dir = dir;
+        this.keysFile = keysFile;
+    }
+
+    /** Opens or creates the deck in the given directory. */
+    public static PracticeDeck open(Path dir) throws IOException {
+        Files.createDirectories(dir);
+        FileChannel ch = FileChannel.open(dir.resolve("deck.keys"),
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        PracticeDeck deck = new PracticeDeck(dir, ch);
+        // A torn append leaves a partial key at the end; drop it
+        long whole = ch.size() / Long.BYTES * Long.BYTES;
+        if (whole != ch.size()) ch.truncate(whole);
+        ByteBuffer buf = ByteBuffer.allocate((int) whole).order(ByteOrder.LITTLE_ENDIAN);
+        while (buf.hasRemaining() && ch.read(buf, buf.position()) >= 0) { }
+        buf.flip();
+        deck.keys = new long[(int) (whole / Long.BYTES)];
+        for (int i = 0; i < deck.keys.length; i++) {
+            deck.keys[i] = buf.getLong();
+            deck.ordinals.putIfAbsent(deck.keys[i], i);
+        }
+        return deck;
+    }
+
+    /**
+     * Numbers any new questions of the bank and maps every ordinal to its question's place.
+     * Cheap when the bank has not changed since the last call.
+     */
+    public synchronized int sync(QuestionBank bank) throws IOException {
+        if (bank == cards.bank()) return keys.length;
+        int known = keys.length;
+        String[] subjects = new String[known];
+        int[] positions = new int[known];
+        long[] added = new long[16];
+        int addedCount = 0;
+        for (Map.Entry<String, List<Question>> subject : bank.getQuestionsBySubject().entrySet()) {
+            List<Question> list = subject.getValue();
+            for (int i = 0; i < list.size(); i++) {
+                long key = list instanceof QuestionBank.Keyed keyed ? keyed.key(i) : QuestionAnalytics.key(list.get(i));
+                Integer ordinal = ordinals.get(key);
+                if (ordinal == null) {
+                    ordinal = known + addedCount;
+                    ordinals.put(key, ordinal);
+                    if (addedCount == added.length) added = Arrays.copyOf(added, addedCount * 2);
+                    added[addedCount++] = key;
+                    if (subjects.length <= ordinal) {
+                        subjects = Arrays.copyOf(subjects, Math.max(16, ordinal * 2));
+                        positions = Arrays.copyOf(positions, subjects.length);
+                    }
+                }
+                subjects[ordinal] = subject.getKey();
+                positions[ordinal] = i;
+            }
+        }
+        if (addedCount > 0) {
+            ByteBuffer buf = ByteBuffer.allocate(addedCount * Long.BYTES).order(ByteOrder.LITTLE_ENDIAN);
+            for (int i = 0; i < addedCount; i++) buf.putLong(added[i]);
+            buf.flip();
+            long at = (long) known * Long.BYTES;
+            while (buf.hasRemaining()) at += keysFile.write(buf, at);
+            keysFile.force(false);
+            keys = Arrays.copyOf(keys, known + addedCount);
+            System.arraycopy(added, 0, keys, known, addedCount);
+        }
+        cards = new Cards(bank, Arrays.copyOf(subjects, keys.length), Arrays.copyOf(positions, keys.length));
+        return keys.length;
+    }
+
+    /** Cards in the deck, including ones whose question has left the bank. */
+    public synchronized int size() {
+        return keys.length;
+    }
+
+    /** Whether a card's question is in the synced bank; does not load the question. */
+    public boolean has(int ordinal) {
+        String[] subjects = cards.subjects();
+        return ordinal < subjects.length && subjects[ordinal] != null;
+    }
+
+    /**
+     * The question for a card, or null if it is no longer in the bank. With a manifest-backed
+     * bank this may parse the card's subject, within the bank's bounded subject cache.
+     */
+    public Question question(int ordinal) {
+        Cards current = cards;
+        if (ordinal >= current.subjects().length || current.subjects()[ordinal] == null) return null;
+        return current.bank().getQuestionsBySubject().get(current.subjects()[ordinal]).get(current.positions()[ordinal]);
+    }
+
+    /** Reads a player's schedule; a player without one starts with every card new. */
+    public ReviewSchedule load(String player) throws IOException {
+        int cards = size();
+        ReviewSchedule schedule = new ReviewSchedule(cards);
+        Path file = scheduleFile(player);
+        if (!Files.exists(file)) return schedule;
+
+        try (FileChannel ch = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = ch.size();
+            if (size < HEADER) return schedule;
+            ByteBuffer buf = ByteBuffer.allocate((int) Math.min(size, HEADER + (long) cards * RECORD))
+                    .order(ByteOrder.LITTLE_ENDIAN);
+            while (buf.hasRemaining() && ch.read(buf, buf.position()) >= 0) { }
+            buf.flip();
+            if (buf.getInt() != MAGIC || buf.getInt() != VERSION) {
+                System.err.println("Ignoring unreadable practice schedule " + file);
+                return schedule;
+            }
+            buf.position(HEADER);
+            for (int card = 0; buf.remaining() >= RECORD; card++) {
+                int due = buf.getInt();
+                int interval = buf.getInt();
+                short ease = buf.getShort();
+                byte reps = buf.get();
+                byte lapses = buf.get();
+                if (due != 0) schedule.load(card, due, interval, ease, reps, lapses);
+            }
+        }
+        schedule.rebuildQueue();
+        return schedule;
+    }
+
+    /**
+     * Writes the cards changed since the last save. The records are copied out before this
+     * returns, so the caller may keep using the schedule while the write completes.
+     */
+    public CompletableFuture<Void> save(String player, ReviewSchedule schedule) {
+        int[] cards = schedule.dirtyCards();
+        schedule.clearDirty();
+        if (cards.length == 0) return CompletableFuture.completedFuture(null);
+        ByteBuffer records = ByteBuffer.allocate(cards.length * RECORD).order(ByteOrder.LITTLE_ENDIAN);
+        for (int card : cards) {
+            records.putInt(schedule.dueMinute(card));
+            records.putInt(schedule.intervalMinutes(card));
+            records.putShort((short) schedule.ease(card));
+            records.put((byte) schedule.repetitions(card));
+            records.put((byte) schedule.lapses(card));
+        }
+        records.flip();
+        Path file = scheduleFile(player);
+        return CompletableFuture.runAsync(() -> {
+            try {
+                write(file, cards, records);
+            } catch (IOException e) {
+                System.err.println("Error saving practice schedule: " + e.getMessage());
+            }
+        }, writer);
+    }
+
+    private static void write(Path file, int[] cards, ByteBuffer records) throws IOException {
+        try (FileChannel ch = FileChannel.open(file, StandardOpenOption.CREATE,
+                StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            if (ch.size() < HEADER) {
+                ByteBuffer header = ByteBuffer.allocate(HEADER).order(ByteOrder.LITTLE_ENDIAN);
+                header.putInt(MAGIC).putInt(VERSION).flip();
+                ch.write(header, 0);
+            }
+            // Runs of neighbouring cards go out in one write
+            int i = 0;
+            while (i < cards.length) {
+                int j = i + 1;
+                while (j < cards.length && cards[j] == cards[j - 1] + 1) j++;
+                ByteBuffer run = records.slice(i * RECORD, (j - i) * RECORD);
+                long at = HEADER + (long) cards[i] * RECORD;
+                while (run.hasRemaining()) at += ch.write(run, at);
+                i = j;
+            }
+            ch.force(false);
+        }
+    }
+
+    /** Waits for pending saves and closes the deck. */
+    public void close() {
+        writer.shutdown();
+        try {
+            writer.awaitTermination(5, TimeUnit.SECONDS);
+            keysFile.close();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (IOException e) {
+            System.err.println("Error closing practice deck: " + e.getMessage());
+        }
+    }
+
+    private Path scheduleFile(String player) {
+        StringBuilder name = new StringBuilder();
+        for (char c : player.toCharArray()) {
+            name.append(Character.isLetterOrDigit(c) || c == '-' || c == '_' ? c : '_');
+        }
+        if (name.length() == 0) name.append('_');
+        return dir.resolve(name + ".srs");
+    }
+}
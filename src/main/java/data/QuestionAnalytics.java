@@ -0,0 +1,457 @@
+package data;
+
+import logic.GameSession;
+import logic.Question;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Per-question answer statistics, to find questions that are too easy or too hard.
+ *
+ * The game thread records each answer (outcome, time since the question was shown, lifelines
+ * used on it) and each game's final score into a fixed ring buffer of primitive slots, so
+ * recording never locks or allocates; if the ring is full the event is dropped and counted.
+ * One background thread drains the ring into per-question counters and a log2 latency
+ * histogram, and every {@link #FLUSH_INTERVAL_MILLIS} saves them, so statistics accumulate
+ * across sessions. Several game instances can share the file: a save takes a lock on a
+ * sibling {@code .lock} file, adds what this process recorded since its last save to the
+ * file's current contents, swaps the result in and adopts it, so no instance overwrites
+ * another's answers and each sees the others' at its next save.
+ *
+ * Difficulty is the share of correct answers. Discrimination is the correlation between
+ * answering a question correctly and the rest of that game's score (final score minus this
+ * answer). Both are kept as running sums, so reading them never rescans history. Answers
+ * submitted by the Copy lifeline are the bot's, not the player's, and are left out of both.
+ *
+ * Only one thread may record (the JavaFX thread).
+ */
+public class QuestionAnalytics implements Closeable {
+
+    /** Lifeline flags for {@link #recordAnswer} */
+    public static final int ASKED = 1;
+    public static final int COPIED = 2;
+
+    /** Minimum graded answers before a question is called too easy or too hard */
+    public static final int MIN_ANSWERS = 20;
+
+    private static final int MAGIC = 0x41535441; // "ASTA"
+    private static final int VERSION = 1;
+    private static final int RING_SIZE = 1 << 12;
+    private static final int LATENCY_BUCKETS = 16;
+    private static final long FLUSH_INTERVAL_MILLIS = 30_000;
+    private static final long POLL_NANOS = 50_000_000L;
+    /** Games that never report a final score are forgotten after this many newer ones */
+    private static final int MAX_PENDING_GAMES = 64;
+
+    private static final int GAME_END = -1;
+    private static final GameSession.GameResult[] RESULTS = GameSession.GameResult.values();
+
+    /** Ring slots; an answer uses key, game, nanos and info = result ordinal | lifelines << 8 */
+    private final long[] ringKey = new long[RING_SIZE];
+    private final long[] ringGame = new long[RING_SIZE];
+    private final long[] ringNanos = new long[RING_SIZE];
+    private final int[] ringInfo = new int[RING_SIZE];
+    /** Next slot to write, published by the producer; next slot to read, published by the drainer */
+    private final AtomicLong tail = new AtomicLong();
+    private final AtomicLong head = new AtomicLong();
+    /** Producer-only */
+    private long cachedHead;
+    private long dropped;
+
+    /** Aggregates; written by the drainer, read by callers under the same lock */
+    private final Map<Long, Stats> stats = new HashMap<>();
+    /** What this process added to the aggregates since its last save; same lock */
+    private final Map<Long, Stats> unsaved = new HashMap<>();
+    private final Map<Long, PendingGame> pending = new LinkedHashMap<>(16, 0.75f, false) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Long, PendingGame> eldest) {
+            return size() > MAX_PENDING_GAMES;
+        }
+    };
+
+    private final Path file;
+    private final Thread drainer;
+    private volatile boolean running = true;
+    private boolean dirty;
+
+    private static final class Stats {
+        int answered, graded, correct, saved, failed, asked, copied;
+        final int[] latency = new int[LATENCY_BUCKETS];
+        /** Item score x (0/1) against rest-of-game score y, over answers of finished games */
+        long n;
+        double sx, sy, syy, sxy;
+
+        /** Counts one answer; returns whether it was graded (not submitted by the Copy lifeline). */
+        boolean answer(GameSession.GameResult result, long nanos, int lifelines) {
+            answered++;
+            long millis = nanos / 1_000_000;
+            latency[millis <= 0 ? 0 : Math.min(LATENCY_BUCKETS - 1, 64 - Long.numberOfLeadingZeros(millis))]++;
+            if ((lifelines & ASKED) != 0) asked++;
+            if ((lifelines & COPIED) != 0) {
+                copied++;
+                return false;
+            }
+            graded++;
+            if (result == GameSession.GameResult.CORRECT) correct++;
+            else if (result == GameSession.GameResult.SAVED_BY_CHATBOT) saved++;
+            else failed++;
+            return true;
+        }
+
+        /** Adds an answer's item score x against the rest of its game's score y. */
+        void settle(int x, double y) {
+            n++;
+            sx += x;
+            sy += y;
+            syy += y * y;
+            sxy += x * y;
+        }
+
+        void add(Stats o) {
+            answered += o.answered;
+            graded += o.graded;
+            correct += o.correct;
+            saved += o.saved;
+            failed += o.failed;
+            asked += o.asked;
+            copied += o.copied;
+            for (int b = 0; b < LATENCY_BUCKETS; b++) latency[b] += o.latency[b];
+            n += o.n;
+            sx += o.sx;
+            sy += o.sy;
+            syy += o.syy;
+            sxy += o.sxy;
+        }
+
+        double discrimination() {
+            double vx = n * sx - sx * sx;
+            double vy = n * syy - sy * sy;
+            return vx <= 0 || vy <= 0 ? Double.NaN : (n * sxy - sx * sy) / Math.sqrt(vx * vy);
+        }
+    }
+
+    private static final class PendingGame {
+        long[] keys = new long[16];
+        int[] correct = new int[16];
+        int size;
+    }
+
+    /**
+     * Aggregated numbers for one question. Difficulty is the share answered correctly;
+     * discrimination is NaN until there is enough spread in the data. The median latency is
+     * rounded down to a power of two milliseconds (the histogram's resolution).
+     */
+    public record QuestionStats(long key, int answered, int graded, int correct, int saved, int failed,
+                                int asked, int copied, double difficulty, double discrimination,
+                                long medianLatencyMillis) {}
+
+    private QuestionAnalytics(Path file) {
+        this.file = file;
+        try {
+            stats.putAll(read(file));
+        } catch (IOException e) {
+            System.err.println("Error loading question analytics from " + file + ": " + e.getMessage());
+        }
+        drainer = new Thread(this::run, "question-analytics");
+        drainer.setDaemon(true);
+        drainer.setPriority(Thread.MIN_PRIORITY);
+    }
+
+    /** Loads the saved aggregates (if any) and starts draining. */
+    public static QuestionAnalytics start(Path file) {
+        QuestionAnalytics analytics = new QuestionAnalytics(file);
+        analytics.drainer.start();
+        return analytics;
+    }
+
+    /** Stable identity of a question across runs and bank formats: a hash of subject and text. */
+    public static long key(Question q) {
+        long h = 0xcbf29ce484222325L;
+        h = hash(h, q.getSubject());
+        h = (h ^ 0xFF) * 0x100000001b3L;
+        return hash(h, q.getText());
+    }
+
+    /**
+     * Records one submitted answer. Does not block or allocate.
+     *
+     * @param gameId       identifies the run within this process; two runs must never share one
+     * @param latencyNanos time from the question being shown to the answer
+     * @param lifelines    {@link #ASKED} and/or {@link #COPIED}
+     */
+    public void recordAnswer(long questionKey, long gameId, GameSession.GameResult result, long latencyNanos, int lifelines) {
+        publish(questionKey, gameId, latencyNanos, result.ordinal() | lifelines << 8);
+    }
+
+    /** Records a game's final score, which settles the discrimination of its answers. */
+    public void recordGameEnd(long gameId, int finalScore) {
+        publish(0, gameId, finalScore, GAME_END);
+    }
+
+    private void publish(long key, long game, long value, int info) {
+        long t = tail.get();
+        if (t - cachedHead >= RING_SIZE) {
+            cachedHead = head.get();
+            if (t - cachedHead >= RING_SIZE) {
+                dropped++;
+                return;
+            }
+        }
+        int i = (int) t & (RING_SIZE - 1);
+        ringKey[i] = key;
+        ringGame[i] = game;
+        ringNanos[i] = value;
+        ringInfo[i] = info;
+        tail.lazySet(t + 1);
+    }
+
+    /** Current aggregates for every question seen so far. */
+    public List<QuestionStats> snapshot() {
+        synchronized (stats) {
+            List<QuestionStats> result = new ArrayList<>(stats.size());
+            for (Map.Entry<Long, Stats> e : stats.entrySet()) {
+                Stats s = e.getValue();
+                result.add(new QuestionStats(e.getKey(), s.answered, s.graded, s.correct, s.saved, s.failed,
+                        s.asked, s.copied, s.graded == 0 ? Double.NaN : s.correct / (double) s.graded,
+                        s.discrimination(), medianMillis(s.latency)));
+            }
+            return result;
+        }
+    }
+
+    /**
+     * Sampling weight for a question, for {@link QuestionSampler}: questions answered less often
+     * are favoured (1 / sqrt(1 + answers)), and ones already known to be too easy or too hard
+     * are shown less.
+     */
+    public double weight(Question q) {
+        Stats s;
+        synchronized (stats) {
+            s = stats.get(key(q));
+            if (s == null) return 1.0;
+            double w = 1.0 / Math.sqrt(1 + s.answered);
+            if (s.graded >= MIN_ANSWERS) {
+                double p = s.correct / (double) s.graded;
+                if (p > 0.9) w *= 0.25;
+                else if (p < 0.2) w *= 0.5;
+            }
+            return w;
+        }
+    }
+
+    public void logSummary() {
+        int answers = 0, easy = 0, hard = 0, negative = 0;
+        List<QuestionStats> all = snapshot();
+        for (QuestionStats q : all) {
+            answers += q.answered();
+            if (q.graded() < MIN_ANSWERS) continue;
+            if (q.difficulty() > 0.9) easy++;
+            if (q.difficulty() < 0.2) hard++;
+            if (q.discrimination() < 0) negative++;
+        }
+        System.out.printf("Analytics: %d answers on %d questions (%d dropped); with %d+ answers: %d too easy, %d too hard, %d negatively discriminating%n",
+                answers, all.size(), dropped, MIN_ANSWERS, easy, hard, negative);
+    }
+
+    /** Drains what is left, writes the aggregates and stops the background thread. */
+    @Override
+    public void close() {
+        running = false;
+        LockSupport.unpark(drainer);
+        try {
+            drainer.join(5000);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void run() {
+        long lastFlush = System.currentTimeMillis();
+        while (running) {
+            int drained = drain();
+            if (dirty && System.currentTimeMillis() - lastFlush >= FLUSH_INTERVAL_MILLIS) {
+                save();
+                lastFlush = System.currentTimeMillis();
+            }
+            if (drained == 0) LockSupport.parkNanos(POLL_NANOS);
+        }
+        drain();
+        if (dirty) save();
+    }
+
+    private int drain() {
+        long h = head.get();
+        long t = tail.get();
+        if (h == t) return 0;
+        synchronized (stats) {
+            for (long seq = h; seq < t; seq++) {
+                int i = (int) seq & (RING_SIZE - 1);
+                if (ringInfo[i] == GAME_END) {
+                    gameEnded(ringGame[i], (int) ringNanos[i]);
+                } else {
+                    answered(ringKey[i], ringGame[i], RESULTS[ringInfo[i] & 0xFF], ringNanos[i], ringInfo[i] >>> 8);
+                }
+            }
+        }
+        head.lazySet(t);
+        dirty = true;
+        return (int) (t - h);
+    }
+
+    private void answered(long key, long game, GameSession.GameResult result, long nanos, int lifelines) {
+        unsaved.computeIfAbsent(key, k -> new Stats()).answer(result, nanos, lifelines);
+        if (!stats.computeIfAbsent(key, k -> new Stats()).answer(result, nanos, lifelines)) return;
+
+        boolean correct = result == GameSession.GameResult.CORRECT;
+        PendingGame g = pending.computeIfAbsent(game, k -> new PendingGame());
+        if (g.size == g.keys.length) {
+            g.keys = Arrays.copyOf(g.keys, g.size * 2);
+            g.correct = Arrays.copyOf(g.correct, g.size * 2);
+        }
+        g.keys[g.size] = key;
+        g.correct[g.size++] = correct ? 1 : 0;
+    }
+
+    private void gameEnded(long game, int finalScore) {
+        PendingGame g = pending.remove(game);
+        if (g == null) return;
+        for (int i = 0; i < g.size; i++) {
+            int x = g.correct[i];
+            stats.computeIfAbsent(g.keys[i], k -> new Stats()).settle(x, finalScore - x);
+            unsaved.computeIfAbsent(g.keys[i], k -> new Stats()).settle(x, finalScore - x);
+        }
+    }
+
+    private static long medianMillis(int[] latency) {
+        int total = 0;
+        for (int c : latency) total += c;
+        int seen = 0;
+        for (int b = 0; b < latency.length; b++) {
+            seen += latency[b];
+            if (seen * 2 >= total && total > 0) return b == 0 ? 0 : 1L << (b - 1);
+        }
+        return 0;
+    }
+
+    /**
+     * Under the file lock, adds this process's unsaved counts to the file's current contents,
+     * swaps that in through a temporary file and adopts it as the aggregates. Drainer thread only.
+     */
+    private void save() {
+        Path tmp = file.resolveSibling(file.getFileName() + ".tmp");
+        try {
+            Path parent = file.toAbsolutePath().getParent();
+            if (parent != null) Files.createDirectories(parent);
+            try (FileChannel lockChannel = FileChannel.open(file.resolveSibling(file.getFileName() + ".lock"),
+                    StandardOpenOption.CREATE, StandardOpenOption.WRITE)) {
+                // Released when the channel closes
+                lockChannel.lock();
+                Map<Long, Stats> merged;
+                try {
+                    merged = read(file);
+                } catch (IOException e) {
+                    System.err.println("Replacing unreadable question analytics " + file + ": " + e.getMessage());
+                    merged = new HashMap<>();
+                }
+                synchronized (stats) {
+                    for (Map.Entry<Long, Stats> e : unsaved.entrySet()) {
+                        merged.computeIfAbsent(e.getKey(), k -> new Stats()).add(e.getValue());
+                    }
+                    write(tmp, merged);
+                    Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+                    stats.clear();
+                    stats.putAll(merged);
+                    unsaved.clear();
+                    dirty = false;
+                }
+            }
+        } catch (IOException e) {
+            System.err.println("Error saving question analytics to " + file + ": " + e.getMessage());
+        }
+    }
+
+    private static void write(Path path, Map<Long, Stats> all) throws IOException {
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(path)))) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeInt(all.size());
+            for (Map.Entry<Long, Stats> e : all.entrySet()) {
+                Stats s = e.getValue();
+                out.writeLong(e.getKey());
+                out.writeInt(s.answered);
+                out.writeInt(s.graded);
+                out.writeInt(s.correct);
+                out.writeInt(s.saved);
+                out.writeInt(s.failed);
+                out.writeInt(s.asked);
+                out.writeInt(s.copied);
+                for (int c : s.latency) out.writeInt(c);
+                out.writeLong(s.n);
+                out.writeDouble(s.sx);
+                out.writeDouble(s.sy);
+                out.writeDouble(s.syy);
+                out.writeDouble(s.sxy);
+            }
+        }
+    }
+
+    /** The aggregates saved in a file; empty if there is none yet. */
+    private static Map<Long, Stats> read(Path path) throws IOException {
+        Map<Long, Stats> all = new HashMap<>();
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(path)))) {
+            if (in.readInt() != MAGIC || in.readInt() != VERSION) {
+                throw new IOException("not a question analytics file");
+            }
+            int count = in.readInt();
+            for (int i = 0; i < count; i++) {
+                long key = in.readLong();
+                Stats s = new Stats();
+                s.answered = in.readInt();
+                s.graded = in.readInt();
+                s.correct = in.readInt();
+                s.saved = in.readInt();
+                s.failed = in.readInt();
+                s.asked = in.readInt();
+                s.copied = in.readInt();
+                for (int b = 0; b < LATENCY_BUCKETS; b++) s.latency[b] = in.readInt();
+                s.n = in.readLong();
+                s.sx = in.readDouble();
+                s.sy = in.readDouble();
+                s.syy = in.readDouble();
+                s.sxy = in.readDouble();
+                all.put(key, s);
+            }
+        } catch (NoSuchFileException e) {
+            // First run
+        }
+        return all;
+    }
+
+    private static long hash(long h, String s) {
+        if (s == null) return h;
+        for (int i = 0; i < s.length(); i++) {
+            h ^= s.charAt(i);
+            h *= 0x100000001b3L;
+        }
+        return h;
+    }
+}
@@ -0,0 +1,201 @@
+package data;
+
+import logic.Question;
+
+import java.util.*;
+import java.util.random.RandomGenerator;
+
+/**
+ * Immutable snapshot of the question bank. {@link JsonDataLoader} publishes a new snapshot
+ * whenever files are (re)loaded, so anyone holding an older one keeps a consistent view.
+ *
+ * Questions are kept per source file so a reload can replace just the files that changed;
+ * the per-subject lists are derived from those, in source-name order.
+ */
+public final class QuestionBank {
+
+    public static final QuestionBank EMPTY = new QuestionBank(new TreeMap<>(), 0);
+
+    private final SortedMap<String, Map<String, List<Question>>> sources;
+    private final Map<String, List<Question>> bySubject;
+    private final Map<String, List<Question>> subjectIndex;
+    private final long version;
+    private final int size;
+
+    private QuestionBank(SortedMap<String, Map<String, List<Question>>> sources, long version) {
+        this.sources = Collections.unmodifiableSortedMap(sources);
+        this.version = version;
+
+        Map<String, List<List<Question>>> parts = new TreeMap<>();
+        for (Map<String, List<Question>> perSubject : sources.values()) {
+            for (Map.Entry<String, List<Question>> e : perSubject.entrySet()) {
+                parts.computeIfAbsent(e.getKey(), k -> new ArrayList<>()).add(e.getValue());
+            }
+        }
+
+        // Lists are joined by reference, never copied, so compact or mapped views stay lazy
+        Map<String, List<Question>> merged = new TreeMap<>();
+        Map<String, List<Question>> index = new HashMap<>();
+        int total = 0;
+        for (Map.Entry<String, List<List<Question>>> e : parts.entrySet()) {
+            List<Question> list = concat(e.getValue());
+            merged.put(e.getKey(), list);
+            index.putIfAbsent(e.getKey().toUpperCase(Locale.ROOT), list);
+            total += list.size();
+        }
+        this.bySubject = Collections.unmodifiableMap(merged);
+        this.subjectIndex = index;
+        this.size = total;
+    }
+
+    /**
+     * A question list that can tell a question's {@link QuestionAnalytics#key key} without
+     * building it, e.g. from an index, so walking every key does not parse the bank.
+     */
+    interface Keyed {
+        long key(int index);
+    }
+
+    private static List<Question> concat(List<List<Question>> parts) {
+        int[] starts = new int[parts.size() + 1];
+        for (int i = 0; i < parts.size(); i++) starts[i + 1] = starts[i] + parts.get(i).size();
+        return new Joined(parts, starts);
+    }
+
+    /** Per-subject list over the parts from each source; keys come from parts that know them. */
+    private static final class Joined extends AbstractList<Question> implements Keyed {
+        private final List<List<Question>> parts;
+        private final int[] starts;
+
+        Joined(List<List<Question>> parts, int[] starts) {
+            this.parts = parts;
+            this.starts = starts;
+        }
+
+        @Override
+        public Question get(int index) {
+            int part = part(index);
+            return parts.get(part).get(index - starts[part]);
+        }
+
+        @Override
+        public long key(int index) {
+            int part = part(index);
+            List<Question> list = parts.get(part);
+            return list instanceof Keyed keyed ? keyed.key(index - starts[part]) : QuestionAnalytics.key(list.get(index - starts[part]));
+        }
+
+        @Override
+        public int size() {
+            return starts[parts.size()];
+        }
+
+        private int part(int index) {
+            Objects.checkIndex(index, starts[parts.size()]);
+            if (parts.size() == 1) return 0;
+            int part = Arrays.binarySearch(starts, index);
+            // An exact hit can land on an empty part, so skip forward to the part that owns it
+            if (part >= 0) {
+                while (starts[part + 1] == index) part++;
+            } else {
+                part = -part - 2;
+            }
+            return part;
+        }
+    }
+
+    /**
+     * Returns a new snapshot with the given sources added or replaced and the removed ones dropped.
+     */
+    public QuestionBank withSources(Map<String, Map<String, List<Question>>> updated, Collection<String> removed) {
+        SortedMap<String, Map<String, List<Question>>> next = new TreeMap<>(sources);
+        next.keySet().removeAll(removed);
+        next.putAll(updated);
+        return new QuestionBank(next, version + 1);
+    }
+
+    /**
+     * Returns a snapshot with the same content held in one {@link CompactQuestionStore}.
+     */
+    public QuestionBank compacted() {
+        return new QuestionBank(new TreeMap<>(compact(sources)), version);
+    }
+
+    /**
+     * Moves the given sources' questions into one new {@link CompactQuestionStore} and returns
+     * views over it, keyed like the input. A reload compacts just the files it re-parsed this
+     * way and hands them to {@link #withSources}, leaving the other sources' views as they are.
+     */
+    public static Map<String, Map<String, List<Question>>> compact(Map<String, Map<String, List<Question>>> sources) {
+        CompactQuestionStore store = new CompactQuestionStore();
+        Map<String, Map<String, int[]>> ordinals = new LinkedHashMap<>();
+        for (Map.Entry<String, Map<String, List<Question>>> source : sources.entrySet()) {
+            Map<String, int[]> perSubject = new LinkedHashMap<>();
+            for (Map.Entry<String, List<Question>> e : source.getValue().entrySet()) {
+                List<Question> list = e.getValue();
+                int[] ids = new int[list.size()];
+                for (int i = 0; i < ids.length; i++) ids[i] = store.add(list.get(i));
+                perSubject.put(e.getKey(), ids);
+            }
+            ordinals.put(source.getKey(), perSubject);
+        }
+        store.trimToSize();
+
+        Map<String, Map<String, List<Question>>> views = new LinkedHashMap<>();
+        for (Map.Entry<String, Map<String, int[]>> source : ordinals.entrySet()) {
+            Map<String, List<Question>> perSubject = new LinkedHashMap<>();
+            source.getValue().forEach((subject, ids) -> perSubject.put(subject, store.view(ids)));
+            views.put(source.getKey(), perSubject);
+        }
+        System.out.printf("Compacted %d questions into ~%d KB%n", store.size(), store.estimatedBytes() / 1024);
+        return views;
+    }
+
+    /** Questions grouped by subject, subjects in name order. */
+    public Map<String, List<Question>> getQuestionsBySubject() {
+        return bySubject;
+    }
+
+    /** Case-insensitive lookup of one subject's questions; empty when unknown. */
+    public List<Question> questionsFor(String subject) {
+        List<Question> list = subject == null ? null : subjectIndex.get(subject.toUpperCase(Locale.ROOT));
+        return list == null ? Collections.emptyList() : list;
+    }
+
+    public Set<String> getSources() {
+        return sources.keySet();
+    }
+
+    /** Incremented on every published change. */
+    public long getVersion() {
+        return version;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Draws up to k distinct random questions for one subject (case-insensitive).
+     * Uses a sparse partial Fisher-Yates shuffle over indices, so the shared lists
+     * are never reordered and the cost depends on k rather than on the bank size.
+     */
+    public List<Question> sample(String subject, int k, RandomGenerator random) {
+        List<Question> pool = questionsFor(subject);
+        if (pool.isEmpty() || k <= 0) return new ArrayList<>();
+
+        int n = pool.size();
+        int take = Math.min(k, n);
+        List<Question> picked = new ArrayList<>(take);
+
+        // Only the positions touched by a swap are remembered; every other index maps to itself
+        Map<Integer, Integer> swapped = new HashMap<>(take * 2);
+        for (int i = 0; i < take; i++) {
+            int j = i + random.nextInt(n - i);
+            int chosen = swapped.getOrDefault(j, j);
+            swapped.put(j, swapped.getOrDefault(i, i));
+            picked.add(pool.get(chosen));
+        }
+        return picked;
+    }
+}
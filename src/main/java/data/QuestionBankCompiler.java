@@ -0,0 +1,98 @@
+package data;
+
+import logic.GameCatalog;
+import logic.Question;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Build-time tool that validates the JSON question files and compiles them into the binary bank
+ * read by {@link BinaryQuestionBank}. Run by Maven during process-classes:
+ * <pre>
+ *   QuestionBankCompiler &lt;json source dir&gt; &lt;output bank file&gt; [&lt;output pack dir&gt;]
+ * </pre>
+ * Files are checked in parallel with {@link QuestionValidator}. Any problem fails the build with
+ * the file and array index of every offending question, and no bank is written; otherwise the
+ * bank holds the normalised questions, so the game loads it without checking anything.
+ * With a pack dir, each file is also rewritten there as normalised JSON, with a
+ * {@link QuestionManifest} ({@code manifest.tsv}) indexing it by subject. Packs keep their
+ * source's relative path, so the pack dir must not be where the source files are copied.
+ */
+public class QuestionBankCompiler {
+
+    public static void main(String[] args) throws Exception {
+        if (args.length != 2 && args.length != 3) {
+            System.err.println("Usage: QuestionBankCompiler <json source dir> <output bank file> [<output pack dir>]");
+            System.exit(2);
+        }
+        Path source = Paths.get(args[0]);
+        Path output = Paths.get(args[1]);
+        if (!Files.isDirectory(source)) {
+            throw new IllegalArgumentException("Question source directory not found: " + source);
+        }
+
+        List<Path> files;
+        try (Stream<Path> paths = Files.walk(source)) {
+            files = paths.filter(Files::isRegularFile)
+                    .filter(p -> p.toString().endsWith(".json"))
+                    .sorted()
+                    .collect(Collectors.toList());
+        }
+        List<QuestionValidator.Result> results = files.parallelStream()
+                .map(QuestionValidator::validateFile)
+                .collect(Collectors.toList());
+
+        List<QuestionValidator.Problem> problems = new ArrayList<>();
+        // Sorted by subject so the output is byte-for-byte reproducible
+        Map<String, List<Question>> bank = new TreeMap<>();
+        Map<String, String> firstSeen = new HashMap<>();
+        Map<String, List<Question>> packs = new HashMap<>();
+        for (QuestionValidator.Result result : results) {
+            problems.addAll(result.problems());
+            packs.put(source.relativize(Paths.get(result.source())).toString().replace('\\', '/'), result.questions());
+            for (int i = 0; i < result.questions().size(); i++) {
+                Question q = result.questions().get(i);
+                int index = result.indices().get(i);
+                String earlier = firstSeen.putIfAbsent(q.getSubject() + '\0' + q.getText() + '\0' + q.getCodeSnippet(),
+                        result.source() + " [" + index + "]");
+                if (earlier != null) {
+                    problems.add(new QuestionValidator.Problem(result.source(), index,
+                            q.getSubject() + " question \"" + q.getText() + "\" is also at " + earlier));
+                }
+                bank.computeIfAbsent(q.getSubject(), k -> new ArrayList<>()).add(q);
+            }
+        }
+        for (String subject : GameCatalog.SUBJECTS) {
+            int count = bank.getOrDefault(subject, List.of()).size();
+            if (count < GameCatalog.QUESTIONS_PER_SUBJECT) {
+                problems.add(new QuestionValidator.Problem(source.toString(), -1, "subject " + subject + " has "
+                        + count + " questions, a round needs " + GameCatalog.QUESTIONS_PER_SUBJECT));
+            }
+        }
+
+        if (!problems.isEmpty()) {
+            for (QuestionValidator.Problem problem : problems) System.err.println(problem);
+            Files.deleteIfExists(output);
+            throw new IllegalStateException(problems.size() + " problem(s) in the question files under " + source);
+        }
+
+        BinaryQuestionBank.write(bank, output);
+        if (args.length == 3) {
+            Path packDir = Paths.get(args[2]);
+            QuestionManifest.write(packs, packDir, packDir.getFileName() + "/", packDir.resolve("manifest.tsv"));
+        }
+
+        int total = bank.values().stream().mapToInt(List::size).sum();
+        System.out.println("Validated " + files.size() + " files; compiled " + total + " questions in "
+                + bank.size() + " subjects to " + output + " (" + Files.size(output) + " bytes)");
+    }
+}
@@ -0,0 +1,32 @@
+package data;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * JFR event for a whole load (startup, hot reload or precompiled bank), from the first file
+ * opened to the new snapshot being published.
+ */
+@Name("astac.QuestionBankLoad")
+@Label("Question Bank Load")
+@Category({"ASTAC", "Loading"})
+@Description("A set of question files loaded and published as a new bank snapshot")
+final class QuestionBankLoadEvent extends jdk.jfr.Event {
+    @Label("Kind")
+    @Description("initial, reload or precompiled")
+    String kind;
+
+    @Label("Files")
+    int files;
+
+    @Label("Removed Files")
+    int removed;
+
+    @Label("Bank Version")
+    long version;
+
+    @Label("Bank Size")
+    int questions;
+}
@@ -0,0 +1,24 @@
+package data;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * JFR event for parsing one question file. The event's duration is the read and parse time.
+ */
+@Name("astac.QuestionFileLoad")
+@Label("Question File Load")
+@Category({"ASTAC", "Loading"})
+@Description("One JSON question file read and parsed")
+final class QuestionFileLoadEvent extends jdk.jfr.Event {
+    @Label("Source")
+    String source;
+
+    @Label("Questions")
+    int questions;
+
+    @Label("Failed")
+    boolean failed;
+}
@@ -0,0 +1,266 @@
+package data;
+
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
+import logic.Question;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStreamWriter;
+import java.io.StringReader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * Index of the question packs shipped on the classpath, generated at build time by
+ * {@link QuestionBankCompiler}, so the game can find a subject's questions without listing the
+ * jar or parsing the other subjects.
+ *
+ * The manifest is a small text file; after a header line each line is
+ * <pre>
+ *   SUBJECT \t pack resource \t pack content hash \t offset:length:key,offset:length:key,...
+ * </pre>
+ * giving the byte range and {@link QuestionAnalytics#key key} (hex) of every question of that
+ * subject in that pack, so the keys are known without parsing anything. With the pack hashes
+ * in it, a hash of the manifest itself ({@link #contentHash}) identifies the whole bank, which
+ * is what the {@link WarmStartCache} keys the parsed bank on. Packs are the
+ * normalised JSON the compiler writes, one question object per range, so loading a subject
+ * reads and parses just its ranges and checks nothing. Loaded subjects are kept in a small LRU
+ * cache; resident memory depends on the cache size, not on how many packs ship.
+ */
+public final class QuestionManifest {
+
+    public static final String HEADER = "astac-manifest\t3";
+
+    private static final QuestionTypeAdapter QUESTION_ADAPTER = new QuestionTypeAdapter();
+
+    /** Byte ranges and keys of one subject's questions inside one pack */
+    private record Part(String pack, long[] offsets, int[] lengths, long[] keys) { }
+
+    private final ClassLoader classLoader;
+    private final Map<String, List<Part>> subjects = new LinkedHashMap<>();
+    private final Map<String, Integer> counts = new LinkedHashMap<>();
+    private final Map<String, List<Question>> cache;
+    private int loads;
+    private long contentHash;
+
+    private QuestionManifest(ClassLoader classLoader, int cachedSubjects) {
+        this.classLoader = classLoader;
+        this.cache = new LinkedHashMap<>(cachedSubjects * 2, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, List<Question>> eldest) {
+                return size() > cachedSubjects;
+            }
+        };
+    }
+
+    /**
+     * Reads a manifest from the classpath, keeping at most the given number of subjects parsed
+     * at a time. Returns null when there is no such resource.
+     */
+    public static QuestionManifest open(ClassLoader cl, String resourceName, int cachedSubjects) throws IOException {
+        byte[] bytes;
+        try (InputStream in = cl.getResourceAsStream(resourceName)) {
+            if (in == null) return null;
+            bytes = in.readAllBytes();
+        }
+        QuestionManifest manifest = new QuestionManifest(cl, Math.max(1, cachedSubjects));
+        manifest.contentHash = WarmStartCache.hash(bytes);
+        try (BufferedReader reader = new BufferedReader(new StringReader(new String(bytes, StandardCharsets.UTF_8)))) {
+            if (!HEADER.equals(reader.readLine())) {
+                throw new IOException("Not a question manifest (bad header): " + resourceName);
+            }
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isEmpty()) continue;
+                String[] cols = line.split("\t");
+                if (cols.length != 4) throw new IOException("Bad manifest line: " + line);
+                String[] ranges = cols[3].split(",");
+                long[] offsets = new long[ranges.length];
+                int[] lengths = new int[ranges.length];
+                long[] keys = new long[ranges.length];
+                for (int i = 0; i < ranges.length; i++) {
+                    String[] range = ranges[i].split(":");
+                    if (range.length != 3) throw new IOException("Bad range " + ranges[i]);
+                    offsets[i] = Long.parseLong(range[0]);
+                    lengths[i] = Integer.parseInt(range[1]);
+                    keys[i] = Long.parseUnsignedLong(range[2], 16);
+                }
+                manifest.subjects.computeIfAbsent(cols[0], k -> new ArrayList<>()).add(new Part(cols[1], offsets, lengths, keys));
+                manifest.counts.merge(cols[0], ranges.length, Integer::sum);
+            }
+        } catch (RuntimeException e) {
+            throw new IOException("Bad manifest " + resourceName + ": " + e.getMessage(), e);
+        }
+        return manifest;
+    }
+
+    public Set<String> getSubjects() {
+        return Collections.unmodifiableSet(subjects.keySet());
+    }
+
+    /** Hash of the manifest, and through the pack hashes in it, of every question it indexes. */
+    public long contentHash() {
+        return contentHash;
+    }
+
+    public int size() {
+        int total = 0;
+        for (int count : counts.values()) total += count;
+        return total;
+    }
+
+    /** Subjects parsed so far, counting reloads after eviction. */
+    public synchronized int getLoadCount() {
+        return loads;
+    }
+
+    /**
+     * Lazy list of one subject's questions. Its size and keys come from the manifest; the first
+     * get() parses the subject, and a later one re-parses it if the cache has dropped it since.
+     */
+    public List<Question> questionsFor(String subject) {
+        Integer count = counts.get(subject);
+        if (count == null) return Collections.emptyList();
+        return new SubjectList(subject, count);
+    }
+
+    private final class SubjectList extends AbstractList<Question> implements QuestionBank.Keyed {
+        private final String subject;
+        private final int count;
+
+        SubjectList(String subject, int count) {
+            this.subject = subject;
+            this.count = count;
+        }
+
+        @Override
+        public Question get(int index) {
+            Objects.checkIndex(index, count);
+            return subject(subject).get(index);
+        }
+
+        @Override
+        public long key(int index) {
+            Objects.checkIndex(index, count);
+            for (Part part : subjects.get(subject)) {
+                if (index < part.keys().length) return part.keys()[index];
+                index -= part.keys().length;
+            }
+            throw new IllegalStateException("Manifest counts disagree for " + subject);
+        }
+
+        @Override
+        public int size() {
+            return count;
+        }
+    }
+
+    private synchronized List<Question> subject(String subject) {
+        List<Question> questions = cache.get(subject);
+        if (questions == null) {
+            questions = load(subject);
+            cache.put(subject, questions);
+            loads++;
+        }
+        return questions;
+    }
+
+    private List<Question> load(String subject) {
+        List<Question> questions = new ArrayList<>(counts.get(subject));
+        for (Part part : subjects.get(subject)) {
+            QuestionFileLoadEvent event = new QuestionFileLoadEvent();
+            event.begin();
+            try (InputStream in = classLoader.getResourceAsStream(part.pack())) {
+                if (in == null) throw new IOException("missing pack");
+                long position = 0;
+                for (int i = 0; i < part.offsets().length; i++) {
+                    in.skipNBytes(part.offsets()[i] - position);
+                    byte[] json = in.readNBytes(part.lengths()[i]);
+                    position = part.offsets()[i] + json.length;
+                    try (JsonReader reader = new JsonReader(new StringReader(new String(json, StandardCharsets.UTF_8)))) {
+                        questions.add(QUESTION_ADAPTER.read(reader));
+                    }
+                }
+            } catch (IOException | RuntimeException e) {
+                // The manifest and packs are built together, so this means a damaged install
+                throw new IllegalStateException("Cannot load " + subject + " from " + part.pack() + ": " + e.getMessage(), e);
+            } finally {
+                if (event.shouldCommit()) {
+                    event.source = part.pack() + " (" + subject + ")";
+                    event.questions = part.offsets().length;
+                    event.commit();
+                }
+            }
+        }
+        return Collections.unmodifiableList(questions);
+    }
+
+    /**
+     * Writes each file's questions as a normalised JSON pack under packDir, at the same relative
+     * path, and the manifest over them. Used by {@link QuestionBankCompiler}; the questions
+     * must already have passed {@link QuestionValidator}.
+     *
+     * @param packs         relative pack path (with '/' separators) -> its questions in file order
+     * @param resourcePrefix classpath prefix of packDir, e.g. "MCQ-packs/"
+     */
+    public static void write(Map<String, List<Question>> packs, Path packDir, String resourcePrefix, Path manifestFile) throws IOException {
+        // subject -> pack -> "offset:length" ranges; sorted so the output is reproducible
+        Map<String, Map<String, StringBuilder>> index = new TreeMap<>();
+        Map<String, Long> packHashes = new TreeMap<>();
+        for (Map.Entry<String, List<Question>> pack : new TreeMap<>(packs).entrySet()) {
+            String resource = resourcePrefix + pack.getKey();
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            out.write('[');
+            List<Question> questions = pack.getValue();
+            for (int i = 0; i < questions.size(); i++) {
+                if (i > 0) out.write(',');
+                out.write('\n');
+                int start = out.size();
+                ByteArrayOutputStream object = new ByteArrayOutputStream();
+                try (JsonWriter writer = new JsonWriter(new OutputStreamWriter(object, StandardCharsets.UTF_8))) {
+                    QUESTION_ADAPTER.write(writer, questions.get(i));
+                }
+                object.writeTo(out);
+                StringBuilder ranges = index.computeIfAbsent(questions.get(i).getSubject(), k -> new TreeMap<>())
+                        .computeIfAbsent(resource, k -> new StringBuilder());
+                if (ranges.length() > 0) ranges.append(',');
+                ranges.append(start).append(':').append(object.size())
+                        .append(':').append(Long.toHexString(QuestionAnalytics.key(questions.get(i))));
+            }
+            out.write('\n');
+            out.write(']');
+            out.write('\n');
+
+            packHashes.put(resource, WarmStartCache.hash(out.toByteArray()));
+            Path file = packDir.resolve(pack.getKey());
+            Files.createDirectories(file.getParent());
+            Files.write(file, out.toByteArray());
+        }
+
+        Files.createDirectories(manifestFile.toAbsolutePath().getParent());
+        try (Writer w = Files.newBufferedWriter(manifestFile, StandardCharsets.UTF_8)) {
+            w.write(HEADER);
+            w.write('\n');
+            for (Map.Entry<String, Map<String, StringBuilder>> subject : index.entrySet()) {
+                for (Map.Entry<String, StringBuilder> pack : subject.getValue().entrySet()) {
+                    w.write(subject.getKey() + '\t' + pack.getKey() + '\t' + Long.toHexString(packHashes.get(pack.getKey()))
+                            + '\t' + pack.getValue() + '\n');
+                }
+            }
+        }
+    }
+}
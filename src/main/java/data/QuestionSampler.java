@@ -0,0 +1,360 @@
+package data;
+
+import logic.Question;
+import logic.QuestionSource;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.ToDoubleFunction;
+import java.util.random.RandomGenerator;
+
+/**
+ * Weighted question draws over one {@link QuestionBank} snapshot, in O(1) per question.
+ *
+ * Each subject is split into one stratum per {@link Question.QuestionType}. A stratum is cut
+ * into blocks of {@link #BLOCK_SIZE} questions, each with its own Vose alias table, and a
+ * top-level alias table picks a block by its total weight. A draw is two table lookups. A
+ * weight change rebuilds only the blocks it touches plus the top table, i.e.
+ * O(BLOCK_SIZE + blocks) instead of O(questions).
+ *
+ * Without a type mix, the type is picked by the strata's total weights, so every question is
+ * drawn in proportion to its weight. With {@link #setProgrammingShare}, that share of each
+ * round's questions (rounded at random) is PROGRAMMING and the rest THEORETICAL, falling
+ * back to the other type when a subject has none.
+ *
+ * Subjects are indexed on first use. Draws are lock-free and only use the given generator,
+ * so a seeded generator over the same weights yields the same questions; weight updates are
+ * serialised and published as whole tables, so any number of threads can draw concurrently.
+ */
+public final class QuestionSampler implements QuestionSource {
+
+    public static final int BLOCK_SIZE = 64;
+
+    private static final Question.QuestionType[] TYPES = Question.QuestionType.values();
+    private static final int MAX_REDRAWS = 32;
+
+    private final QuestionBank bank;
+    private final ToDoubleFunction<Question> weights;
+    private final Map<String, Subject> subjects = new ConcurrentHashMap<>();
+    private volatile double programmingShare = Double.NaN;
+
+    /** One alias table: pick slot i with probability prob[i], otherwise alias[i]. */
+    private record Alias(double[] prob, int[] alias, double total) {}
+
+    /** A published view of a stratum: per-block tables and the table over their totals. */
+    private record Table(Alias[] blocks, Alias top) {}
+
+    private static final class Stratum {
+        /** Ordinal of the question type it holds */
+        final int type;
+        /** Positions in the subject's question list */
+        final int[] items;
+        /** Current weight of each item; guarded by the sampler's lock */
+        final double[] weights;
+        volatile Table table;
+
+        Stratum(int type, int[] items) {
+            this.type = type;
+            this.items = items;
+            this.weights = new double[items.length];
+        }
+    }
+
+    private static final class Subject {
+        final List<Question> pool;
+        final Stratum[] strata = new Stratum[TYPES.length];
+        /** Question key -> position in pool */
+        final Map<Long, Integer> positions = new HashMap<>();
+        /** For each pool position: its stratum and its index in that stratum */
+        final byte[] stratumOf;
+        final int[] indexIn;
+
+        Subject(List<Question> pool) {
+            this.pool = pool;
+            this.stratumOf = new byte[pool.size()];
+            this.indexIn = new int[pool.size()];
+        }
+    }
+
+    /** Samples in proportion to the given weights; negative or NaN weights count as zero. */
+    public QuestionSampler(QuestionBank bank, ToDoubleFunction<Question> weights) {
+        this.bank = bank;
+        this.weights = weights;
+    }
+
+    /** Every question equally likely. */
+    public static QuestionSampler uniform(QuestionBank bank) {
+        return new QuestionSampler(bank, q -> 1.0);
+    }
+
+    public QuestionBank getBank() {
+        return bank;
+    }
+
+    /**
+     * Share of PROGRAMMING questions per round, 0 to 1, or NaN to mix types by weight alone.
+     */
+    public void setProgrammingShare(double share) {
+        this.programmingShare = share;
+    }
+
+    /**
+     * Draws up to count distinct questions of one subject (case-insensitive).
+     */
+    @Override
+    public List<Question> sample(String subject, int count, RandomGenerator random) {
+        Subject s = subject(subject);
+        if (s == null || count <= 0) return new ArrayList<>();
+
+        int take = Math.min(count, s.pool.size());
+        int[] picked = new int[take];
+        int n = 0;
+        double share = programmingShare;
+        int programming = -1;
+        if (!Double.isNaN(share)) {
+            double exact = take * Math.max(0, Math.min(1, share));
+            programming = (int) exact + (random.nextDouble() < exact - (int) exact ? 1 : 0);
+        }
+
+        // A stratum is dropped from the choice once a draw finds it used up; the strata cover
+        // the whole pool, so the loop only ends early if the pool runs out
+        boolean[] usedUp = new boolean[TYPES.length];
+        while (n < take) {
+            Stratum stratum = null;
+            if (programming >= 0) {
+                Question.QuestionType wanted = n < programming
+                        ? Question.QuestionType.PROGRAMMING : Question.QuestionType.THEORETICAL;
+                stratum = s.strata[wanted.ordinal()];
+                if (stratum != null && usedUp[stratum.type]) stratum = null;
+            }
+            if (stratum == null) stratum = byWeight(s, usedUp, random);
+            if (stratum == null) break;
+            int position = draw(stratum, picked, n, random);
+            if (position < 0) {
+                usedUp[stratum.type] = true;
+                continue;
+            }
+            picked[n++] = position;
+        }
+
+        List<Question> result = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) result.add(s.pool.get(picked[i]));
+        if (programming >= 0) {
+            // Types were drawn in a fixed order; don't let that show
+            for (int i = n - 1; i > 0; i--) Collections.swap(result, i, random.nextInt(i + 1));
+        }
+        return result;
+    }
+
+    /**
+     * Changes one question's weight, rebuilding only its block and the top table.
+     * Returns false if the question is not in this bank.
+     */
+    public boolean setWeight(Question question, double weight) {
+        Subject s = subject(question.getSubject());
+        if (s == null) return false;
+        Integer position = s.positions.get(QuestionAnalytics.key(question));
+        if (position == null) return false;
+
+        synchronized (this) {
+            Stratum stratum = s.strata[s.stratumOf[position]];
+            int index = s.indexIn[position];
+            double w = clean(weight);
+            if (stratum.weights[index] == w) return true;
+            stratum.weights[index] = w;
+            republish(stratum, new boolean[]{false}, index / BLOCK_SIZE);
+        }
+        return true;
+    }
+
+    /**
+     * Re-evaluates the weight function for every indexed question, e.g. after the statistics it
+     * reads have changed. Only blocks with a changed weight are rebuilt; returns how many were.
+     */
+    public synchronized int reweigh() {
+        int rebuilt = 0;
+        for (Subject s : subjects.values()) {
+            for (Stratum stratum : s.strata) {
+                if (stratum == null) continue;
+                boolean[] changed = new boolean[(stratum.items.length + BLOCK_SIZE - 1) / BLOCK_SIZE];
+                int blocks = 0;
+                for (int i = 0; i < stratum.items.length; i++) {
+                    double w = clean(weights.applyAsDouble(s.pool.get(stratum.items[i])));
+                    if (w != stratum.weights[i]) {
+                        stratum.weights[i] = w;
+                        if (!changed[i / BLOCK_SIZE]) blocks++;
+                        changed[i / BLOCK_SIZE] = true;
+                    }
+                }
+                if (blocks > 0) republish(stratum, changed, -1);
+                rebuilt += blocks;
+            }
+        }
+        return rebuilt;
+    }
+
+    private Subject subject(String name) {
+        if (name == null) return null;
+        String key = name.toUpperCase(Locale.ROOT);
+        Subject s = subjects.get(key);
+        if (s != null) return s;
+        List<Question> pool = bank.questionsFor(name);
+        if (pool.isEmpty()) return null;
+        return subjects.computeIfAbsent(key, k -> index(pool));
+    }
+
+    /** Splits a subject into type strata and builds their tables. */
+    private Subject index(List<Question> pool) {
+        Subject s = new Subject(pool);
+        int[][] members = new int[TYPES.length][pool.size()];
+        int[] counts = new int[TYPES.length];
+        for (int i = 0; i < pool.size(); i++) {
+            Question q = pool.get(i);
+            int type = q.getType() == null ? 0 : q.getType().ordinal();
+            s.stratumOf[i] = (byte) type;
+            s.indexIn[i] = counts[type];
+            members[type][counts[type]++] = i;
+            s.positions.putIfAbsent(QuestionAnalytics.key(q), i);
+        }
+        synchronized (this) {
+            for (int t = 0; t < TYPES.length; t++) {
+                if (counts[t] == 0) continue;
+                Stratum stratum = new Stratum(t, Arrays.copyOf(members[t], counts[t]));
+                for (int i = 0; i < counts[t]; i++) stratum.weights[i] = clean(weights.applyAsDouble(pool.get(stratum.items[i])));
+                boolean[] all = new boolean[(counts[t] + BLOCK_SIZE - 1) / BLOCK_SIZE];
+                Arrays.fill(all, true);
+                republish(stratum, all, -1);
+                s.strata[t] = stratum;
+            }
+        }
+        return s;
+    }
+
+    /** Rebuilds the flagged blocks (and/or the single given one) and publishes a new table. */
+    private void republish(Stratum stratum, boolean[] changed, int single) {
+        int blockCount = (stratum.items.length + BLOCK_SIZE - 1) / BLOCK_SIZE;
+        Table old = stratum.table;
+        Alias[] blocks = old == null ? new Alias[blockCount] : old.blocks().clone();
+        for (int b = 0; b < blockCount; b++) {
+            if (blocks[b] != null && b != single && (b >= changed.length || !changed[b])) continue;
+            int from = b * BLOCK_SIZE;
+            blocks[b] = build(stratum.weights, from, Math.min(BLOCK_SIZE, stratum.items.length - from));
+        }
+        double[] totals = new double[blockCount];
+        for (int b = 0; b < blockCount; b++) totals[b] = blocks[b].total();
+        stratum.table = new Table(blocks, build(totals, 0, blockCount));
+    }
+
+    /**
+     * Picks a stratum that is not used up with probability proportional to its total weight,
+     * or to its size when those weights are all zero. Returns null when every stratum is used up.
+     */
+    private static Stratum byWeight(Subject s, boolean[] usedUp, RandomGenerator random) {
+        double total = 0;
+        int items = 0;
+        for (Stratum stratum : s.strata) {
+            if (stratum == null || usedUp[stratum.type]) continue;
+            total += stratum.table.top().total();
+            items += stratum.items.length;
+        }
+        if (items == 0) return null;
+        boolean bySize = total <= 0;
+        double u = random.nextDouble() * (bySize ? items : total);
+        Stratum last = null;
+        for (Stratum stratum : s.strata) {
+            if (stratum == null || usedUp[stratum.type]) continue;
+            last = stratum;
+            u -= bySize ? stratum.items.length : stratum.table.top().total();
+            if (u < 0) return stratum;
+        }
+        return last;
+    }
+
+    /**
+     * Draws a position not yet picked: by weight, redrawing duplicates a few times, then
+     * falling back to the first unpicked item. Returns -1 when the stratum is used up.
+     */
+    private static int draw(Stratum stratum, int[] picked, int n, RandomGenerator random) {
+        Table table = stratum.table;
+        if (table.top().total() > 0) {
+            for (int attempt = 0; attempt < MAX_REDRAWS; attempt++) {
+                int b = pick(table.top(), random);
+                int position = stratum.items[b * BLOCK_SIZE + pick(table.blocks()[b], random)];
+                if (!contains(picked, n, position)) return position;
+            }
+        }
+        int start = random.nextInt(stratum.items.length);
+        for (int i = 0; i < stratum.items.length; i++) {
+            int position = stratum.items[(start + i) % stratum.items.length];
+            if (!contains(picked, n, position)) return position;
+        }
+        return -1;
+    }
+
+    private static int pick(Alias table, RandomGenerator random) {
+        int i = random.nextInt(table.prob().length);
+        return random.nextDouble() < table.prob()[i] ? i : table.alias()[i];
+    }
+
+    private static boolean contains(int[] values, int n, int value) {
+        for (int i = 0; i < n; i++) if (values[i] == value) return true;
+        return false;
+    }
+
+    /**
+     * Vose's alias method over weights[from, from + n). All-zero weights give a uniform table
+     * with a total of 0, which callers treat as "draw uniformly".
+     */
+    private static Alias build(double[] weights, int from, int n) {
+        double[] prob = new double[n];
+        int[] alias = new int[n];
+        double total = 0;
+        for (int i = 0; i < n; i++) total += weights[from + i];
+        if (total <= 0) {
+            Arrays.fill(prob, 1.0);
+            for (int i = 0; i < n; i++) alias[i] = i;
+            return new Alias(prob, alias, 0);
+        }
+
+        double[] scaled = new double[n];
+        int[] small = new int[n];
+        int[] large = new int[n];
+        int smallCount = 0, largeCount = 0;
+        for (int i = 0; i < n; i++) {
+            scaled[i] = weights[from + i] * n / total;
+            if (scaled[i] < 1.0) small[smallCount++] = i;
+            else large[largeCount++] = i;
+        }
+        while (smallCount > 0 && largeCount > 0) {
+            int l = small[--smallCount];
+            int g = large[--largeCount];
+            prob[l] = scaled[l];
+            alias[l] = g;
+            scaled[g] = scaled[g] + scaled[l] - 1.0;
+            if (scaled[g] < 1.0) small[smallCount++] = g;
+            else large[largeCount++] = g;
+        }
+        // Whatever is left is 1 up to rounding
+        while (largeCount > 0) {
+            int g = large[--largeCount];
+            prob[g] = 1.0;
+            alias[g] = g;
+        }
+        while (smallCount > 0) {
+            int l = small[--smallCount];
+            prob[l] = 1.0;
+            alias[l] = l;
+        }
+        return new Alias(prob, alias, total);
+    }
+
+    private static double clean(double weight) {
+        return weight > 0 && Double.isFinite(weight) ? weight : 0;
+    }
+}
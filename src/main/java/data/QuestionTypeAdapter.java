@@ -0,0 +1,99 @@
+package data;
+
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+import logic.Question;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Hand-written Gson adapter for {@link Question}, so the loader streams question objects
+ * straight off a {@link JsonReader} without reflection. Unknown fields are skipped.
+ */
+public class QuestionTypeAdapter extends TypeAdapter<Question> {
+
+    @Override
+    public void write(JsonWriter out, Question q) throws IOException {
+        if (q == null) {
+            out.nullValue();
+            return;
+        }
+        out.beginObject();
+        out.name("text").value(q.getText());
+        if (q.getCodeSnippet() != null) {
+            out.name("codeSnippet").value(q.getCodeSnippet());
+        }
+        out.name("options");
+        if (q.getOptions() == null) {
+            out.nullValue();
+        } else {
+            out.beginArray();
+            for (String option : q.getOptions()) out.value(option);
+            out.endArray();
+        }
+        out.name("correctAnswerIndex").value(q.getCorrectAnswerIndex());
+        out.name("subject").value(q.getSubject());
+        out.name("type").value(q.getType() == null ? null : q.getType().name());
+        out.endObject();
+    }
+
+    @Override
+    public Question read(JsonReader in) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        }
+
+        String text = null;
+        String codeSnippet = null;
+        List<String> options = null;
+        int correctAnswerIndex = 0;
+        String subject = null;
+        Question.QuestionType type = null;
+
+        in.beginObject();
+        while (in.hasNext()) {
+            String name = in.nextName();
+            if (in.peek() == JsonToken.NULL) {
+                in.nextNull();
+                continue;
+            }
+            switch (name) {
+                case "text": text = in.nextString(); break;
+                case "codeSnippet": codeSnippet = in.nextString(); break;
+                case "options":
+                    options = new ArrayList<>(4);
+                    in.beginArray();
+                    while (in.hasNext()) {
+                        if (in.peek() == JsonToken.NULL) {
+                            in.nextNull();
+                            options.add(null);
+                        } else {
+                            options.add(in.nextString());
+                        }
+                    }
+                    in.endArray();
+                    break;
+                case "correctAnswerIndex": correctAnswerIndex = in.nextInt(); break;
+                case "subject": subject = in.nextString(); break;
+                case "type": type = parseType(in.nextString()); break;
+                default: in.skipValue(); break;
+            }
+        }
+        in.endObject();
+
+        return new Question(text, codeSnippet, options, correctAnswerIndex, subject, type);
+    }
+
+    private static Question.QuestionType parseType(String value) {
+        try {
+            return Question.QuestionType.valueOf(value);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,152 @@
+package data;
+
+import com.google.gson.stream.JsonReader;
+import logic.GameCatalog;
+import logic.Question;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Checks question files against what the game relies on and normalises what it accepts.
+ *
+ * A valid question has non-blank text, exactly {@link #OPTION_COUNT} distinct non-blank options
+ * (one per answer button), a correct answer index among them, a type, and a subject from
+ * {@link GameCatalog#SUBJECTS}. Normalising trims the text and options, upper-cases the subject
+ * to its catalogue spelling, turns a blank code snippet into null and CRLF into LF.
+ *
+ * {@link QuestionBankCompiler} runs this at build time and refuses to write a bank with any
+ * problem, so the precompiled bank is loaded without checks. Plain JSON loaded at runtime goes
+ * through {@link #check} and the broken questions are logged and dropped.
+ */
+public final class QuestionValidator {
+
+    public static final int OPTION_COUNT = 4;
+
+    private static final QuestionTypeAdapter QUESTION_ADAPTER = new QuestionTypeAdapter();
+
+    private QuestionValidator() { }
+
+    /** A problem with one question (by its position in the file's array), or with the whole file (index -1). */
+    public record Problem(String source, int index, String message) {
+        @Override
+        public String toString() {
+            return index < 0 ? source + ": " + message : source + " [" + index + "]: " + message;
+        }
+    }
+
+    /**
+     * One checked file: its valid questions, normalised and in file order, each one's index in
+     * the file's array, and the problems found.
+     */
+    public record Result(String source, List<Question> questions, List<Integer> indices, List<Problem> problems) {
+        public boolean isValid() { return problems.isEmpty(); }
+    }
+
+    /** Parses and checks one JSON question file. Never throws; a file that cannot be read is a problem. */
+    public static Result validateFile(Path file) {
+        String source = file.toString();
+        try (InputStream in = Files.newInputStream(file)) {
+            return validate(source, in);
+        } catch (IOException e) {
+            return new Result(source, List.of(), List.of(), List.of(new Problem(source, -1, "cannot read: " + e.getMessage())));
+        }
+    }
+
+    /** Parses and checks a stream holding a JSON array of questions. */
+    public static Result validate(String source, InputStream stream) {
+        List<Question> questions = new ArrayList<>();
+        List<Integer> indices = new ArrayList<>();
+        List<Problem> problems = new ArrayList<>();
+        Set<String> seen = new HashSet<>();
+        int index = 0;
+        try (JsonReader reader = new JsonReader(new InputStreamReader(stream, StandardCharsets.UTF_8))) {
+            reader.beginArray();
+            for (; reader.hasNext(); index++) {
+                Question q = check(source, index, QUESTION_ADAPTER.read(reader), problems);
+                if (q == null) continue;
+                // Same subject, text and code: a copy-paste slip that would skew the analytics
+                if (!seen.add(q.getSubject() + '\0' + q.getText() + '\0' + q.getCodeSnippet())) {
+                    problems.add(new Problem(source, index, "duplicate of an earlier question in this file"));
+                    continue;
+                }
+                questions.add(q);
+                indices.add(index);
+            }
+            reader.endArray();
+        } catch (IOException | RuntimeException e) {
+            // Gson's message carries the line, column and JSON path
+            problems.add(new Problem(source, index, "malformed JSON: " + e.getMessage()));
+        }
+        return new Result(source, questions, indices, problems);
+    }
+
+    /**
+     * Checks one parsed question. Returns its normalised form, or null after adding what is
+     * wrong with it to the problems.
+     */
+    public static Question check(String source, int index, Question q, List<Problem> problems) {
+        if (q == null) {
+            problems.add(new Problem(source, index, "null question"));
+            return null;
+        }
+        int before = problems.size();
+
+        String text = q.getText() == null ? "" : q.getText().strip();
+        if (text.isEmpty()) problems.add(new Problem(source, index, "text is missing"));
+
+        List<String> options = q.getOptions();
+        List<String> normalised = new ArrayList<>(OPTION_COUNT);
+        if (options == null) {
+            problems.add(new Problem(source, index, "options are missing"));
+        } else {
+            if (options.size() != OPTION_COUNT) {
+                problems.add(new Problem(source, index, "has " + options.size() + " options, needs " + OPTION_COUNT));
+            }
+            Set<String> distinct = new HashSet<>();
+            for (int i = 0; i < options.size(); i++) {
+                String option = options.get(i) == null ? "" : options.get(i).strip();
+                if (option.isEmpty()) {
+                    problems.add(new Problem(source, index, "option " + i + " is blank"));
+                } else if (!distinct.add(option)) {
+                    problems.add(new Problem(source, index, "option " + i + " repeats \"" + option + "\""));
+                }
+                normalised.add(option);
+            }
+            int correct = q.getCorrectAnswerIndex();
+            if (correct < 0 || correct >= options.size()) {
+                problems.add(new Problem(source, index, "correctAnswerIndex " + correct
+                        + " is out of range 0.." + (options.size() - 1)));
+            }
+        }
+
+        int subjectIndex = GameCatalog.subjectIndex(q.getSubject() == null ? null : q.getSubject().strip());
+        if (subjectIndex < 0) {
+            problems.add(new Problem(source, index, q.getSubject() == null ? "subject is missing"
+                    : "subject \"" + q.getSubject() + "\" is not one of " + String.join(", ", GameCatalog.SUBJECTS)));
+        }
+
+        if (q.getType() == null) {
+            problems.add(new Problem(source, index, "type is missing or not one of THEORETICAL, PROGRAMMING"));
+        }
+
+        if (problems.size() > before) return null;
+
+        String code = q.getCodeSnippet();
+        if (code != null) {
+            code = code.replace("\r\n", "\n").stripTrailing();
+            if (code.isBlank()) code = null;
+        }
+        return new Question(text, code, List.copyOf(normalised), q.getCorrectAnswerIndex(),
+                GameCatalog.SUBJECTS[subjectIndex].toUpperCase(Locale.ROOT), q.getType());
+    }
+}
@@ -0,0 +1,166 @@
+package data;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import java.util.zip.CRC32C;
+
+/**
+ * Local cache of work every launch would otherwise repeat (the parsed question bank, decoded
+ * and sliced images), so later launches map the result instead of recomputing it.
+ *
+ * Each entry is one file, {@code <name>.warm}: a 32-byte header (magic "ASTW", version, key,
+ * payload length, CRC32C of the payload) followed by the payload. The key is a hash of the
+ * source content the payload was made from; a read with a different key, or of a file whose
+ * length or checksum is off, is a miss, and the caller rebuilds and writes the entry again.
+ * Writes go through a temp file and an atomic move on a background thread, so a crash never
+ * leaves a half-written entry in place.
+ */
+public final class WarmStartCache {
+
+    private static final int MAGIC = 0x41535457; // "ASTW"
+    private static final int VERSION = 1;
+    private static final int HEADER = 32;
+
+    private final Path dir;
+    private final AtomicInteger hits = new AtomicInteger();
+    private final AtomicInteger misses = new AtomicInteger();
+    private final ExecutorService writer = Executors.newSingleThreadExecutor(r -> {
+        Thread t = new Thread(r, "warm-cache-writer");
+        t.setDaemon(true);
+        t.setPriority(Thread.MIN_PRIORITY);
+        return t;
+    });
+
+    private WarmStartCache(Path dir) {
+        this.dir = dir;
+    }
+
+    public static WarmStartCache open(Path dir) throws IOException {
+        Files.createDirectories(dir);
+        return new WarmStartCache(dir);
+    }
+
+    /** 64-bit content hash (the first 8 bytes of SHA-256) used as a cache key. */
+    public static long hash(byte[] content) {
+        try {
+            return ByteBuffer.wrap(MessageDigest.getInstance("SHA-256").digest(content)).getLong();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /** Folds a parameter of the cached result (e.g. a target size) into a content key. */
+    public static long key(long contentHash, long parameter) {
+        long h = (contentHash ^ parameter) * 0x9E3779B97F4A7C15L;
+        return h ^ (h >>> 29);
+    }
+
+    /**
+     * The payload stored under the given name if it was made from the given key and is intact,
+     * as a read-only, memory-mapped buffer; otherwise null.
+     */
+    public ByteBuffer read(String name, long key) {
+        Path file = file(name);
+        try (FileChannel ch = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = ch.size();
+            if (size < HEADER) return miss();
+            MappedByteBuffer map = ch.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            if (map.getInt(0) != MAGIC || map.getInt(4) != VERSION || map.getLong(8) != key
+                    || map.getLong(16) != size - HEADER) {
+                return miss();
+            }
+            ByteBuffer payload = map.slice(HEADER, (int) (size - HEADER));
+            CRC32C crc = new CRC32C();
+            crc.update(payload.duplicate());
+            if ((int) crc.getValue() != map.getInt(24)) {
+                System.err.println("Warm-start cache entry " + file.getFileName() + " is damaged; rebuilding it");
+                return miss();
+            }
+            hits.incrementAndGet();
+            return payload;
+        } catch (NoSuchFileException e) {
+            return miss();
+        } catch (IOException e) {
+            System.err.println("Error reading warm-start cache " + file + ": " + e.getMessage());
+            return miss();
+        }
+    }
+
+    /**
+     * Stores an entry in the background, replacing any older one of the same name. The payload
+     * is built on the writer thread too, so callers can hand over expensive work.
+     */
+    public void write(String name, long key, Supplier<ByteBuffer> payload) {
+        writer.execute(() -> {
+            Path file = file(name);
+            Path tmp = null;
+            try {
+                ByteBuffer data = payload.get();
+                if (data == null) return;
+                ByteBuffer body = data.duplicate();
+                CRC32C crc = new CRC32C();
+                crc.update(body.duplicate());
+                ByteBuffer header = ByteBuffer.allocate(HEADER).order(ByteOrder.BIG_ENDIAN);
+                header.putInt(MAGIC).putInt(VERSION).putLong(key).putLong(body.remaining())
+                        .putInt((int) crc.getValue()).putInt(0).flip();
+
+                tmp = Files.createTempFile(dir, "warm", ".tmp");
+                try (FileChannel ch = FileChannel.open(tmp, StandardOpenOption.WRITE)) {
+                    while (header.hasRemaining()) ch.write(header);
+                    while (body.hasRemaining()) ch.write(body);
+                    ch.force(false);
+                }
+                Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (IOException | RuntimeException e) {
+                System.err.println("Error writing warm-start cache " + file + ": " + e.getMessage());
+                try {
+                    if (tmp != null) Files.deleteIfExists(tmp);
+                } catch (IOException ignored) {
+                    // Left for the next launch to overwrite
+                }
+            }
+        });
+    }
+
+    public void logUsage() {
+        System.out.printf("Warm-start cache: %d hits, %d misses (%s)%n", hits.get(), misses.get(), dir);
+    }
+
+    /** Finishes pending writes; call when the application exits. */
+    public void close() {
+        writer.shutdown();
+        try {
+            writer.awaitTermination(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private ByteBuffer miss() {
+        misses.incrementAndGet();
+        return null;
+    }
+
+    private Path file(String name) {
+        StringBuilder safe = new StringBuilder(name.length());
+        for (char c : name.toCharArray()) {
+            safe.append(Character.isLetterOrDigit(c) || c == '-' || c == '.' ? c : '_');
+        }
+        return dir.resolve(safe + ".warm");
+    }
+}
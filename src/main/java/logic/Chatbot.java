@@ -1,43 +1,71 @@
 package logic;
 
 import java.util.Random;
+import java.util.random.RandomGenerator;
 
 /**
  * Represents an AI chatbot with subject-specific strengths and weaknesses.
  * Each chatbot has different success rates based on the question subject.
  */
 public class Chatbot {
+    public static final double STRENGTH_SUCCESS = 0.90;
+    public static final double NEUTRAL_SUCCESS = 0.50;
+    public static final double WEAKNESS_SUCCESS = 0.10;
+
     private String name;
     private String strengthSubject;
     private String weaknessSubject;
     private boolean isRevealed;
-    private Random random;
+    private RandomGenerator random;
+    private final double strengthChance;
+    private final double neutralChance;
+    private final double weaknessChance;
 
     public Chatbot(String name, String strengthSubject, String weaknessSubject) {
+        this(name, strengthSubject, weaknessSubject, new Random());
+    }
+
+    public Chatbot(String name, String strengthSubject, String weaknessSubject, RandomGenerator random) {
+        this(name, strengthSubject, weaknessSubject, random, STRENGTH_SUCCESS, NEUTRAL_SUCCESS, WEAKNESS_SUCCESS);
+    }
+
+    /**
+     * Creates a bot with custom success odds, e.g. for balancing runs of the simulator.
+     */
+    public Chatbot(String name, String strengthSubject, String weaknessSubject, RandomGenerator random,
+                   double strengthChance, double neutralChance, double weaknessChance) {
         this.name = name;
         this.strengthSubject = strengthSubject;
         this.weaknessSubject = weaknessSubject;
         this.isRevealed = false;
-        this.random = new Random();
+        this.random = random;
+        this.strengthChance = strengthChance;
+        this.neutralChance = neutralChance;
+        this.weaknessChance = weaknessChance;
     }
 
     public void revealStats() {
         this.isRevealed = true;
     }
 
-    public boolean calculateSuccess(String currentSubject) {
-        double roll = random.nextDouble();
-
+    /**
+     * Probability that this bot gets a question of the given subject right.
+     */
+    public double getSuccessChance(String currentSubject) {
         if (currentSubject.equalsIgnoreCase(strengthSubject)) {
-            return roll < 0.90;
+            return strengthChance;
         } else if (currentSubject.equalsIgnoreCase(weaknessSubject)) {
-            return roll < 0.10;
+            return weaknessChance;
         } else {
-            // Neutral: 50% chance
-            return roll < 0.50;
+            // Neutral: 50% chance by default
+            return neutralChance;
         }
     }
 
+    public boolean calculateSuccess(String currentSubject) {
+        return random.nextDouble() < getSuccessChance(currentSubject);
+    }
+
     public String getName() { return name; }
     public String getStrengthSubject() { return strengthSubject; }
     public String getWeaknessSubject() { return weaknessSubject; }
@@ -0,0 +1,77 @@
+package logic;
+
+import java.util.random.RandomGenerator;
+
+/**
+ * Fixed game content shared by the screens and the headless tools: the seven subjects,
+ * the chatbot roster and each bot's strength/weakness pairing.
+ */
+public final class GameCatalog {
+
+    public static final String[] SUBJECTS = {
+            "INTRO",           // Intro to Paradigms
+            "PROCEDURAL",      // Procedural Programming
+            "FUNCTIONAL",      // Functional Programming
+            "OOP",             // Object-Oriented Programming
+            "IMP_DEC",         // Imperative vs Declarative
+            "EVENT_DRIVEN",    // Event-Driven Programming
+            "MAPPINGS"         // Component Mappings
+    };
+
+    /** Bot names, in the order of their sprites in chatbots.png */
+    public static final String[] BOT_NAMES = {"CHATGPT", "GEMINI", "GROK", "COPILOT", "CLAUDE", "DEEPSEEK", "PERPLEXITY"};
+
+    public static final int QUESTIONS_PER_SUBJECT = 2;
+    public static final int TOTAL_QUESTIONS = SUBJECTS.length * QUESTIONS_PER_SUBJECT;
+
+    private GameCatalog() { }
+
+    /**
+     * Returns {strength subject, weakness subject} for a bot.
+     */
+    public static String[] botStats(String name) {
+        switch (name) {
+            case "CHATGPT":  return new String[]{"INTRO", "MAPPINGS"};
+            case "GEMINI":  return new String[]{"OOP", "FUNCTIONAL"};
+            case "GROK": return new String[]{"PROCEDURAL", "EVENT_DRIVEN"};
+            case "COPILOT":   return new String[]{"FUNCTIONAL", "OOP"};
+            case "CLAUDE":   return new String[]{"IMP_DEC", "INTRO"};
+            case "DEEPSEEK":   return new String[]{"EVENT_DRIVEN", "IMP_DEC"};
+            case "PERPLEXITY":   return new String[]{"MAPPINGS", "PROCEDURAL"};
+            default:       return new String[]{"INTRO", "OOP"};
+        }
+    }
+
+    /**
+     * Position of a bot in {@link #BOT_NAMES} (and its sprite index); 0 for unknown names.
+     */
+    public static int botIndex(String name) {
+        for (int i = 0; i < BOT_NAMES.length; i++) {
+            if (BOT_NAMES[i].equalsIgnoreCase(name)) return i;
+        }
+        return 0;
+    }
+
+    /**
+     * Position of a subject in {@link #SUBJECTS}, or -1 when it is not part of the game.
+     */
+    public static int subjectIndex(String subject) {
+        for (int i = 0; i < SUBJECTS.length; i++) {
+            if (SUBJECTS[i].equalsIgnoreCase(subject)) return i;
+        }
+        return -1;
+    }
+
+    public static Chatbot createBot(String name) {
+        String[] stats = botStats(name);
+        return new Chatbot(name, stats[0], stats[1]);
+    }
+
+    /**
+     * Creates a bot whose rolls come from the given stream, e.g. {@link GameRandom#bots()}.
+     */
+    public static Chatbot createBot(String name, RandomGenerator random) {
+        String[] stats = botStats(name);
+        return new Chatbot(name, stats[0], stats[1], random);
+    }
+}
@@ -0,0 +1,85 @@
+package logic;
+
+import java.security.SecureRandom;
+import java.time.LocalDate;
+import java.util.Locale;
+import java.util.SplittableRandom;
+import java.util.random.RandomGenerator;
+
+/**
+ * All randomness for one game, derived from a single printable seed.
+ *
+ * The seed is split into independent streams per purpose (question draws, bot rolls, hint
+ * picks), so replaying a seed with the same player choices reproduces the same questions,
+ * saves and hints, and one purpose drawing more numbers never shifts another.
+ */
+public final class GameRandom {
+
+    private final long seed;
+    private final RandomGenerator questions;
+    private final RandomGenerator bots;
+    private final RandomGenerator hints;
+
+    private GameRandom(long seed) {
+        this.seed = seed;
+        SplittableRandom root = new SplittableRandom(seed);
+        this.questions = root.split();
+        this.bots = root.split();
+        this.hints = root.split();
+    }
+
+    public static GameRandom fromSeed(long seed) {
+        return new GameRandom(seed);
+    }
+
+    /** A fresh game with an unpredictable seed. */
+    public static GameRandom newGame() {
+        return new GameRandom(new SecureRandom().nextLong());
+    }
+
+    /** The same seed for everybody on a given day, for the daily challenge. */
+    public static GameRandom daily(LocalDate date) {
+        return new GameRandom(date.toEpochDay() * 0x9E3779B97F4A7C15L);
+    }
+
+    /**
+     * Parses a code printed by {@link #getSeedCode()}, or "daily" for today's challenge.
+     */
+    public static GameRandom parse(String code) {
+        String trimmed = code.trim();
+        if (trimmed.equalsIgnoreCase("daily")) return daily(LocalDate.now());
+        return new GameRandom(Long.parseUnsignedLong(trimmed.toLowerCase(Locale.ROOT), 36));
+    }
+
+    /** Short base-36 form of the seed, suitable for showing to players and pasting into bug reports. */
+    public String getSeedCode() {
+        return Long.toUnsignedString(seed, 36).toUpperCase(Locale.ROOT);
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
+    /** Stream for drawing round questions. */
+    public RandomGenerator questions() {
+        return questions;
+    }
+
+    /** Stream for chatbot success rolls (Save, Ask, Copy). */
+    public RandomGenerator bots() {
+        return bots;
+    }
+
+    /** Stream for cosmetic choices such as which wrong option a failing bot suggests. */
+    public RandomGenerator hints() {
+        return hints;
+    }
+
+    /**
+     * Picks a uniformly random option index other than the correct one, in a single draw.
+     */
+    public int wrongOption(int correctIndex, int optionCount) {
+        int pick = hints.nextInt(optionCount - 1);
+        return pick >= correctIndex ? pick + 1 : pick;
+    }
+}
@@ -1,16 +1,16 @@
 package logic;
 
-import com.ui.WindowManager;
 import java.util.List;
 
 /**
  * Manages a single game round with questions from one subject.
  * Handles answer submission, chatbot saves, and game state tracking.
+ * A practice session (see {@link #practice}) has no bot or lifelines and never ends early.
  */
 public class GameSession {
     private final Chatbot currentChatbot;
     private final List<Question> questions;
-    private final WindowManager manager;
+    private final LifelineState lifelines;
     private int currentQuestionIndex;
     private int score;
 
@@ -18,17 +18,37 @@ public class GameSession {
         CORRECT,
         WRONG_AND_FAILED,
         SAVED_BY_CHATBOT,
-        GAME_OVER   
+        GAME_OVER,
+        /** Practice only: the answer was wrong and the session moved on */
+        WRONG
     }
 
-    public GameSession(Chatbot chatbot, List<Question> questions, WindowManager manager) {
+    public GameSession(Chatbot chatbot, List<Question> questions, LifelineState lifelines) {
         this.currentChatbot = chatbot;
         this.questions = questions;
-        this.manager = manager;
+        this.lifelines = lifelines;
         this.currentQuestionIndex = 0;
         this.score = 0;
     }
 
+    /** A practice session over the given due cards, which may span subjects. */
+    public static GameSession practice(List<Question> questions) {
+        return new GameSession(null, questions, null);
+    }
+
+    public boolean isPractice() {
+        return lifelines == null;
+    }
+
+    public int getQuestionCount() {
+        return questions.size();
+    }
+
+    /** Position of the current question in the session, counting from 0. */
+    public int getQuestionIndex() {
+        return currentQuestionIndex;
+    }
+
     public Question getCurrentQuestion() {
         if (currentQuestionIndex < questions.size()) {
             return questions.get(currentQuestionIndex);
@@ -56,11 +76,14 @@ public class GameSession {
             score++;
             currentQuestionIndex++;
             return GameResult.CORRECT;
+        } else if (isPractice()) {
+            currentQuestionIndex++;
+            return GameResult.WRONG;
         } else {
 
 
-            if (!manager.isSaveUsed()) {
-                manager.markSaveUsed();
+            if (!lifelines.isSaveUsed()) {
+                lifelines.markSaveUsed();
                 boolean saved = currentChatbot.calculateSuccess(q.getSubject());
 
                 if (saved) {
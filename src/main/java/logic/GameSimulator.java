@@ -0,0 +1,333 @@
+package logic;
+
+import java.util.*;
+import java.util.stream.IntStream;
+
+/**
+ * Headless Monte Carlo simulator for balancing the chatbot odds. Plays complete 7-subject
+ * games through the real {@link GameSession} rules on all cores, without touching JavaFX.
+ * <pre>
+ *   GameSimulator [--games N] [--seed S]
+ *                 [--accuracy P | --accuracy SUBJECT=P,...,default=P]
+ *                 [--lifelines NONE|ASK_FIRST|COPY_FIRST|ON_STRENGTH]
+ *                 [--bots RANDOM|BEST] [--order RANDOM|FIXED]
+ *                 [--strength P] [--neutral P] [--weakness P]
+ * </pre>
+ * The player "knows" an answer with the configured accuracy; otherwise they spend a lifeline
+ * (Ask or Copy, depending on the strategy) or guess. Save is always passive, as in the game.
+ */
+public class GameSimulator {
+
+    /** When an unsure player spends the one-shot Ask and Copy lifelines */
+    public enum LifelineStrategy { NONE, ASK_FIRST, COPY_FIRST, ON_STRENGTH }
+
+    /** How the player picks a bot for each subject */
+    public enum BotChoice { RANDOM, BEST }
+
+    public enum SubjectOrder { RANDOM, FIXED }
+
+    private static final int SUBJECTS = GameCatalog.SUBJECTS.length;
+    private static final int BOTS = GameCatalog.BOT_NAMES.length;
+    /** Enough batches to keep 32 cores busy with some slack; fixed so results do not vary by machine */
+    private static final int MIN_BATCHES = 256;
+    private static final int MAX_BATCHES = 4096;
+
+    private long games = 1_000_000;
+    private long seed = 42;
+    private final double[] accuracy = new double[SUBJECTS];
+    private LifelineStrategy lifelines = LifelineStrategy.ASK_FIRST;
+    private BotChoice botChoice = BotChoice.BEST;
+    private SubjectOrder order = SubjectOrder.RANDOM;
+    private double strengthChance = Chatbot.STRENGTH_SUCCESS;
+    private double neutralChance = Chatbot.NEUTRAL_SUCCESS;
+    private double weaknessChance = Chatbot.WEAKNESS_SUCCESS;
+
+    private final int[] strengthOf = new int[BOTS];
+    private final int[] weaknessOf = new int[BOTS];
+
+    public GameSimulator() {
+        Arrays.fill(accuracy, 0.75);
+        for (int b = 0; b < BOTS; b++) {
+            String[] stats = GameCatalog.botStats(GameCatalog.BOT_NAMES[b]);
+            strengthOf[b] = GameCatalog.subjectIndex(stats[0]);
+            weaknessOf[b] = GameCatalog.subjectIndex(stats[1]);
+        }
+    }
+
+    public static void main(String[] args) {
+        GameSimulator sim = new GameSimulator();
+        for (int i = 0; i + 1 < args.length; i += 2) {
+            String value = args[i + 1];
+            switch (args[i]) {
+                case "--games": sim.games = Long.parseLong(value.replace("_", "")); break;
+                case "--seed": sim.seed = Long.parseLong(value); break;
+                case "--accuracy": sim.parseAccuracy(value); break;
+                case "--lifelines": sim.lifelines = LifelineStrategy.valueOf(value.toUpperCase()); break;
+                case "--bots": sim.botChoice = BotChoice.valueOf(value.toUpperCase()); break;
+                case "--order": sim.order = SubjectOrder.valueOf(value.toUpperCase()); break;
+                case "--strength": sim.strengthChance = Double.parseDouble(value); break;
+                case "--neutral": sim.neutralChance = Double.parseDouble(value); break;
+                case "--weakness": sim.weaknessChance = Double.parseDouble(value); break;
+                default:
+                    System.err.println("Unknown option " + args[i]);
+                    System.exit(2);
+            }
+        }
+        sim.run().print(System.out);
+    }
+
+    private void parseAccuracy(String spec) {
+        if (!spec.contains("=")) {
+            Arrays.fill(accuracy, Double.parseDouble(spec));
+            return;
+        }
+        for (String part : spec.split(",")) {
+            String[] kv = part.split("=");
+            if (kv[0].equalsIgnoreCase("default")) {
+                Arrays.fill(accuracy, Double.parseDouble(kv[1]));
+            }
+        }
+        for (String part : spec.split(",")) {
+            String[] kv = part.split("=");
+            int subject = GameCatalog.subjectIndex(kv[0]);
+            if (subject >= 0) accuracy[subject] = Double.parseDouble(kv[1]);
+        }
+    }
+
+    /**
+     * Runs all games split into batches, each with its own stream split from the seed. The
+     * number of batches depends only on the game count, never on the machine, so the same
+     * seed gives the same results whatever the core count and however batches land on threads.
+     */
+    public Tally run() {
+        long start = System.nanoTime();
+        int batches = (int) Math.min(MAX_BATCHES, Math.max(MIN_BATCHES, games / 250_000));
+        SplittableRandom root = new SplittableRandom(seed);
+        SplittableRandom[] streams = new SplittableRandom[batches];
+        for (int i = 0; i < batches; i++) streams[i] = root.split();
+
+        Tally total = IntStream.range(0, batches).parallel()
+                .mapToObj(i -> runBatch(games / batches + (i < games % batches ? 1 : 0), streams[i]))
+                .reduce(Tally::merge)
+                .orElseGet(Tally::new);
+        total.nanos = System.nanoTime() - start;
+        return total;
+    }
+
+    /** Lifeline flags for one simulated game */
+    private static final class Flags implements LifelineState {
+        boolean askUsed;
+        boolean copyUsed;
+        boolean saveUsed;
+
+        @Override public boolean isSaveUsed() { return saveUsed; }
+        @Override public void markSaveUsed() { saveUsed = true; }
+    }
+
+    private Tally runBatch(long count, SplittableRandom rng) {
+        Tally t = new Tally();
+        Chatbot[] bots = new Chatbot[BOTS];
+        for (int b = 0; b < BOTS; b++) {
+            bots[b] = new Chatbot(GameCatalog.BOT_NAMES[b], GameCatalog.SUBJECTS[strengthOf[b]],
+                    GameCatalog.SUBJECTS[weaknessOf[b]], rng, strengthChance, neutralChance, weaknessChance);
+        }
+
+        // The rules only look at the subject and the correct index, so option 0 is always right
+        List<List<Question>> rounds = new ArrayList<>(SUBJECTS);
+        List<String> options = Arrays.asList("A", "B", "C", "D");
+        for (String subject : GameCatalog.SUBJECTS) {
+            List<Question> round = new ArrayList<>();
+            for (int q = 0; q < GameCatalog.QUESTIONS_PER_SUBJECT; q++) {
+                round.add(new Question(subject + " #" + q, null, options, 0, subject, Question.QuestionType.THEORETICAL));
+            }
+            rounds.add(round);
+        }
+
+        int[] subjectOrder = new int[SUBJECTS];
+        Flags flags = new Flags();
+        for (long g = 0; g < count; g++) {
+            for (int i = 0; i < SUBJECTS; i++) subjectOrder[i] = i;
+            if (order == SubjectOrder.RANDOM) {
+                for (int i = SUBJECTS - 1; i > 0; i--) {
+                    int j = rng.nextInt(i + 1);
+                    int tmp = subjectOrder[i];
+                    subjectOrder[i] = subjectOrder[j];
+                    subjectOrder[j] = tmp;
+                }
+            }
+            flags.askUsed = flags.copyUsed = flags.saveUsed = false;
+
+            int usedBots = 0;
+            int score = 0;
+            boolean alive = true;
+            for (int pos = 0; pos < SUBJECTS && alive; pos++) {
+                int subject = subjectOrder[pos];
+                int bot = pickBot(subject, usedBots, rng);
+                usedBots |= 1 << bot;
+                t.reachedAt[pos]++;
+                t.roundsPlayed[bot][subject]++;
+
+                GameSession session = new GameSession(bots[bot], rounds.get(subject), flags);
+                while (!session.isGameWon()) {
+                    t.answers++;
+                    GameSession.GameResult result = session.submitAnswer(chooseAnswer(subject, bot, bots[bot], flags, rng));
+                    if (result == GameSession.GameResult.WRONG_AND_FAILED || result == GameSession.GameResult.GAME_OVER) {
+                        alive = false;
+                        break;
+                    }
+                }
+                score += session.getScore();
+                if (alive) {
+                    t.clearedAt[pos]++;
+                    t.roundsCleared[bot][subject]++;
+                }
+            }
+
+            t.games++;
+            t.scores[score]++;
+            t.gamesByFirstSubject[subjectOrder[0]]++;
+            if (alive) {
+                t.wins++;
+                t.winsByFirstSubject[subjectOrder[0]]++;
+            }
+        }
+        return t;
+    }
+
+    private int pickBot(int subject, int usedBots, SplittableRandom rng) {
+        if (botChoice == BotChoice.BEST) {
+            for (int b = 0; b < BOTS; b++) {
+                if ((usedBots & (1 << b)) == 0 && strengthOf[b] == subject) return b;
+            }
+            int neutral = randomUnused(usedBots | weakFor(subject), rng);
+            if (neutral >= 0) return neutral;
+        }
+        return randomUnused(usedBots, rng);
+    }
+
+    private int weakFor(int subject) {
+        int mask = 0;
+        for (int b = 0; b < BOTS; b++) {
+            if (weaknessOf[b] == subject) mask |= 1 << b;
+        }
+        return mask;
+    }
+
+    private static int randomUnused(int excluded, SplittableRandom rng) {
+        int free = BOTS - Integer.bitCount(excluded & ((1 << BOTS) - 1));
+        if (free == 0) return -1;
+        int pick = rng.nextInt(free);
+        for (int b = 0; b < BOTS; b++) {
+            if ((excluded & (1 << b)) == 0 && pick-- == 0) return b;
+        }
+        return -1;
+    }
+
+    private int chooseAnswer(int subject, int botIndex, Chatbot bot, Flags flags, SplittableRandom rng) {
+        if (rng.nextDouble() < accuracy[subject]) return 0;
+
+        boolean spend = lifelines != LifelineStrategy.NONE
+                && (lifelines != LifelineStrategy.ON_STRENGTH || strengthOf[botIndex] == subject);
+        if (spend) {
+            boolean askFirst = lifelines != LifelineStrategy.COPY_FIRST;
+            // Ask: the player follows the hint. Copy: the bot's pick is submitted. Either way the bot rolls once.
+            if (askFirst && !flags.askUsed) {
+                flags.askUsed = true;
+                return botAnswer(subject, bot, rng);
+            }
+            if (!flags.copyUsed) {
+                flags.copyUsed = true;
+                return botAnswer(subject, bot, rng);
+            }
+            if (!flags.askUsed) {
+                flags.askUsed = true;
+                return botAnswer(subject, bot, rng);
+            }
+        }
+        return rng.nextInt(4);
+    }
+
+    private static int botAnswer(int subject, Chatbot bot, SplittableRandom rng) {
+        return bot.calculateSuccess(GameCatalog.SUBJECTS[subject]) ? 0 : 1 + rng.nextInt(3);
+    }
+
+    /**
+     * Counters for a batch of games; batches are merged into one at the end.
+     */
+    public static final class Tally {
+        long games;
+        long wins;
+        long answers;
+        long nanos;
+        final long[] scores = new long[GameCatalog.TOTAL_QUESTIONS + 1];
+        final long[][] roundsPlayed = new long[BOTS][SUBJECTS];
+        final long[][] roundsCleared = new long[BOTS][SUBJECTS];
+        final long[] reachedAt = new long[SUBJECTS];
+        final long[] clearedAt = new long[SUBJECTS];
+        final long[] gamesByFirstSubject = new long[SUBJECTS];
+        final long[] winsByFirstSubject = new long[SUBJECTS];
+
+        Tally merge(Tally o) {
+            games += o.games;
+            wins += o.wins;
+            answers += o.answers;
+            for (int i = 0; i < scores.length; i++) scores[i] += o.scores[i];
+            for (int b = 0; b < BOTS; b++) {
+                for (int s = 0; s < SUBJECTS; s++) {
+                    roundsPlayed[b][s] += o.roundsPlayed[b][s];
+                    roundsCleared[b][s] += o.roundsCleared[b][s];
+                }
+            }
+            for (int s = 0; s < SUBJECTS; s++) {
+                reachedAt[s] += o.reachedAt[s];
+                clearedAt[s] += o.clearedAt[s];
+                gamesByFirstSubject[s] += o.gamesByFirstSubject[s];
+                winsByFirstSubject[s] += o.winsByFirstSubject[s];
+            }
+            return this;
+        }
+
+        public double winRate() {
+            return games == 0 ? 0 : (double) wins / games;
+        }
+
+        void print(java.io.PrintStream out) {
+            double seconds = nanos / 1e9;
+            out.printf("Simulated %,d games (%,d answers) in %.1f s, %,.0f answers/s%n",
+                    games, answers, seconds, answers / Math.max(seconds, 1e-9));
+            out.printf("Win rate: %.3f%%%n%n", 100.0 * winRate());
+
+            out.println("Score distribution:");
+            for (int s = 0; s < scores.length; s++) {
+                out.printf("  %2d/%d  %7.3f%%%n", s, GameCatalog.TOTAL_QUESTIONS, percent(scores[s], games));
+            }
+
+            out.printf("%nRound clear rate by bot (rows) and subject (columns):%n%-12s", "");
+            for (String subject : GameCatalog.SUBJECTS) out.printf("%13s", subject);
+            out.println();
+            for (int b = 0; b < BOTS; b++) {
+                out.printf("%-12s", GameCatalog.BOT_NAMES[b]);
+                for (int s = 0; s < SUBJECTS; s++) {
+                    out.printf(roundsPlayed[b][s] == 0 ? "%13s" : "%12.2f%%",
+                            roundsPlayed[b][s] == 0 ? "-" : percent(roundsCleared[b][s], roundsPlayed[b][s]));
+                }
+                out.println();
+            }
+
+            out.printf("%nClear rate by position in the subject order:%n");
+            for (int p = 0; p < SUBJECTS; p++) {
+                out.printf("  round %d  reached %7.3f%%  cleared %7.3f%%%n",
+                        p + 1, percent(reachedAt[p], games), percent(clearedAt[p], reachedAt[p]));
+            }
+
+            out.printf("%nWin rate by first subject:%n");
+            for (int s = 0; s < SUBJECTS; s++) {
+                out.printf("  %-13s %7.3f%%%n", GameCatalog.SUBJECTS[s], percent(winsByFirstSubject[s], gamesByFirstSubject[s]));
+            }
+        }
+
+        private static double percent(long part, long whole) {
+            return whole == 0 ? 0 : 100.0 * part / whole;
+        }
+    }
+}
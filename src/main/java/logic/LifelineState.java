@@ -0,0 +1,10 @@
+package logic;
+
+/**
+ * Lifeline flags a {@link GameSession} needs to read and update while answering.
+ * Implemented by whatever owns the player's game state, so the rules run without the UI.
+ */
+public interface LifelineState {
+    boolean isSaveUsed();
+    void markSaveUsed();
+}
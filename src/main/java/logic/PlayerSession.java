@@ -0,0 +1,218 @@
+package logic;
+
+import java.util.*;
+
+/**
+ * All state of one player's 7-subject run, independent of any UI: score, completed subjects,
+ * used bots, lifelines, the seed and the round in progress.
+ *
+ * Subjects and bots are tracked as bitmasks over {@link GameCatalog} ordinals, so a session
+ * costs a few dozen bytes plus its current round. A session is not thread-safe; confine it to
+ * one thread (the JavaFX thread) or go through {@link SessionRegistry#withSession}.
+ */
+public class PlayerSession implements LifelineState {
+    private static final int ASK_USED = 1;
+    private static final int COPY_USED = 2;
+    private static final int SAVE_USED = 4;
+
+    private final long id;
+    private GameRandom random;
+    private int globalScore;
+    private int completedSubjects;
+    private int usedBots;
+    private int lifelines;
+    private boolean active;
+    /** Subjects and bots in the order they were played: ordinal + 1 per 4 bits, first round lowest */
+    private int subjectOrder;
+    private int botOrder;
+
+    private Chatbot currentChatbot;
+    private GameSession currentRound;
+    private long lastAccessMillis;
+
+    /**
+     * The part of a session that survives between rounds: what a save file needs to resume a run.
+     * Subjects and bots are bitmasks over {@link GameCatalog} ordinals.
+     */
+    public record Progress(long seed, int globalScore, int completedSubjects, int usedBots, int lifelines, boolean active,
+                           int subjectOrder, int botOrder) {}
+
+    public PlayerSession(long id) {
+        this.id = id;
+        this.random = GameRandom.newGame();
+        touch();
+    }
+
+    /**
+     * Resets all stats and starts a fresh run with the given randomness.
+     */
+    public void startNewGame(GameRandom random) {
+        this.random = random;
+        globalScore = 0;
+        completedSubjects = 0;
+        usedBots = 0;
+        lifelines = 0;
+        subjectOrder = 0;
+        botOrder = 0;
+        currentChatbot = null;
+        currentRound = null;
+        active = true;
+    }
+
+    /**
+     * Picks the assistant for the next round. Returns null if the bot is unknown or already used,
+     * or the game is over.
+     */
+    public Chatbot selectBot(String name) {
+        int bot = botOrdinal(name);
+        if (!active || bot < 0 || (usedBots & (1 << bot)) != 0) return null;
+        currentChatbot = GameCatalog.createBot(GameCatalog.BOT_NAMES[bot], random.bots());
+        return currentChatbot;
+    }
+
+    /**
+     * Starts a round of the given subject with the selected bot. Returns null when no bot is
+     * selected or the subject is unknown or already completed.
+     */
+    public GameSession startRound(String subject, QuestionSource questions) {
+        int s = GameCatalog.subjectIndex(subject);
+        if (!active || currentChatbot == null || s < 0 || (completedSubjects & (1 << s)) != 0) return null;
+
+        List<Question> roundQuestions = questions.sample(subject, GameCatalog.QUESTIONS_PER_SUBJECT, random.questions());
+        if (roundQuestions.isEmpty()) {
+            roundQuestions = new ArrayList<>();
+            roundQuestions.add(new Question("Dummy Q1 (" + subject + ")", null, Arrays.asList("A","B","C","D"), 0, subject, Question.QuestionType.THEORETICAL));
+            roundQuestions.add(new Question("Dummy Q2 (" + subject + ")", null, Arrays.asList("A","B","C","D"), 0, subject, Question.QuestionType.THEORETICAL));
+        }
+
+        currentChatbot.revealStats();
+        currentRound = new GameSession(currentChatbot, roundQuestions, this);
+        subjectOrder = appendOrder(subjectOrder, s);
+        botOrder = appendOrder(botOrder, GameCatalog.botIndex(currentChatbot.getName()));
+        return currentRound;
+    }
+
+    /**
+     * Banks the current round's score, marks its subject and bot as used and returns true
+     * when that completed the whole run.
+     */
+    public boolean completeRound() {
+        if (currentRound == null) return false;
+        globalScore += currentRound.getScore();
+        int s = GameCatalog.subjectIndex(currentRound.getSubject());
+        if (s >= 0) completedSubjects |= 1 << s;
+        if (currentChatbot != null) usedBots |= 1 << GameCatalog.botIndex(currentChatbot.getName());
+
+        currentRound = null;
+        currentChatbot = null;
+        if (getCompletedCount() >= GameCatalog.SUBJECTS.length) {
+            active = false;
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * The option the current bot picks for the current question, as used by the Ask and
+     * Copy lifelines: the right one with the bot's success chance, otherwise a wrong one.
+     */
+    public int botGuess() {
+        Question q = currentRound == null ? null : currentRound.getCurrentQuestion();
+        if (q == null) return -1;
+        int optionCount = q.getOptions() == null ? 4 : Math.max(2, q.getOptions().size());
+        return currentChatbot.calculateSuccess(q.getSubject())
+                ? q.getCorrectAnswerIndex()
+                : random.wrongOption(q.getCorrectAnswerIndex(), optionCount);
+    }
+
+    /** Snapshot of the between-round state. A round in progress is not part of it. */
+    public Progress progress() {
+        return new Progress(random.getSeed(), globalScore, completedSubjects, usedBots, lifelines, active,
+                subjectOrder, botOrder);
+    }
+
+    /**
+     * Puts the session back to a saved state, e.g. after a restart. Any round in progress is
+     * dropped; the seed's random streams start over, so later draws differ from the original run.
+     */
+    public void restore(Progress progress) {
+        random = GameRandom.fromSeed(progress.seed());
+        globalScore = progress.globalScore();
+        completedSubjects = progress.completedSubjects();
+        usedBots = progress.usedBots();
+        lifelines = progress.lifelines();
+        active = progress.active();
+        subjectOrder = progress.subjectOrder();
+        botOrder = progress.botOrder();
+        currentChatbot = null;
+        currentRound = null;
+    }
+
+    /** Called when the run is lost or abandoned. */
+    public void endGame() {
+        active = false;
+        currentRound = null;
+    }
+
+    public boolean isAskUsed() { return (lifelines & ASK_USED) != 0; }
+    public void markAskUsed() { lifelines |= ASK_USED; }
+    public boolean isCopyUsed() { return (lifelines & COPY_USED) != 0; }
+    public void markCopyUsed() { lifelines |= COPY_USED; }
+    @Override
+    public boolean isSaveUsed() { return (lifelines & SAVE_USED) != 0; }
+    @Override
+    public void markSaveUsed() { lifelines |= SAVE_USED; }
+
+    public boolean isSubjectCompleted(String subject) {
+        int s = GameCatalog.subjectIndex(subject);
+        return s >= 0 && (completedSubjects & (1 << s)) != 0;
+    }
+
+    public boolean isBotUsed(String name) {
+        int bot = botOrdinal(name);
+        return bot >= 0 && (usedBots & (1 << bot)) != 0;
+    }
+
+    public Set<String> getCompletedSubjects() {
+        Set<String> names = new LinkedHashSet<>();
+        for (int s = 0; s < GameCatalog.SUBJECTS.length; s++) {
+            if ((completedSubjects & (1 << s)) != 0) names.add(GameCatalog.SUBJECTS[s]);
+        }
+        return names;
+    }
+
+    public Set<String> getUsedBots() {
+        Set<String> names = new LinkedHashSet<>();
+        for (int b = 0; b < GameCatalog.BOT_NAMES.length; b++) {
+            if ((usedBots & (1 << b)) != 0) names.add(GameCatalog.BOT_NAMES[b]);
+        }
+        return names;
+    }
+
+    public int getCompletedCount() { return Integer.bitCount(completedSubjects); }
+    /** Subjects played so far, in order, packed as {@link GameCatalog} ordinal + 1 per 4 bits. */
+    public int getSubjectOrder() { return subjectOrder; }
+    /** Bots played so far, in order, packed like {@link #getSubjectOrder()}. */
+    public int getBotOrder() { return botOrder; }
+    public long getId() { return id; }
+    public int getGlobalScore() { return globalScore; }
+    public boolean isGameActive() { return active; }
+    public GameRandom getRandom() { return random; }
+    public Chatbot getCurrentChatbot() { return currentChatbot; }
+    public GameSession getCurrentRound() { return currentRound; }
+
+    long getLastAccessMillis() { return lastAccessMillis; }
+    void touch() { lastAccessMillis = System.currentTimeMillis(); }
+
+    private static int appendOrder(int order, int ordinal) {
+        int shift = (32 - Integer.numberOfLeadingZeros(order) + 3) / 4 * 4;
+        return shift >= 32 ? order : order | (ordinal + 1) << shift;
+    }
+
+    private static int botOrdinal(String name) {
+        for (int i = 0; i < GameCatalog.BOT_NAMES.length; i++) {
+            if (GameCatalog.BOT_NAMES[i].equalsIgnoreCase(name)) return i;
+        }
+        return -1;
+    }
+}
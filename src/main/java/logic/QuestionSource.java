@@ -0,0 +1,13 @@
+package logic;
+
+import java.util.List;
+import java.util.random.RandomGenerator;
+
+/**
+ * Where a round's questions come from, e.g. {@code questionBank::sample}.
+ * Keeps the game engine independent of how the bank is loaded.
+ */
+@FunctionalInterface
+public interface QuestionSource {
+    List<Question> sample(String subject, int count, RandomGenerator random);
+}
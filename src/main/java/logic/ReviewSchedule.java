@@ -0,0 +1,243 @@
+package logic;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.function.IntPredicate;
+
+/**
+ * One player's spaced-repetition schedule (SM-2) over the question deck, for practice mode.
+ *
+ * Cards are question ordinals (see {@code data.PracticeDeck}). All state lives in primitive
+ * arrays indexed by ordinal, about 20 bytes per card, and the cards already introduced sit in
+ * an indexed binary min-heap on their due time: the next due card is O(1), a review or
+ * introduction O(log n). Cards changed since the last save are tracked so only those are
+ * written back. Times are minutes since the epoch. Not thread-safe.
+ */
+public class ReviewSchedule {
+
+    /** Ease factor is stored in thousandths */
+    public static final int INITIAL_EASE = 2500;
+    public static final int MIN_EASE = 1300;
+    /** A lapsed card comes back after this many minutes */
+    public static final int RELEARN_MINUTES = 10;
+
+    private static final int DAY = 24 * 60;
+
+    private int[] due = new int[0];
+    private int[] interval = new int[0];
+    private short[] ease = new short[0];
+    private byte[] reps = new byte[0];
+    private byte[] lapses = new byte[0];
+
+    /** Min-heap of introduced cards by due time, and each card's slot in it (-1 when absent) */
+    private int[] heap = new int[0];
+    private int[] slot = new int[0];
+    private int heapSize;
+
+    private final BitSet dirty = new BitSet();
+    /** Lowest ordinal that may still be a new card */
+    private int nextNew;
+
+    public ReviewSchedule(int cards) {
+        ensureCapacity(cards);
+    }
+
+    /** Grows the arrays to hold at least the given number of cards, e.g. after the deck grew. */
+    public void ensureCapacity(int cards) {
+        int old = due.length;
+        if (cards <= old) return;
+        due = Arrays.copyOf(due, cards);
+        interval = Arrays.copyOf(interval, cards);
+        ease = Arrays.copyOf(ease, cards);
+        reps = Arrays.copyOf(reps, cards);
+        lapses = Arrays.copyOf(lapses, cards);
+        heap = Arrays.copyOf(heap, cards);
+        slot = Arrays.copyOf(slot, cards);
+        Arrays.fill(slot, old, cards, -1);
+    }
+
+    public int capacity() {
+        return due.length;
+    }
+
+    /**
+     * Sets a card's stored state, e.g. when loading. A due time of 0 means the card was never
+     * introduced. Call {@link #rebuildQueue()} after loading many cards.
+     */
+    public void load(int card, int dueMinute, int intervalMinutes, int easeThousandths, int repetitions, int lapseCount) {
+        due[card] = dueMinute;
+        interval[card] = intervalMinutes;
+        ease[card] = (short) easeThousandths;
+        reps[card] = (byte) repetitions;
+        lapses[card] = (byte) lapseCount;
+    }
+
+    /** Rebuilds the due queue from the card arrays in O(n). */
+    public void rebuildQueue() {
+        Arrays.fill(slot, -1);
+        heapSize = 0;
+        for (int card = 0; card < due.length; card++) {
+            if (due[card] != 0) {
+                heap[heapSize] = card;
+                slot[card] = heapSize++;
+            }
+        }
+        for (int i = heapSize / 2 - 1; i >= 0; i--) siftDown(i);
+        nextNew = 0;
+    }
+
+    /** The card due soonest, or -1 if none has been introduced. */
+    public int peek() {
+        return heapSize == 0 ? -1 : heap[0];
+    }
+
+    /** Introduced cards. */
+    public int introducedCount() {
+        return heapSize;
+    }
+
+    /** Due cards the filter accepts, at or before the given minute. O(due cards). */
+    public int dueCount(int nowMinute, IntPredicate available) {
+        return countDue(0, nowMinute, available);
+    }
+
+    /**
+     * Up to max cards that are due, soonest first, without taking them off the schedule.
+     * Cards the caller cannot serve (e.g. their question has left the bank for now) are
+     * skipped but stay queued, so they are due again as soon as they are available.
+     * O((max + skipped)²), for the handful of cards a practice round asks for.
+     */
+    public int[] due(int nowMinute, int max, IntPredicate available) {
+        int[] result = new int[Math.min(max, heapSize)];
+        int n = 0;
+        // Walk the heap best-first; the frontier holds heap slots whose parents were visited
+        int[] frontier = new int[Math.min(heapSize, 2 * max + 1)];
+        int frontierSize = 0;
+        if (heapSize > 0 && due[heap[0]] <= nowMinute) frontier[frontierSize++] = 0;
+        while (frontierSize > 0 && n < result.length) {
+            int best = 0;
+            for (int i = 1; i < frontierSize; i++) {
+                if (due[heap[frontier[i]]] < due[heap[frontier[best]]]) best = i;
+            }
+            int at = frontier[best];
+            frontier[best] = frontier[--frontierSize];
+            if (available.test(heap[at])) result[n++] = heap[at];
+            for (int child = 2 * at + 1; child <= 2 * at + 2 && child < heapSize; child++) {
+                if (due[heap[child]] > nowMinute) continue;
+                if (frontierSize == frontier.length) frontier = Arrays.copyOf(frontier, Math.min(heapSize, 2 * frontier.length));
+                frontier[frontierSize++] = child;
+            }
+        }
+        return Arrays.copyOf(result, n);
+    }
+
+    /**
+     * Introduces up to max never-seen cards, due now, and returns them. Cards the caller
+     * cannot serve (e.g. no longer in the bank) can be skipped with the filter.
+     */
+    public int[] introduce(int nowMinute, int max, IntPredicate available) {
+        int[] result = new int[max];
+        int n = 0;
+        while (n < max && nextNew < due.length) {
+            int card = nextNew++;
+            if (due[card] != 0 || !available.test(card)) continue;
+            due[card] = nowMinute;
+            ease[card] = (short) INITIAL_EASE;
+            push(card);
+            dirty.set(card);
+            result[n++] = card;
+        }
+        return Arrays.copyOf(result, n);
+    }
+
+    /**
+     * Applies an SM-2 review. Quality runs from 0 (blackout) to 5 (perfect); below 3 the card
+     * lapses and comes back in {@link #RELEARN_MINUTES}.
+     */
+    public void review(int card, int quality, int nowMinute) {
+        int q = Math.max(0, Math.min(5, quality));
+        int e = ease[card] == 0 ? INITIAL_EASE : ease[card];
+        if (q < 3) {
+            reps[card] = 0;
+            lapses[card] = (byte) Math.min(127, lapses[card] + 1);
+            interval[card] = RELEARN_MINUTES;
+        } else {
+            reps[card] = (byte) Math.min(127, reps[card] + 1);
+            if (reps[card] == 1) interval[card] = DAY;
+            else if (reps[card] == 2) interval[card] = 6 * DAY;
+            else interval[card] = (int) Math.min(Integer.MAX_VALUE / 2, (long) interval[card] * e / 1000);
+        }
+        e += 100 - (5 - q) * (80 + (5 - q) * 20);
+        ease[card] = (short) Math.max(MIN_EASE, e);
+        due[card] = nowMinute + interval[card];
+
+        if (slot[card] < 0) push(card);
+        else update(card);
+        dirty.set(card);
+    }
+
+    public int dueMinute(int card) { return due[card]; }
+    public int intervalMinutes(int card) { return interval[card]; }
+    public int ease(int card) { return ease[card]; }
+    public int repetitions(int card) { return reps[card]; }
+    public int lapses(int card) { return lapses[card]; }
+
+    /** Cards changed since the last {@link #clearDirty()}, in ascending order. */
+    public int[] dirtyCards() {
+        return dirty.stream().toArray();
+    }
+
+    public void clearDirty() {
+        dirty.clear();
+    }
+
+    public static int minuteOf(long epochMillis) {
+        return (int) (epochMillis / 60_000);
+    }
+
+    private int countDue(int at, int nowMinute, IntPredicate available) {
+        if (at >= heapSize || due[heap[at]] > nowMinute) return 0;
+        return (available.test(heap[at]) ? 1 : 0)
+                + countDue(2 * at + 1, nowMinute, available) + countDue(2 * at + 2, nowMinute, available);
+    }
+
+    private void push(int card) {
+        heap[heapSize] = card;
+        slot[card] = heapSize;
+        siftUp(heapSize++);
+    }
+
+    private void update(int card) {
+        int at = slot[card];
+        siftUp(at);
+        siftDown(slot[card]);
+    }
+
+    private void siftUp(int at) {
+        int card = heap[at];
+        while (at > 0) {
+            int parent = (at - 1) >>> 1;
+            if (due[heap[parent]] <= due[card]) break;
+            heap[at] = heap[parent];
+            slot[heap[at]] = at;
+            at = parent;
+        }
+        heap[at] = card;
+        slot[card] = at;
+    }
+
+    private void siftDown(int at) {
+        int card = heap[at];
+        int half = heapSize >>> 1;
+        while (at < half) {
+            int child = 2 * at + 1;
+            if (child + 1 < heapSize && due[heap[child + 1]] < due[heap[child]]) child++;
+            if (due[card] <= due[heap[child]]) break;
+            heap[at] = heap[child];
+            slot[heap[at]] = at;
+            at = child;
+        }
+        heap[at] = card;
+        slot[card] = at;
+    }
+}
@@ -0,0 +1,81 @@
+package logic;
+
+import java.security.SecureRandom;
+import java.util.Base64;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+
+/**
+ * Hosts many {@link PlayerSession}s in one JVM. Lookups are lock-free; work on a session runs
+ * under one of a fixed set of striped locks chosen by session token, so two requests for the
+ * same player never interleave while unrelated players proceed in parallel.
+ *
+ * Sessions are addressed by a random 128-bit token rather than their sequential id, so a
+ * client cannot reach another player's session by guessing its number.
+ */
+public class SessionRegistry {
+    private static final int STRIPES = 256;
+    private static final int TOKEN_BYTES = 16;
+
+    private final SecureRandom tokens = new SecureRandom();
+    private final ConcurrentHashMap<String, PlayerSession> sessions = new ConcurrentHashMap<>();
+    private final ReentrantLock[] locks = new ReentrantLock[STRIPES];
+    private final AtomicLong nextId = new AtomicLong(1);
+
+    public SessionRegistry() {
+        for (int i = 0; i < STRIPES; i++) locks[i] = new ReentrantLock();
+    }
+
+    /** Registers a new session (not yet in a game) and returns its token, URL-safe Base64. */
+    public String create() {
+        PlayerSession session = new PlayerSession(nextId.getAndIncrement());
+        byte[] bytes = new byte[TOKEN_BYTES];
+        while (true) {
+            tokens.nextBytes(bytes);
+            String token = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+            if (sessions.putIfAbsent(token, session) == null) return token;
+        }
+    }
+
+    /**
+     * Runs an action on a session while holding its stripe lock. Returns null when the
+     * session does not exist (or has been evicted).
+     */
+    public <T> T withSession(String token, Function<PlayerSession, T> action) {
+        PlayerSession session = sessions.get(token);
+        if (session == null) return null;
+        ReentrantLock lock = locks[stripe(token)];
+        lock.lock();
+        try {
+            session.touch();
+            return action.apply(session);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public boolean remove(String token) {
+        return sessions.remove(token) != null;
+    }
+
+    public int size() {
+        return sessions.size();
+    }
+
+    /**
+     * Drops sessions that have not been used for the given time; returns how many were removed.
+     */
+    public int evictIdle(long maxIdleMillis) {
+        long cutoff = System.currentTimeMillis() - maxIdleMillis;
+        int before = sessions.size();
+        sessions.values().removeIf(s -> s.getLastAccessMillis() < cutoff);
+        return before - sessions.size();
+    }
+
+    private static int stripe(String token) {
+        long h = token.hashCode() * 0x9E3779B97F4A7C15L;
+        return (int) (h >>> 56) & (STRIPES - 1);
+    }
+}
@@ -0,0 +1,184 @@
+package server;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import data.JsonDataLoader;
+import logic.GameCatalog;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.*;
+
+/**
+ * Local load generator for {@link QuizServer}. Each simulated player plays whole games
+ * (pick bot, pick subject, answer at random until the game ends) over loopback and every
+ * request's latency is recorded.
+ * <pre>
+ *   LoadGenerator [--players N] [--games N] [--think MS] [--host H] [--port P] [--embedded]
+ * </pre>
+ * --think adds a random pause of up to twice MS before each click, like a real player reading;
+ * without it every player hammers the server back to back.
+ * With --embedded a server is started in this JVM on a free port, so no second process is needed.
+ */
+public class LoadGenerator {
+    private String host = "localhost";
+    private int port = 8080;
+    private int players = 1000;
+    private int gamesPerPlayer = 5;
+    private long thinkMillis;
+    private boolean embedded;
+
+    private HttpClient client;
+    private String base;
+
+    public static void main(String[] args) throws Exception {
+        LoadGenerator gen = new LoadGenerator();
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--host": gen.host = args[++i]; break;
+                case "--port": gen.port = Integer.parseInt(args[++i]); break;
+                case "--players": gen.players = Integer.parseInt(args[++i]); break;
+                case "--games": gen.gamesPerPlayer = Integer.parseInt(args[++i]); break;
+                case "--think": gen.thinkMillis = Long.parseLong(args[++i]); break;
+                case "--embedded": gen.embedded = true; break;
+                default:
+                    System.err.println("Unknown option " + args[i]);
+                    System.exit(2);
+            }
+        }
+        gen.run();
+    }
+
+    public void run() throws Exception {
+        QuizServer server = null;
+        if (embedded) {
+            JsonDataLoader loader = new JsonDataLoader();
+            if (!loader.loadPrecompiledBank("MCQ.bank")) loader.loadQuestionsFromDirectory("MCQ");
+            server = new QuizServer(loader, 0);
+            server.start();
+            port = server.getPort();
+        }
+
+        ExecutorService pool = QuizServer.newRequestExecutor(players);
+        client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(10))
+                .build();
+        base = "http://" + host + ":" + port + "/api/";
+
+        System.out.printf("Running %d players x %d games against %s%n", players, gamesPerPlayer, base);
+        long start = System.nanoTime();
+        List<Future<long[]>> results = new ArrayList<>();
+        for (int p = 0; p < players; p++) {
+            long seed = p;
+            SplittableRandom random = new SplittableRandom(seed);
+            results.add(pool.submit(() -> play(random)));
+        }
+
+        long[] all = new long[0];
+        int failed = 0;
+        for (Future<long[]> f : results) {
+            try {
+                long[] latencies = f.get();
+                long[] merged = Arrays.copyOf(all, all.length + latencies.length);
+                System.arraycopy(latencies, 0, merged, all.length, latencies.length);
+                all = merged;
+            } catch (ExecutionException e) {
+                if (failed++ == 0) System.err.println("Player failed: " + e.getCause());
+            }
+        }
+        double seconds = (System.nanoTime() - start) / 1e9;
+
+        Arrays.sort(all);
+        System.out.printf("%d requests in %.1f s (%.0f req/s), %d players failed%n",
+                all.length, seconds, all.length / seconds, failed);
+        if (all.length > 0) {
+            System.out.printf("latency ms: p50 %.2f  p90 %.2f  p99 %.2f  p99.9 %.2f  max %.2f%n",
+                    percentile(all, 0.50), percentile(all, 0.90), percentile(all, 0.99),
+                    percentile(all, 0.999), all[all.length - 1] / 1e6);
+        }
+
+        pool.shutdownNow();
+        if (server != null) server.stop();
+    }
+
+    /** Plays this player's games and returns the latency of every request, in nanoseconds. */
+    private long[] play(SplittableRandom random) throws IOException, InterruptedException {
+        long[] latencies = new long[64];
+        int count = 0;
+
+        for (int game = 0; game < gamesPerPlayer; game++) {
+            Timed created = call(random, "POST", "sessions", "{}");
+            latencies = record(latencies, count++, created.nanos);
+            long id = created.body.get("id").getAsLong();
+            String session = "sessions/" + id + "/";
+
+            List<String> subjects = new ArrayList<>(Arrays.asList(GameCatalog.SUBJECTS));
+            List<String> bots = new ArrayList<>(Arrays.asList(GameCatalog.BOT_NAMES));
+            boolean over = false;
+            while (!over && !subjects.isEmpty()) {
+                String bot = bots.remove(random.nextInt(bots.size()));
+                String subject = subjects.remove(random.nextInt(subjects.size()));
+
+                Timed t = call(random, "POST", session + "bot", "{\"name\":\"" + bot + "\"}");
+                latencies = record(latencies, count++, t.nanos);
+                t = call(random, "POST", session + "subject", "{\"subject\":\"" + subject + "\"}");
+                latencies = record(latencies, count++, t.nanos);
+                JsonArray options = t.body.getAsJsonArray("options");
+
+                while (true) {
+                    t = call(random, "POST", session + "answer", "{\"option\":" + random.nextInt(options.size()) + "}");
+                    latencies = record(latencies, count++, t.nanos);
+                    if (t.body.has("gameOver")) {
+                        over = true;
+                        break;
+                    }
+                    if (t.body.has("roundComplete")) break;
+
+                    t = call(random, "GET", session + "question", null);
+                    latencies = record(latencies, count++, t.nanos);
+                    options = t.body.getAsJsonArray("options");
+                }
+            }
+            latencies = record(latencies, count++, call(random, "DELETE", "sessions/" + id, null).nanos);
+        }
+        return Arrays.copyOf(latencies, count);
+    }
+
+    private Timed call(SplittableRandom random, String method, String path, String json) throws IOException, InterruptedException {
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create(base + path)).timeout(Duration.ofSeconds(30));
+        if (json == null) {
+            request.method(method, HttpRequest.BodyPublishers.noBody());
+        } else {
+            request.header("Content-Type", "application/json").method(method, HttpRequest.BodyPublishers.ofString(json));
+        }
+
+        if (thinkMillis > 0) Thread.sleep(random.nextLong(2 * thinkMillis + 1));
+
+        long start = System.nanoTime();
+        HttpResponse<String> response = client.send(request.build(), HttpResponse.BodyHandlers.ofString());
+        long nanos = System.nanoTime() - start;
+        if (response.statusCode() >= 300) {
+            throw new IOException(method + " " + path + " -> " + response.statusCode() + " " + response.body());
+        }
+        return new Timed(JsonParser.parseString(response.body()).getAsJsonObject(), nanos);
+    }
+
+    private static long[] record(long[] latencies, int index, long nanos) {
+        if (index == latencies.length) latencies = Arrays.copyOf(latencies, index * 2);
+        latencies[index] = nanos;
+        return latencies;
+    }
+
+    private static double percentile(long[] sorted, double p) {
+        return sorted[Math.min(sorted.length - 1, (int) (p * sorted.length))] / 1e6;
+    }
+
+    private record Timed(JsonObject body, long nanos) {}
+}
@@ -0,0 +1,340 @@
+package server;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import data.JsonDataLoader;
+import data.QuestionBank;
+import data.QuestionSampler;
+import logic.GameCatalog;
+import logic.GameRandom;
+import logic.GameSession;
+import logic.PlayerSession;
+import logic.Question;
+import logic.SessionRegistry;
+
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+import java.util.*;
+import java.util.concurrent.*;
+
+/**
+ * Headless quiz server: the game flow of the JavaFX client as JSON over HTTP, for browsers on
+ * lab terminals. Every player is a {@link PlayerSession} in one shared {@link SessionRegistry}.
+ * <pre>
+ *   GET    /api/catalog                     subjects and bot names
+ *   POST   /api/sessions                    new game, optional {"seed": code}; returns its "id"
+ *   GET    /api/sessions/{id}               score, lifelines, used bots and subjects
+ *   DELETE /api/sessions/{id}               quit
+ *   POST   /api/sessions/{id}/bot           {"name": bot}
+ *   POST   /api/sessions/{id}/subject       {"subject": subject}, starts the round
+ *   GET    /api/sessions/{id}/question      current question, without the answer
+ *   POST   /api/sessions/{id}/answer        {"option": index}
+ *   POST   /api/sessions/{id}/lifeline      {"type": "ASK" | "COPY"}
+ * </pre>
+ * A session id is a random token only its creator learns; an unknown one gets a 404.
+ */
+public class QuizServer {
+    private static final long IDLE_TIMEOUT_MS = TimeUnit.MINUTES.toMillis(30);
+
+    private final Gson gson = new Gson();
+    private final SessionRegistry registry = new SessionRegistry();
+    private final JsonDataLoader dataLoader;
+    /** Alias-table sampler over the current snapshot, replaced when a reload publishes a new one */
+    private volatile QuestionSampler sampler;
+    private final HttpServer http;
+    private final ExecutorService executor;
+    private final ScheduledExecutorService janitor;
+
+    public QuizServer(JsonDataLoader dataLoader, int port) throws IOException {
+        this.dataLoader = dataLoader;
+        // Responses go out as separate header and body writes; without TCP_NODELAY, Nagle plus
+        // delayed ACKs add ~40 ms to every keep-alive request. The default idle pool of 200 keep-alive
+        // connections would also make the server drop connections of players between two clicks.
+        // Both are read once when the server class loads.
+        defaultProperty("sun.net.httpserver.nodelay", "true");
+        defaultProperty("sun.net.httpserver.maxIdleConnections", "16384");
+        this.http = HttpServer.create(new InetSocketAddress(port), 4096);
+        this.executor = newRequestExecutor(Math.max(64, Runtime.getRuntime().availableProcessors() * 16));
+        this.janitor = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "session-janitor");
+            t.setDaemon(true);
+            return t;
+        });
+        http.createContext("/api/", this::handle);
+        http.setExecutor(executor);
+    }
+
+    public static void main(String[] args) throws IOException {
+        int port = args.length > 0 ? Integer.parseInt(args[0]) : 8080;
+
+        JsonDataLoader loader = new JsonDataLoader();
+        String questionDir = System.getProperty("astac.questionDir");
+        if (questionDir != null) {
+            loader.loadQuestionsFromPath(Paths.get(questionDir));
+            loader.startWatching(Paths.get(questionDir));
+        } else if (!loader.loadPrecompiledBank("MCQ.bank")) {
+            loader.loadQuestionsFromDirectory("MCQ");
+        }
+
+        QuizServer server = new QuizServer(loader, port);
+        server.start();
+        Runtime.getRuntime().addShutdownHook(new Thread(server::stop));
+    }
+
+    public void start() {
+        http.start();
+        janitor.scheduleAtFixedRate(() -> {
+            int evicted = registry.evictIdle(IDLE_TIMEOUT_MS);
+            if (evicted > 0) System.out.println("Evicted " + evicted + " idle sessions");
+        }, 1, 1, TimeUnit.MINUTES);
+        System.out.println("Quiz server listening on port " + getPort() + " (" + dataLoader.snapshot().size() + " questions)");
+    }
+
+    public void stop() {
+        http.stop(0);
+        janitor.shutdownNow();
+        executor.shutdown();
+    }
+
+    public int getPort() {
+        return http.getAddress().getPort();
+    }
+
+    public SessionRegistry getRegistry() {
+        return registry;
+    }
+
+    /**
+     * One virtual thread per request when the runtime has them (Java 21+), so a slow client
+     * never holds a platform thread. On older runtimes falls back to a pool of the given size.
+     */
+    static ExecutorService newRequestExecutor(int threads) {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException e) {
+            ThreadPoolExecutor pool = new ThreadPoolExecutor(threads, threads, 30, TimeUnit.SECONDS,
+                    new LinkedBlockingQueue<>(), r -> {
+                        Thread t = new Thread(r, "quiz-worker");
+                        t.setDaemon(true);
+                        return t;
+                    });
+            pool.allowCoreThreadTimeOut(true);
+            return pool;
+        }
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try {
+            String[] path = exchange.getRequestURI().getPath().substring("/api/".length()).split("/");
+            String method = exchange.getRequestMethod();
+
+            if (path[0].equals("catalog") && method.equals("GET")) {
+                JsonObject body = new JsonObject();
+                body.add("subjects", gson.toJsonTree(GameCatalog.SUBJECTS));
+                body.add("bots", gson.toJsonTree(GameCatalog.BOT_NAMES));
+                send(exchange, 200, body);
+            } else if (path[0].equals("sessions") && path.length == 1 && method.equals("POST")) {
+                createSession(exchange);
+            } else if (path[0].equals("sessions") && path.length >= 2) {
+                String id = path[1];
+                String action = path.length > 2 ? path[2] : "";
+                if (action.isEmpty() && method.equals("DELETE")) {
+                    send(exchange, registry.remove(id) ? 200 : 404, new JsonObject());
+                    return;
+                }
+                JsonObject request = method.equals("POST") ? readBody(exchange) : new JsonObject();
+                Reply reply = registry.withSession(id, session -> dispatch(session, method + " " + action, request));
+                if (reply == null) reply = new Reply(404, error("No such session"));
+                send(exchange, reply.status, reply.body);
+            } else {
+                send(exchange, 404, error("Unknown endpoint"));
+            }
+        } catch (NumberFormatException | IllegalStateException e) {
+            send(exchange, 400, error("Bad request: " + e.getMessage()));
+        } catch (Exception e) {
+            e.printStackTrace();
+            send(exchange, 500, error("Internal error"));
+        } finally {
+            exchange.close();
+        }
+    }
+
+    private void createSession(HttpExchange exchange) throws IOException {
+        JsonObject request = readBody(exchange);
+        GameRandom random = request.has("seed") ? GameRandom.parse(request.get("seed").getAsString()) : GameRandom.newGame();
+        String id = registry.create();
+        JsonObject body = registry.withSession(id, session -> {
+            session.startNewGame(random);
+            return state(session);
+        });
+        body.addProperty("id", id);
+        send(exchange, 201, body);
+    }
+
+    /**
+     * The sampler for the current bank snapshot. Uniform unless -Dastac.programmingShare sets a
+     * programming/theory mix per round.
+     */
+    private QuestionSampler sampler() {
+        QuestionBank bank = dataLoader.snapshot();
+        QuestionSampler current = sampler;
+        if (current == null || current.getBank() != bank) {
+            current = QuestionSampler.uniform(bank);
+            current.setProgrammingShare(Double.parseDouble(System.getProperty("astac.programmingShare", "NaN")));
+            sampler = current;
+        }
+        return current;
+    }
+
+    /** Runs under the session's lock. */
+    private Reply dispatch(PlayerSession session, String route, JsonObject request) {
+        switch (route) {
+            case "GET ":
+                return new Reply(200, state(session));
+            case "POST bot": {
+                if (session.selectBot(string(request, "name")) == null) {
+                    return new Reply(409, error("Bot unknown or already used"));
+                }
+                return new Reply(200, state(session));
+            }
+            case "POST subject": {
+                GameSession round = session.startRound(string(request, "subject"), sampler());
+                if (round == null) return new Reply(409, error("Pick an unused bot and an unfinished subject first"));
+                return new Reply(200, question(round));
+            }
+            case "GET question": {
+                GameSession round = session.getCurrentRound();
+                if (round == null) return new Reply(409, error("No round in progress"));
+                return new Reply(200, question(round));
+            }
+            case "POST answer":
+                if (session.getCurrentRound() == null) return new Reply(409, error("No round in progress"));
+                return new Reply(200, answer(session, integer(request, "option")));
+            case "POST lifeline":
+                return lifeline(session, string(request, "type"));
+            default:
+                return new Reply(404, error("Unknown endpoint"));
+        }
+    }
+
+    private Reply lifeline(PlayerSession session, String type) {
+        if (session.getCurrentRound() == null) return new Reply(409, error("No round in progress"));
+        if ("ASK".equalsIgnoreCase(type)) {
+            if (session.isAskUsed()) return new Reply(409, error("Ask already used"));
+            session.markAskUsed();
+            JsonObject body = new JsonObject();
+            body.addProperty("suggestion", session.botGuess());
+            return new Reply(200, body);
+        } else if ("COPY".equalsIgnoreCase(type)) {
+            if (session.isCopyUsed()) return new Reply(409, error("Copy already used"));
+            session.markCopyUsed();
+            int choice = session.botGuess();
+            JsonObject body = answer(session, choice);
+            body.addProperty("copied", choice);
+            return new Reply(200, body);
+        }
+        return new Reply(400, error("Unknown lifeline " + type));
+    }
+
+    private JsonObject answer(PlayerSession session, int option) {
+        GameSession round = session.getCurrentRound();
+        GameSession.GameResult result = round.submitAnswer(option);
+        // Taken before completeRound() or endGame() drop the round, as the GUI does
+        int score = session.getGlobalScore() + round.getScore();
+
+        JsonObject body = new JsonObject();
+        body.addProperty("result", result.name());
+        if (result == GameSession.GameResult.CORRECT || result == GameSession.GameResult.SAVED_BY_CHATBOT) {
+            if (round.isGameWon()) {
+                body.addProperty("roundComplete", true);
+                body.addProperty("gameComplete", session.completeRound());
+            }
+        } else {
+            session.endGame();
+            body.addProperty("gameOver", true);
+        }
+        body.addProperty("score", score);
+        return body;
+    }
+
+    private JsonObject state(PlayerSession session) {
+        JsonObject body = new JsonObject();
+        body.addProperty("seed", session.getRandom().getSeedCode());
+        body.addProperty("active", session.isGameActive());
+        body.addProperty("score", session.getGlobalScore());
+        body.addProperty("maxScore", GameCatalog.TOTAL_QUESTIONS);
+        body.add("completedSubjects", gson.toJsonTree(session.getCompletedSubjects()));
+        body.add("usedBots", gson.toJsonTree(session.getUsedBots()));
+        body.addProperty("askUsed", session.isAskUsed());
+        body.addProperty("copyUsed", session.isCopyUsed());
+        body.addProperty("saveUsed", session.isSaveUsed());
+        if (session.getCurrentChatbot() != null) body.addProperty("bot", session.getCurrentChatbot().getName());
+        return body;
+    }
+
+    private JsonObject question(GameSession round) {
+        Question q = round.getCurrentQuestion();
+        JsonObject body = new JsonObject();
+        body.addProperty("subject", q.getSubject());
+        body.addProperty("text", q.getText());
+        if (q.getCodeSnippet() != null) body.addProperty("codeSnippet", q.getCodeSnippet());
+        body.add("options", gson.toJsonTree(q.getOptions()));
+        body.addProperty("bot", round.getCurrentChatbot().getName());
+        body.addProperty("strength", round.getCurrentChatbot().getStrengthSubject());
+        body.addProperty("weakness", round.getCurrentChatbot().getWeaknessSubject());
+        return body;
+    }
+
+    private static void defaultProperty(String key, String value) {
+        if (System.getProperty(key) == null) System.setProperty(key, value);
+    }
+
+    private static String string(JsonObject request, String field) {
+        JsonElement value = request.get(field);
+        if (value == null || value.isJsonNull()) throw new IllegalStateException("missing " + field);
+        return value.getAsString();
+    }
+
+    private static int integer(JsonObject request, String field) {
+        JsonElement value = request.get(field);
+        if (value == null || value.isJsonNull()) throw new IllegalStateException("missing " + field);
+        if (!value.isJsonPrimitive() || !value.getAsJsonPrimitive().isNumber()) {
+            throw new IllegalStateException(field + " must be a number");
+        }
+        return value.getAsInt();
+    }
+
+    private static JsonObject error(String message) {
+        JsonObject body = new JsonObject();
+        body.addProperty("error", message);
+        return body;
+    }
+
+    private static JsonObject readBody(HttpExchange exchange) throws IOException {
+        try (InputStreamReader reader = new InputStreamReader(exchange.getRequestBody(), StandardCharsets.UTF_8)) {
+            JsonElement json = JsonParser.parseReader(reader);
+            return json.isJsonObject() ? json.getAsJsonObject() : new JsonObject();
+        } catch (com.google.gson.JsonParseException e) {
+            throw new IllegalStateException("malformed JSON");
+        }
+    }
+
+    private void send(HttpExchange exchange, int status, JsonObject body) throws IOException {
+        byte[] bytes = gson.toJson(body).getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    private record Reply(int status, JsonObject body) {}
+}
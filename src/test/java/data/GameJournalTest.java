@@ -0,0 +1,248 @@
+package data;
+
+import logic.PlayerSession.Progress;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GameJournalTest {
+
+    /** Type, length and CRC around a ROUND payload */
+    private static final int ROUND_RECORD = 2 + 15 + 4;
+
+    @TempDir
+    Path dir;
+
+    private static Progress start(long seed) {
+        return new Progress(seed, 0, 0, 0, 0, true, 0, 0);
+    }
+
+    private static Progress round(Progress p, int subject, int bot, int points) {
+        int n = Integer.bitCount(p.completedSubjects());
+        return new Progress(p.seed(), p.globalScore() + points, p.completedSubjects() | 1 << subject,
+                p.usedBots() | 1 << bot, p.lifelines(), true,
+                p.subjectOrder() | (subject + 1) << 4 * n, p.botOrder() | (bot + 1) << 4 * n);
+    }
+
+    private static Progress lifelines(Progress p, int lifelines) {
+        return new Progress(p.seed(), p.globalScore(), p.completedSubjects(), p.usedBots(), lifelines,
+                p.active(), p.subjectOrder(), p.botOrder());
+    }
+
+    private static Progress ended(Progress p) {
+        return new Progress(p.seed(), p.globalScore(), p.completedSubjects(), p.usedBots(), p.lifelines(),
+                false, p.subjectOrder(), p.botOrder());
+    }
+
+    /** Writes a game of three rounds and returns the state after each one. */
+    private Progress[] playThreeRounds(Path file) throws IOException {
+        Progress[] states = new Progress[3];
+        try (GameJournal journal = GameJournal.open(file)) {
+            Progress p = start(42);
+            journal.gameStarted(p);
+            p = round(p, 2, 0, 1);
+            journal.roundCompleted(states[0] = p);
+            p = lifelines(p, 1);
+            journal.lifelinesChanged(p);
+            p = round(p, 5, 3, 2);
+            journal.roundCompleted(states[1] = p);
+            p = round(p, 0, 1, 1);
+            journal.roundCompleted(states[2] = p);
+        }
+        return states;
+    }
+
+    @Test
+    void newJournalRecoversNothing() throws IOException {
+        Path file = dir.resolve("journal.dat");
+        try (GameJournal journal = GameJournal.open(file)) {
+            assertNull(journal.recovered());
+        }
+        assertEquals(GameJournal.HEADER_SIZE, Files.size(file));
+    }
+
+    @Test
+    void recoversTheLastRound() throws IOException {
+        Path file = dir.resolve("journal.dat");
+        Progress[] states = playThreeRounds(file);
+        try (GameJournal journal = GameJournal.open(file)) {
+            assertEquals(states[2], journal.recovered());
+        }
+    }
+
+    @Test
+    void lifelinesAreFlushedOnClose() throws IOException {
+        Path file = dir.resolve("journal.dat");
+        Progress p = round(start(7), 1, 1, 1);
+        try (GameJournal journal = GameJournal.open(file)) {
+            journal.gameStarted(start(7));
+            journal.roundCompleted(p);
+            journal.lifelinesChanged(p = lifelines(p, 5));
+        }
+        try (GameJournal journal = GameJournal.open(file)) {
+            assertEquals(p, journal.recovered());
+        }
+    }
+
+    @Test
+    void endedGameIsNotActive() throws IOException {
+        Path file = dir.resolve("journal.dat");
+        Progress[] states = playThreeRounds(file);
+        try (GameJournal journal = GameJournal.open(file)) {
+            journal.gameEnded();
+        }
+        try (GameJournal journal = GameJournal.open(file)) {
+            assertEquals(ended(states[2]), journal.recovered());
+        }
+    }
+
+    @Test
+    void laterGamesReplaceEarlierOnes() throws IOException {
+        Path file = dir.resolve("journal.dat");
+        playThreeRounds(file);
+        Progress p = round(start(99), 6, 2, 3);
+        try (GameJournal journal = GameJournal.open(file)) {
+            journal.gameStarted(start(99));
+            journal.roundCompleted(p);
+        }
+        try (GameJournal journal = GameJournal.open(file)) {
+            assertEquals(p, journal.recovered());
+        }
+    }
+
+    @Test
+    void tornTailIsDropped() throws IOException {
+        Path file = dir.resolve("journal.dat");
+        Progress[] states = playThreeRounds(file);
+        long full = Files.size(file);
+        truncate(file, full - 5);
+
+        try (GameJournal journal = GameJournal.open(file)) {
+            assertEquals(states[1], journal.recovered());
+        }
+        assertEquals(full - ROUND_RECORD, Files.size(file));
+    }
+
+    @Test
+    void journalIsUsableAfterATornTail() throws IOException {
+        Path file = dir.resolve("journal.dat");
+        Progress[] states = playThreeRounds(file);
+        truncate(file, Files.size(file) - 1);
+
+        Progress p = round(states[1], 4, 4, 2);
+        try (GameJournal journal = GameJournal.open(file)) {
+            journal.roundCompleted(p);
+        }
+        try (GameJournal journal = GameJournal.open(file)) {
+            assertEquals(p, journal.recovered());
+        }
+    }
+
+    @Test
+    void corruptRecordEndsTheLog() throws IOException {
+        Path file = dir.resolve("journal.dat");
+        Progress[] states = playThreeRounds(file);
+        long full = Files.size(file);
+        try (RandomAccessFile raf = new RandomAccessFile(file.toFile(), "rw")) {
+            long at = full - 2 * ROUND_RECORD + 4;
+            raf.seek(at);
+            int b = raf.read();
+            raf.seek(at);
+            raf.write(b ^ 0x10);
+        }
+
+        try (GameJournal journal = GameJournal.open(file)) {
+            assertEquals(lifelines(states[0], 1), journal.recovered());
+        }
+        assertEquals(full - 2 * ROUND_RECORD, Files.size(file));
+    }
+
+    @Test
+    void fileTruncatedIntoTheHeaderStartsOver() throws IOException {
+        Path file = dir.resolve("journal.dat");
+        playThreeRounds(file);
+        truncate(file, GameJournal.HEADER_SIZE - 4);
+
+        try (GameJournal journal = GameJournal.open(file)) {
+            assertNull(journal.recovered());
+            journal.gameStarted(start(5));
+        }
+        try (GameJournal journal = GameJournal.open(file)) {
+            assertEquals(start(5), journal.recovered());
+        }
+    }
+
+    @Test
+    void badHeaderPointerFallsBackToAFullReplay() throws IOException {
+        Path file = dir.resolve("journal.dat");
+        playThreeRounds(file);
+        Progress p = round(start(99), 6, 2, 3);
+        try (GameJournal journal = GameJournal.open(file)) {
+            journal.gameStarted(start(99));
+            journal.roundCompleted(p);
+        }
+        try (RandomAccessFile raf = new RandomAccessFile(file.toFile(), "rw")) {
+            raf.seek(8);
+            raf.writeLong(GameJournal.HEADER_SIZE + 3);
+        }
+
+        try (GameJournal journal = GameJournal.open(file)) {
+            assertEquals(p, journal.recovered());
+        }
+        // The header was repaired, so the next open can start from the latest snapshot again
+        try (RandomAccessFile raf = new RandomAccessFile(file.toFile(), "r")) {
+            raf.seek(8);
+            assertNotEquals(GameJournal.HEADER_SIZE + 3, raf.readLong());
+        }
+        try (GameJournal journal = GameJournal.open(file)) {
+            assertEquals(p, journal.recovered());
+        }
+    }
+
+    @Test
+    void otherFilesAreMovedAside() throws IOException {
+        Path file = dir.resolve("journal.dat");
+        Files.writeString(file, "not a journal at all");
+
+        try (GameJournal journal = GameJournal.open(file)) {
+            assertNull(journal.recovered());
+        }
+        assertEquals("not a journal at all", Files.readString(dir.resolve("journal.dat.corrupt")));
+    }
+
+    @Test
+    void largeLogIsCompactedAtTheNextGame() throws IOException {
+        Path file = dir.resolve("journal.dat");
+        Progress p = start(1);
+        try (GameJournal journal = GameJournal.open(file)) {
+            journal.gameStarted(p);
+            // LIFELINES records are 7 bytes and only written at the next boundary
+            for (int i = 0; i < GameJournal.COMPACT_BYTES / 7 + 1; i++) journal.lifelinesChanged(p = lifelines(p, i & 7));
+            journal.roundCompleted(p = round(p, 3, 3, 1));
+        }
+        assertTrue(Files.size(file) > GameJournal.COMPACT_BYTES);
+
+        Progress next = round(start(2), 1, 2, 3);
+        try (GameJournal journal = GameJournal.open(file)) {
+            assertEquals(p, journal.recovered());
+            journal.gameStarted(start(2));
+            journal.roundCompleted(next);
+        }
+        assertTrue(Files.size(file) < 1024);
+        try (GameJournal journal = GameJournal.open(file)) {
+            assertEquals(next, journal.recovered());
+        }
+    }
+
+    private static void truncate(Path file, long size) throws IOException {
+        try (RandomAccessFile raf = new RandomAccessFile(file.toFile(), "rw")) {
+            raf.setLength(size);
+        }
+    }
+}
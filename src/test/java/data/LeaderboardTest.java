@@ -0,0 +1,175 @@
+package data;
+
+import data.Leaderboard.Result;
+import data.Leaderboard.Standing;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LeaderboardTest {
+
+    /** Header offsets, as laid out in {@link Leaderboard} */
+    private static final int COUNT = 8;
+    private static final int DIRTY = 16;
+    private static final int OVERALL = 32;
+    private static final int OVERALL_TOP = OVERALL + (Leaderboard.MAX_SCORE + 1) * 4;
+
+    @TempDir
+    Path dir;
+
+    private static Result result(String player, int score, int subjectOrder, long time) {
+        return new Result(player, score, score == Leaderboard.MAX_SCORE, time, subjectOrder, 0x21, time);
+    }
+
+    @Test
+    void ranksCountOnlyBetterResults() throws IOException {
+        try (Leaderboard board = Leaderboard.open(dir.resolve("board.dat"))) {
+            board.add(result("ann", 5, 0x1, 1));
+            board.add(result("bob", 9, 0x1, 2));
+            board.add(result("cat", 9, 0x2, 3));
+            Standing standing = board.add(result("dan", 3, 0x2, 4));
+
+            assertEquals(new Standing(4, 4, 2, 2, 4, 4), standing);
+            assertEquals(1, board.rank(15));
+            assertEquals(1, board.rank(9));
+            assertEquals(3, board.rank(5));
+            assertEquals(4, board.rank(4));
+            assertEquals(5, board.rank(0));
+            assertEquals(1, board.rankForSubjectOrder(0x1, 9));
+            assertEquals(2, board.rankForSubjectOrder(0x1, 5));
+            assertEquals(1, board.rankForSubjectOrder(0x7, 0));
+            assertEquals(4, board.size());
+        }
+    }
+
+    @Test
+    void topKeepsTheBestInScoreThenArrivalOrder() throws IOException {
+        try (Leaderboard board = Leaderboard.open(dir.resolve("board.dat"))) {
+            int[] scores = {3, 12, 7, 12, 0, 15, 7, 7, 1, 9, 12, 4, 15, 2, 8};
+            for (int i = 0; i < scores.length; i++) board.add(result("p" + i, scores[i], 0x1, i));
+
+            List<Result> top = board.top();
+            assertEquals(Leaderboard.TOP_K, top.size());
+            long[] expected = {5, 12, 1, 3, 10, 9, 14, 2, 6, 7};
+            for (int i = 0; i < expected.length; i++) assertEquals(expected[i], top.get(i).timeMillis(), "place " + i);
+            assertEquals(top, board.topForSubjectOrder(0x1));
+            assertEquals(List.of(), board.topForSubjectOrder(0x2));
+        }
+    }
+
+    @Test
+    void scoresAboveTheMaximumShareTheTopBucket() throws IOException {
+        try (Leaderboard board = Leaderboard.open(dir.resolve("board.dat"))) {
+            board.add(result("ann", 40, 0x1, 1));
+            assertEquals(Leaderboard.MAX_SCORE, board.top().get(0).score());
+            assertEquals(1, board.rank(99));
+            assertEquals(2, board.rank(Leaderboard.MAX_SCORE - 1));
+        }
+    }
+
+    @Test
+    void historyIsNewestFirstPerPlayer() throws IOException {
+        try (Leaderboard board = Leaderboard.open(dir.resolve("board.dat"))) {
+            for (int i = 0; i < 6; i++) board.add(result(i % 2 == 0 ? "ann" : "bob", i, 0x1, i));
+
+            List<Result> ann = board.history("ann", 10);
+            assertEquals(List.of(4L, 2L, 0L), ann.stream().map(Result::timeMillis).toList());
+            assertEquals("ann", ann.get(0).player());
+            assertEquals(2, board.history("bob", 2).size());
+            assertEquals(List.of(), board.history("cat", 10));
+        }
+    }
+
+    @Test
+    void resultsSurviveReopeningAndGrowing() throws IOException {
+        Path file = dir.resolve("board.dat");
+        int count = 5000;
+        try (Leaderboard board = Leaderboard.open(file)) {
+            for (int i = 0; i < count; i++) board.add(result("p" + i % 7, i % 16, 0x1, i));
+        }
+        try (Leaderboard board = Leaderboard.open(file)) {
+            assertEquals(count, board.size());
+            assertEquals(1 + count / 16 * 2, board.rank(13));
+            assertEquals(List.of(4998L, 4991L, 4984L), board.history("p0", 3).stream().map(Result::timeMillis).toList());
+        }
+    }
+
+    @Test
+    void dirtyFileIsRebuiltOnOpen() throws IOException {
+        Path file = dir.resolve("board.dat");
+        List<Result> top;
+        try (Leaderboard board = Leaderboard.open(file)) {
+            for (int i = 0; i < 30; i++) board.add(result(i % 3 == 0 ? "ann" : "bob", i % 11, 0x1 + i % 2, i));
+            top = board.top();
+        }
+        dieMidAdd(file);
+
+        try (Leaderboard board = Leaderboard.open(file)) {
+            assertEquals(0, dirtyFlag(file));
+            assertEquals(30, board.size());
+            assertEquals(top, board.top());
+            assertEquals(1 + 2, board.rank(9));
+            assertEquals(1 + 1, board.rankForSubjectOrder(0x1, 9));
+            assertEquals(List.of(27L, 24L), board.history("ann", 2).stream().map(Result::timeMillis).toList());
+        }
+    }
+
+    @Test
+    void dirtyFileIsRebuiltByAnOpenReader() throws IOException {
+        Path file = dir.resolve("board.dat");
+        try (Leaderboard board = Leaderboard.open(file)) {
+            for (int i = 0; i < 30; i++) board.add(result(i % 3 == 0 ? "ann" : "bob", i % 11, 0x1 + i % 2, i));
+            List<Result> top = board.top();
+            int rank = board.rank(9);
+
+            // Another process died mid-add while this one had the file open
+            dieMidAdd(file);
+
+            assertEquals(rank, board.rank(9));
+            assertEquals(0, dirtyFlag(file));
+            assertEquals(top, board.top());
+            assertEquals(30, board.size());
+
+            Standing standing = board.add(result("cat", 10, 0x1, 30));
+            assertEquals(1, standing.rank());
+            assertEquals(31, standing.total());
+            assertEquals(16, standing.subjectOrderTotal());
+        }
+    }
+
+    @Test
+    void otherFilesAreRejected() throws IOException {
+        Path file = dir.resolve("board.dat");
+        Files.write(file, new byte[8192]);
+        assertThrows(IOException.class, () -> Leaderboard.open(file));
+    }
+
+    /**
+     * Leaves the file as a writer that died inside {@link Leaderboard#add} would: dirty, with
+     * the overall index half-updated for a result the count does not include yet.
+     */
+    private static void dieMidAdd(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            MappedByteBuffer map = channel.map(FileChannel.MapMode.READ_WRITE, 0, 4096);
+            map.putInt(DIRTY, 1);
+            for (int i = 12; i < 16; i++) map.putInt(OVERALL + i * 4, map.getInt(OVERALL + i * 4) + 3);
+            map.putInt(OVERALL_TOP + 4, map.getInt(COUNT));
+            map.force();
+        }
+    }
+
+    private static int dirtyFlag(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            return channel.map(FileChannel.MapMode.READ_ONLY, 0, 32).getInt(DIRTY);
+        }
+    }
+}
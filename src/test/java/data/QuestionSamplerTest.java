@@ -0,0 +1,180 @@
+package data;
+
+import logic.Question;
+import logic.Question.QuestionType;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class QuestionSamplerTest {
+
+    private static final String SUBJECT = "MATH";
+
+    /** The first theoretical questions are THEORETICAL, the rest PROGRAMMING; texts are "q" + index. */
+    private static List<Question> questions(int theoretical, int programming) {
+        List<Question> list = new ArrayList<>();
+        for (int i = 0; i < theoretical + programming; i++) {
+            list.add(new Question("q" + i, null, List.of("a", "b", "c", "d"), i % 4, SUBJECT,
+                    i < theoretical ? QuestionType.THEORETICAL : QuestionType.PROGRAMMING));
+        }
+        return list;
+    }
+
+    private static QuestionBank bank(List<Question> questions) {
+        return QuestionBank.EMPTY.withSources(Map.of("math.json", Map.of(SUBJECT, questions)), List.of());
+    }
+
+    private static int index(Question q) {
+        return Integer.parseInt(q.getText().substring(1));
+    }
+
+    private static long programming(List<Question> round) {
+        return round.stream().filter(q -> q.getType() == QuestionType.PROGRAMMING).count();
+    }
+
+    @Test
+    void roundsAreDistinctAndFull() {
+        QuestionSampler sampler = QuestionSampler.uniform(bank(questions(150, 50)));
+        SplittableRandom random = new SplittableRandom(1);
+        for (int round = 0; round < 200; round++) {
+            List<Question> picked = sampler.sample(SUBJECT, 15, random);
+            assertEquals(15, picked.size());
+            assertEquals(15, new HashSet<>(picked).size());
+        }
+        assertEquals(200, new HashSet<>(sampler.sample(SUBJECT, 500, random)).size());
+    }
+
+    @Test
+    void subjectsAreCaseInsensitive() {
+        QuestionSampler sampler = QuestionSampler.uniform(bank(questions(10, 0)));
+        SplittableRandom random = new SplittableRandom(1);
+        assertEquals(5, sampler.sample("math", 5, random).size());
+        assertEquals(List.of(), sampler.sample("HISTORY", 5, random));
+        assertEquals(List.of(), sampler.sample(SUBJECT, 0, random));
+    }
+
+    @Test
+    void usedUpStratumFallsBackToTheOther() {
+        // Every round asks for more programming questions than there are
+        QuestionSampler sampler = QuestionSampler.uniform(bank(questions(20, 3)));
+        sampler.setProgrammingShare(1.0);
+        SplittableRandom random = new SplittableRandom(2);
+        for (int round = 0; round < 50; round++) {
+            List<Question> picked = sampler.sample(SUBJECT, 10, random);
+            assertEquals(10, new HashSet<>(picked).size());
+            assertEquals(3, programming(picked));
+        }
+    }
+
+    @Test
+    void zeroWeightStratumStillFillsARound() {
+        // All the weight is on 3 programming questions; the round needs theoretical ones too
+        QuestionSampler sampler = new QuestionSampler(bank(questions(20, 3)),
+                q -> q.getType() == QuestionType.PROGRAMMING ? 1.0 : 0.0);
+        SplittableRandom random = new SplittableRandom(3);
+        for (int round = 0; round < 50; round++) {
+            List<Question> picked = sampler.sample(SUBJECT, 10, random);
+            assertEquals(10, new HashSet<>(picked).size());
+            assertEquals(3, programming(picked));
+        }
+    }
+
+    @Test
+    void drawsAreProportionalToWeight() {
+        // Several blocks per stratum, weights 1 to 4
+        int n = 3 * QuestionSampler.BLOCK_SIZE + 17;
+        QuestionSampler sampler = new QuestionSampler(bank(questions(n, n / 3)), q -> 1 + index(q) % 4);
+        SplittableRandom random = new SplittableRandom(4);
+        int draws = 400_000;
+        long[] byWeight = new long[5];
+        for (int i = 0; i < draws; i++) byWeight[1 + index(sampler.sample(SUBJECT, 1, random).get(0)) % 4]++;
+
+        double[] expected = new double[5];
+        double total = 0;
+        for (int i = 0; i < n + n / 3; i++) {
+            expected[1 + i % 4] += 1 + i % 4;
+            total += 1 + i % 4;
+        }
+        for (int w = 1; w <= 4; w++) {
+            assertEquals(expected[w] / total, byWeight[w] / (double) draws, 0.005, "weight " + w);
+        }
+    }
+
+    @Test
+    void setWeightChangesOnlyThatQuestion() {
+        List<Question> questions = questions(2 * QuestionSampler.BLOCK_SIZE, 0);
+        QuestionSampler sampler = QuestionSampler.uniform(bank(questions));
+        SplittableRandom random = new SplittableRandom(5);
+
+        assertTrue(sampler.setWeight(questions.get(70), 0));
+        assertTrue(sampler.setWeight(questions.get(3), 2 * QuestionSampler.BLOCK_SIZE));
+        Map<Integer, Integer> counts = new HashMap<>();
+        int draws = 100_000;
+        for (int i = 0; i < draws; i++) counts.merge(index(sampler.sample(SUBJECT, 1, random).get(0)), 1, Integer::sum);
+
+        assertNull(counts.get(70));
+        // 128 of a total weight of 128 + 126
+        assertEquals(128.0 / 254, counts.get(3) / (double) draws, 0.01);
+        assertFalse(sampler.setWeight(new Question("elsewhere", null, List.of("a", "b"), 0, SUBJECT,
+                QuestionType.THEORETICAL), 1));
+    }
+
+    @Test
+    void reweighRebuildsOnlyChangedBlocks() {
+        Map<String, Double> weights = new HashMap<>();
+        QuestionSampler sampler = new QuestionSampler(bank(questions(3 * QuestionSampler.BLOCK_SIZE, 10)),
+                q -> weights.getOrDefault(q.getText(), 1.0));
+        sampler.sample(SUBJECT, 1, new SplittableRandom(6));
+
+        assertEquals(0, sampler.reweigh());
+        weights.put("q1", 5.0);
+        weights.put("q2", 0.0);
+        weights.put("q" + (2 * QuestionSampler.BLOCK_SIZE + 1), 3.0);
+        assertEquals(2, sampler.reweigh());
+        weights.put("q" + (3 * QuestionSampler.BLOCK_SIZE + 4), 3.0);
+        assertEquals(1, sampler.reweigh());
+    }
+
+    @Test
+    void sameSeedSameRounds() {
+        QuestionBank bank = bank(questions(150, 50));
+        QuestionSampler a = new QuestionSampler(bank, q -> 1 + index(q) % 7);
+        QuestionSampler b = new QuestionSampler(bank, q -> 1 + index(q) % 7);
+        a.setProgrammingShare(0.3);
+        b.setProgrammingShare(0.3);
+        SplittableRandom ra = new SplittableRandom(7);
+        SplittableRandom rb = new SplittableRandom(7);
+        for (int round = 0; round < 20; round++) {
+            assertEquals(a.sample(SUBJECT, 15, ra), b.sample(SUBJECT, 15, rb));
+        }
+    }
+
+    @Test
+    void programmingShareIsKeptPerRound() {
+        QuestionSampler sampler = QuestionSampler.uniform(bank(questions(150, 50)));
+        SplittableRandom random = new SplittableRandom(8);
+
+        sampler.setProgrammingShare(0.4);
+        for (int round = 0; round < 50; round++) assertEquals(4, programming(sampler.sample(SUBJECT, 10, random)));
+
+        // 2.5 per round: 2 or 3, at random
+        sampler.setProgrammingShare(0.25);
+        long total = 0;
+        for (int round = 0; round < 2000; round++) {
+            long p = programming(sampler.sample(SUBJECT, 10, random));
+            assertTrue(p == 2 || p == 3);
+            total += p;
+        }
+        assertEquals(2.5, total / 2000.0, 0.1);
+
+        sampler.setProgrammingShare(0);
+        assertEquals(0, programming(sampler.sample(SUBJECT, 10, random)));
+    }
+}
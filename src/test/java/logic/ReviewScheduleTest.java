@@ -0,0 +1,216 @@
+package logic;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.function.IntPredicate;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ReviewScheduleTest {
+
+    private static final int DAY = 24 * 60;
+    private static final IntPredicate ALL = c -> true;
+
+    /** A schedule of the given size with every card introduced at 0 and reviewed once at a random time. */
+    private static ReviewSchedule scattered(int cards, long seed) {
+        ReviewSchedule schedule = new ReviewSchedule(cards);
+        schedule.introduce(0, cards, ALL);
+        Random random = new Random(seed);
+        for (int card = 0; card < cards; card++) schedule.review(card, random.nextInt(6), random.nextInt(10 * DAY));
+        return schedule;
+    }
+
+    /** Every due card at the given minute, soonest first, by brute force. */
+    private static int[] dueByScan(ReviewSchedule schedule, int now, IntPredicate available) {
+        return IntStream.range(0, schedule.capacity())
+                .filter(c -> schedule.dueMinute(c) != 0 && schedule.dueMinute(c) <= now && available.test(c))
+                .boxed()
+                .sorted((a, b) -> Integer.compare(schedule.dueMinute(a), schedule.dueMinute(b)))
+                .mapToInt(Integer::intValue)
+                .toArray();
+    }
+
+    private static int[] dueTimes(ReviewSchedule schedule, int[] cards) {
+        return Arrays.stream(cards).map(schedule::dueMinute).toArray();
+    }
+
+    @Test
+    void introducesNewCardsInOrder() {
+        ReviewSchedule schedule = new ReviewSchedule(10);
+        assertArrayEquals(new int[]{0, 1, 2}, schedule.introduce(100, 3, ALL));
+        assertArrayEquals(new int[]{4, 6}, schedule.introduce(100, 2, c -> c % 2 == 0));
+        assertArrayEquals(new int[]{7, 8, 9}, schedule.introduce(100, 5, ALL));
+        assertArrayEquals(new int[0], schedule.introduce(100, 5, ALL));
+
+        assertEquals(8, schedule.introducedCount());
+        assertEquals(100, schedule.dueMinute(4));
+        assertEquals(ReviewSchedule.INITIAL_EASE, schedule.ease(4));
+        assertEquals(0, schedule.dueMinute(3));
+    }
+
+    @Test
+    void followsTheSm2Intervals() {
+        ReviewSchedule schedule = new ReviewSchedule(1);
+        schedule.introduce(0, 1, ALL);
+
+        schedule.review(0, 5, 1000);
+        assertEquals(DAY, schedule.intervalMinutes(0));
+        assertEquals(1000 + DAY, schedule.dueMinute(0));
+        assertEquals(2600, schedule.ease(0));
+
+        schedule.review(0, 4, 2000);
+        assertEquals(6 * DAY, schedule.intervalMinutes(0));
+        assertEquals(2600, schedule.ease(0));
+
+        schedule.review(0, 3, 3000);
+        assertEquals(6 * DAY * 2600 / 1000, schedule.intervalMinutes(0));
+        assertEquals(3000 + 6 * DAY * 2600 / 1000, schedule.dueMinute(0));
+        assertEquals(2460, schedule.ease(0));
+        assertEquals(3, schedule.repetitions(0));
+    }
+
+    @Test
+    void lapsesComeBackSoonWithLowerEase() {
+        ReviewSchedule schedule = new ReviewSchedule(1);
+        schedule.introduce(0, 1, ALL);
+        schedule.review(0, 5, 0);
+        schedule.review(0, 5, DAY);
+
+        schedule.review(0, 1, 2 * DAY);
+        assertEquals(ReviewSchedule.RELEARN_MINUTES, schedule.intervalMinutes(0));
+        assertEquals(2 * DAY + ReviewSchedule.RELEARN_MINUTES, schedule.dueMinute(0));
+        assertEquals(0, schedule.repetitions(0));
+        assertEquals(1, schedule.lapses(0));
+        assertEquals(2700 + 100 - 4 * (80 + 4 * 20), schedule.ease(0));
+
+        for (int i = 0; i < 10; i++) schedule.review(0, 0, 3 * DAY);
+        assertEquals(ReviewSchedule.MIN_EASE, schedule.ease(0));
+        assertEquals(11, schedule.lapses(0));
+
+        // Relearned cards start over at one day
+        schedule.review(0, 4, 4 * DAY);
+        assertEquals(DAY, schedule.intervalMinutes(0));
+    }
+
+    @Test
+    void dueCardsComeSoonestFirst() {
+        ReviewSchedule schedule = scattered(500, 1);
+        for (int now : new int[]{0, DAY, 5 * DAY, 20 * DAY}) {
+            int[] expected = dueByScan(schedule, now, ALL);
+            int[] due = schedule.due(now, expected.length + 10, ALL);
+            assertArrayEquals(dueTimes(schedule, expected), dueTimes(schedule, due), "at " + now);
+            assertEquals(expected.length, schedule.dueCount(now, ALL));
+
+            int[] first = schedule.due(now, 7, ALL);
+            assertArrayEquals(Arrays.copyOf(dueTimes(schedule, expected), Math.min(7, expected.length)), dueTimes(schedule, first));
+        }
+        assertEquals(schedule.dueMinute(dueByScan(schedule, Integer.MAX_VALUE, ALL)[0]), schedule.dueMinute(schedule.peek()));
+    }
+
+    @Test
+    void reviewsKeepTheQueueOrdered() {
+        ReviewSchedule schedule = scattered(300, 2);
+        Random random = new Random(3);
+        int now = 5 * DAY;
+        for (int i = 0; i < 2000; i++) {
+            int[] next = schedule.due(now, 3, ALL);
+            if (next.length == 0) {
+                now = schedule.dueMinute(schedule.peek());
+                continue;
+            }
+            for (int card : next) schedule.review(card, random.nextInt(6), now);
+            now += random.nextInt(60);
+        }
+        int[] expected = dueByScan(schedule, Integer.MAX_VALUE, ALL);
+        assertArrayEquals(dueTimes(schedule, expected), dueTimes(schedule, schedule.due(Integer.MAX_VALUE, 300, ALL)));
+    }
+
+    @Test
+    void unavailableCardsAreSkippedButStayQueued() {
+        ReviewSchedule schedule = scattered(400, 4);
+        int now = 20 * DAY;
+        int[] all = dueByScan(schedule, now, ALL);
+        // Hide the 150 soonest, so the walk has to go deep past them
+        boolean[] hidden = new boolean[400];
+        for (int i = 0; i < 150; i++) hidden[all[i]] = true;
+        IntPredicate available = c -> !hidden[c];
+
+        int[] due = schedule.due(now, 5, available);
+        assertArrayEquals(dueTimes(schedule, Arrays.copyOfRange(all, 150, 155)), dueTimes(schedule, due));
+        for (int card : due) assertFalse(hidden[card]);
+        assertEquals(all.length - 150, schedule.dueCount(now, available));
+
+        // Back in the bank: due again straight away
+        assertEquals(all.length, schedule.dueCount(now, ALL));
+        assertEquals(schedule.dueMinute(all[0]), schedule.dueMinute(schedule.due(now, 1, ALL)[0]));
+    }
+
+    @Test
+    void rebuiltQueueMatchesTheLiveOne() {
+        ReviewSchedule live = scattered(300, 5);
+        ReviewSchedule loaded = new ReviewSchedule(300);
+        for (int card = 0; card < 300; card++) {
+            loaded.load(card, live.dueMinute(card), live.intervalMinutes(card), live.ease(card),
+                    live.repetitions(card), live.lapses(card));
+        }
+        loaded.rebuildQueue();
+
+        assertEquals(live.introducedCount(), loaded.introducedCount());
+        assertEquals(live.dueMinute(live.peek()), loaded.dueMinute(loaded.peek()));
+        int now = 6 * DAY;
+        assertArrayEquals(dueTimes(live, live.due(now, 300, ALL)), dueTimes(loaded, loaded.due(now, 300, ALL)));
+        assertEquals(0, loaded.dirtyCards().length);
+    }
+
+    @Test
+    void rebuildSkipsCardsNeverIntroduced() {
+        ReviewSchedule schedule = new ReviewSchedule(5);
+        schedule.load(1, 500, DAY, 2500, 1, 0);
+        schedule.load(3, 200, DAY, 2500, 1, 0);
+        schedule.rebuildQueue();
+
+        assertEquals(2, schedule.introducedCount());
+        assertEquals(3, schedule.peek());
+        assertArrayEquals(new int[]{0, 2, 4}, schedule.introduce(600, 5, ALL));
+        assertArrayEquals(new int[]{3, 1}, schedule.due(550, 5, ALL));
+    }
+
+    @Test
+    void growingKeepsTheSchedule() {
+        ReviewSchedule schedule = new ReviewSchedule(3);
+        schedule.introduce(0, 3, ALL);
+        schedule.review(1, 5, 0);
+        schedule.ensureCapacity(6);
+
+        assertEquals(6, schedule.capacity());
+        assertEquals(DAY, schedule.dueMinute(1));
+        assertArrayEquals(new int[]{3, 4, 5}, schedule.introduce(10, 5, ALL));
+        int[] due = schedule.due(DAY, 6, ALL);
+        assertArrayEquals(new int[]{0, 0, 10, 10, 10, DAY}, dueTimes(schedule, due));
+        assertEquals(1, due[5]);
+    }
+
+    @Test
+    void tracksChangedCards() {
+        ReviewSchedule schedule = new ReviewSchedule(10);
+        schedule.introduce(0, 3, ALL);
+        assertArrayEquals(new int[]{0, 1, 2}, schedule.dirtyCards());
+
+        schedule.clearDirty();
+        schedule.review(2, 4, 0);
+        schedule.review(0, 1, 0);
+        schedule.review(2, 5, 1);
+        assertArrayEquals(new int[]{0, 2}, schedule.dirtyCards());
+        schedule.clearDirty();
+        assertEquals(0, schedule.dirtyCards().length);
+    }
+
+    @Test
+    void minutesAreWholeMinutesSinceTheEpoch() {
+        assertEquals(0, ReviewSchedule.minuteOf(59_999));
+        assertEquals(28_000_000, ReviewSchedule.minuteOf(28_000_000L * 60_000 + 1));
+    }
+}